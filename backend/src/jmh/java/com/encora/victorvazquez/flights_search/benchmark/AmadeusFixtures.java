@@ -0,0 +1,76 @@
+package com.encora.victorvazquez.flights_search.benchmark;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.AmadeusFlightOffersDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flight-offers payloads in the shape Amadeus returns them, loaded from
+ * {@code src/jmh/resources/fixtures}, and helpers to feed them to the decoder the way
+ * Reactor Netty does.
+ */
+public final class AmadeusFixtures {
+    /**
+     * Reactor Netty hands the body over in chunks of about this size.
+     */
+    static final int CHUNK_BYTES = 8 * 1024;
+
+    private static final DataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+
+    public enum Trip {
+        ONE_WAY("one-way"),
+        ROUND_TRIP("round-trip");
+
+        private final String fileSuffix;
+
+        Trip(String fileSuffix) {
+            this.fileSuffix = fileSuffix;
+        }
+    }
+
+    private AmadeusFixtures() {
+    }
+
+    static byte[] flightOffers(int offers, Trip trip) {
+        String name = "/fixtures/flight-offers-" + offers + "-" + trip.fileSuffix + ".json";
+        try (InputStream input = AmadeusFixtures.class.getResourceAsStream(name)) {
+            if (input == null) {
+                throw new IllegalArgumentException("No fixture " + name);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The payload split into {@link #CHUNK_BYTES} slices, wrapped fresh on every call
+     * since the decoder releases what it reads.
+     */
+    static Flux<DataBuffer> chunks(byte[] payload) {
+        return Flux.defer(() -> {
+            List<DataBuffer> buffers = new ArrayList<>(payload.length / CHUNK_BYTES + 1);
+            for (int offset = 0; offset < payload.length; offset += CHUNK_BYTES) {
+                int length = Math.min(CHUNK_BYTES, payload.length - offset);
+                buffers.add(BUFFER_FACTORY.wrap(ByteBuffer.wrap(payload, offset, length).slice()));
+            }
+            return Flux.fromIterable(buffers);
+        });
+    }
+
+    static FlightOffersProviderDTO decode(byte[] payload) {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        return new AmadeusFlightOffersDecoder(objectMapper).decode(chunks(payload)).block();
+    }
+}
@@ -0,0 +1,47 @@
+package com.encora.victorvazquez.flights_search.benchmark;
+
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferProviderResponse;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.mapper.FlightOfferProviderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlightOfferMapperBenchmark {
+
+    @Param({"10", "50", "250"})
+    public int offers;
+
+    @Param({"ONE_WAY", "ROUND_TRIP"})
+    public AmadeusFixtures.Trip trip;
+
+    private final FlightOfferProviderMapper mapper = new FlightOfferProviderMapper();
+    private FlightOffersProviderDTO dto;
+    private FlightOfferProviderResponse domain;
+
+    @Setup
+    public void setUp() {
+        dto = AmadeusFixtures.decode(AmadeusFixtures.flightOffers(offers, trip));
+        domain = mapper.toDomain(dto);
+    }
+
+    @Benchmark
+    public FlightOfferProviderResponse toDomain() {
+        return mapper.toDomain(dto);
+    }
+
+    @Benchmark
+    public FlightOffersProviderDTO toDTO() {
+        return mapper.toDTO(domain);
+    }
+}
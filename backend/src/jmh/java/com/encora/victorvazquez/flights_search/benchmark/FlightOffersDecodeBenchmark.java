@@ -0,0 +1,54 @@
+package com.encora.victorvazquez.flights_search.benchmark;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.AmadeusFlightOffersDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding an Amadeus flight-offers body, as {@code AmadeusClient} does for every search:
+ * assembled into one response, and as the frame stream {@code /api/flights/stream} sends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlightOffersDecodeBenchmark {
+
+    @Param({"10", "50", "250"})
+    public int offers;
+
+    @Param({"ONE_WAY", "ROUND_TRIP"})
+    public AmadeusFixtures.Trip trip;
+
+    private byte[] payload;
+    private AmadeusFlightOffersDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        payload = AmadeusFixtures.flightOffers(offers, trip);
+        decoder = new AmadeusFlightOffersDecoder(new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Benchmark
+    public FlightOffersProviderDTO decode() {
+        return decoder.decode(AmadeusFixtures.chunks(payload)).block();
+    }
+
+    @Benchmark
+    public void decodeFrames(Blackhole blackhole) {
+        for (FlightOffersStreamFrameDTO frame : decoder.decodeFrames(AmadeusFixtures.chunks(payload)).toIterable()) {
+            blackhole.consume(frame);
+        }
+    }
+}
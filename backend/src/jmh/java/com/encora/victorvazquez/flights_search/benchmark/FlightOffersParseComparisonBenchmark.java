@@ -0,0 +1,56 @@
+package com.encora.victorvazquez.flights_search.benchmark;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.AmadeusFlightOffersDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The streaming decoder against the {@link JsonTreeFlightOffersParser} baseline it
+ * replaced, on the same chunked bodies. Sampled, so the results carry p50/p99/p99.9 per
+ * call; with the gc profiler, {@code gc.alloc.rate.norm} gives the bytes each parse
+ * allocates, which for the tree parser includes the whole body as a {@code String} and
+ * the complete {@code JsonNode} tree, both live until the last offer is built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlightOffersParseComparisonBenchmark {
+
+    @Param({"10", "50", "250"})
+    public int offers;
+
+    @Param({"ONE_WAY", "ROUND_TRIP"})
+    public AmadeusFixtures.Trip trip;
+
+    private byte[] payload;
+    private AmadeusFlightOffersDecoder decoder;
+    private JsonTreeFlightOffersParser treeParser;
+
+    @Setup
+    public void setUp() {
+        payload = AmadeusFixtures.flightOffers(offers, trip);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        decoder = new AmadeusFlightOffersDecoder(objectMapper);
+        treeParser = new JsonTreeFlightOffersParser(objectMapper);
+    }
+
+    @Benchmark
+    public FlightOffersProviderDTO streamingDecoder() {
+        return decoder.decode(AmadeusFixtures.chunks(payload)).block();
+    }
+
+    @Benchmark
+    public FlightOffersProviderDTO jsonTree() {
+        return treeParser.parse(AmadeusFixtures.chunks(payload)).block();
+    }
+}
@@ -0,0 +1,45 @@
+package com.encora.victorvazquez.flights_search.benchmark;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a full search result to JSON with the same {@link ObjectMapper} setup our
+ * WebFlux encoder uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlightOffersSerializationBenchmark {
+
+    @Param({"10", "50", "250"})
+    public int offers;
+
+    @Param({"ONE_WAY", "ROUND_TRIP"})
+    public AmadeusFixtures.Trip trip;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private FlightOffersProviderDTO dto;
+
+    @Setup
+    public void setUp() {
+        dto = AmadeusFixtures.decode(AmadeusFixtures.flightOffers(offers, trip));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+}
@@ -0,0 +1,64 @@
+package com.encora.victorvazquez.flights_search.benchmark;
+
+import com.encora.victorvazquez.flights_search.infrastructure.parser.IsoTimeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link IsoTimeCodec} against the general-purpose parsers it replaced in the decoder:
+ * {@link LocalDateTime#parse} for segment times, and a regex or {@link Duration#parse}
+ * for durations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IsoTimeCodecBenchmark {
+    private static final Pattern DURATION = Pattern.compile("P(?:(\\d+)D)?T(?:(\\d+)H)?(?:(\\d+)M)?(?:(\\d+)S)?");
+
+    private final String dateTime = "2026-12-14T10:35:00";
+    private final String duration = "PT12H35M";
+
+    @Benchmark
+    public LocalDateTime codecDateTime() {
+        return IsoTimeCodec.parseLocalDateTime(dateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime jdkDateTime() {
+        return LocalDateTime.parse(dateTime);
+    }
+
+    @Benchmark
+    public int codecDuration() {
+        return IsoTimeCodec.parseDurationMinutes(duration);
+    }
+
+    @Benchmark
+    public int regexDuration() {
+        Matcher matcher = DURATION.matcher(duration);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(duration);
+        }
+        return group(matcher, 1) * 24 * 60 + group(matcher, 2) * 60 + group(matcher, 3);
+    }
+
+    @Benchmark
+    public long jdkDuration() {
+        return Duration.parse(duration).toMinutes();
+    }
+
+    private static int group(Matcher matcher, int group) {
+        String value = matcher.group(group);
+        return value != null ? Integer.parseInt(value) : 0;
+    }
+}
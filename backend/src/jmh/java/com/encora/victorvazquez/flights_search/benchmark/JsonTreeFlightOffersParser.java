@@ -0,0 +1,266 @@
+package com.encora.victorvazquez.flights_search.benchmark;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.FlightOfferTimings;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.IsoTimeCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The flight-offers parsing {@code AmadeusClient} did before the streaming decoder: the
+ * whole body joined into one {@code String}, read into a {@link JsonNode} tree, and the
+ * DTOs built from the tree. Kept only as the baseline the decoder is measured against;
+ * error handling is reduced to what affects the work done on a well-formed body.
+ */
+final class JsonTreeFlightOffersParser {
+    private final ObjectMapper objectMapper;
+
+    JsonTreeFlightOffersParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    Mono<FlightOffersProviderDTO> parse(Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body).map(buffer -> {
+            try {
+                return parse(buffer.toString(StandardCharsets.UTF_8));
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        });
+    }
+
+    private FlightOffersProviderDTO parse(String body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            List<FlightOffersProviderDTO.FlightOffer> offers = new ArrayList<>();
+            for (JsonNode offer : root.get("data")) {
+                offers.add(parseFlightOffer(offer));
+            }
+            return new FlightOffersProviderDTO(
+                new FlightOffersProviderDTO.Meta(
+                    root.get("meta").get("count").asInt(),
+                    new FlightOffersProviderDTO.Links(root.get("meta").path("links").path("self").asText(null))
+                ),
+                offers,
+                parseDictionaries(root.get("dictionaries"))
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FlightOffersProviderDTO.FlightOffer parseFlightOffer(JsonNode offer) {
+        List<FlightOffersProviderDTO.FlightOffer.Itinerary> itineraries = parseItineraries(offer.get("itineraries"));
+        return new FlightOffersProviderDTO.FlightOffer(
+            offer.get("id").asText(),
+            offer.get("source").asText(),
+            offer.has("instantTicketingRequired") && offer.get("instantTicketingRequired").asBoolean(),
+            offer.has("nonHomogeneous") && offer.get("nonHomogeneous").asBoolean(),
+            offer.has("oneWay") && offer.get("oneWay").asBoolean(),
+            offer.has("lastTicketingDate") ? offer.get("lastTicketingDate").asText() : null,
+            offer.has("numberOfBookableSeats") ? offer.get("numberOfBookableSeats").asInt() : 0,
+            itineraries,
+            parsePrice(offer.get("price")),
+            offer.has("pricingOptions") ? parsePricingOptions(offer.get("pricingOptions")) :
+                new FlightOffersProviderDTO.FlightOffer.PricingOptions(Collections.emptyList(), false),
+            offer.has("validatingAirlineCodes") ? parseStringList(offer.get("validatingAirlineCodes")) : Collections.emptyList(),
+            offer.has("travelerPricings") ? parseTravelerPricings(offer.get("travelerPricings")) : Collections.emptyList(),
+            FlightOfferTimings.totalMinutes(itineraries)
+        );
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.Price parsePrice(JsonNode price) {
+        BigDecimal total = new BigDecimal(price.get("total").asText());
+        BigDecimal grandTotal = price.has("grandTotal") && !price.get("grandTotal").isNull()
+            ? new BigDecimal(price.get("grandTotal").asText())
+            : total;
+        return new FlightOffersProviderDTO.FlightOffer.Price(
+            price.get("currency").asText(),
+            total,
+            new BigDecimal(price.get("base").asText()),
+            price.has("fees") ? parseFees(price.get("fees")) : Collections.emptyList(),
+            grandTotal
+        );
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Itinerary> parseItineraries(JsonNode itineraries) {
+        List<FlightOffersProviderDTO.FlightOffer.Itinerary> result = new ArrayList<>();
+        for (JsonNode itinerary : itineraries) {
+            String duration = itinerary.get("duration").asText();
+            List<FlightOffersProviderDTO.FlightOffer.Segment> segments = parseSegments(itinerary.get("segments"));
+            result.add(new FlightOffersProviderDTO.FlightOffer.Itinerary(
+                duration,
+                segments,
+                IsoTimeCodec.durationMinutesOrUnknown(duration),
+                FlightOfferTimings.layoverMinutes(segments)
+            ));
+        }
+        return result;
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Segment> parseSegments(JsonNode segments) {
+        List<FlightOffersProviderDTO.FlightOffer.Segment> result = new ArrayList<>();
+        for (JsonNode segment : segments) {
+            String duration = getTextOrDefault(segment, "duration", "");
+            result.add(new FlightOffersProviderDTO.FlightOffer.Segment(
+                parseFlightLocation(segment.get("departure")),
+                parseFlightLocation(segment.get("arrival")),
+                segment.get("carrierCode").asText(),
+                segment.get("number").asText(),
+                segment.has("aircraft") ? new FlightOffersProviderDTO.FlightOffer.Aircraft(
+                    getTextOrDefault(segment.get("aircraft"), "code", "")) : null,
+                segment.has("operating") ? new FlightOffersProviderDTO.FlightOffer.Operating(
+                    getTextOrDefault(segment.get("operating"), "carrierCode", "")) : null,
+                duration,
+                getTextOrDefault(segment, "id", ""),
+                segment.has("numberOfStops") ? segment.get("numberOfStops").asInt() : 0,
+                segment.has("blacklistedInEU") && segment.get("blacklistedInEU").asBoolean(),
+                IsoTimeCodec.durationMinutesOrUnknown(duration)
+            ));
+        }
+        return result;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.Location parseFlightLocation(JsonNode location) {
+        LocalDateTime at = LocalDateTime.parse(location.get("at").asText());
+        return new FlightOffersProviderDTO.FlightOffer.Location(
+            location.get("iataCode").asText(),
+            location.has("terminal") ? location.get("terminal").asText() : null,
+            at,
+            IsoTimeCodec.epochMinute(at)
+        );
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Fee> parseFees(JsonNode fees) {
+        List<FlightOffersProviderDTO.FlightOffer.Fee> result = new ArrayList<>();
+        for (JsonNode fee : fees) {
+            result.add(new FlightOffersProviderDTO.FlightOffer.Fee(
+                new BigDecimal(fee.get("amount").asText()),
+                fee.get("type").asText()
+            ));
+        }
+        return result;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.PricingOptions parsePricingOptions(JsonNode options) {
+        return new FlightOffersProviderDTO.FlightOffer.PricingOptions(
+            parseStringList(options.get("fareType")),
+            options.get("includedCheckedBagsOnly").asBoolean()
+        );
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.TravelerPricing> parseTravelerPricings(JsonNode pricings) {
+        List<FlightOffersProviderDTO.FlightOffer.TravelerPricing> result = new ArrayList<>();
+        for (JsonNode pricing : pricings) {
+            result.add(new FlightOffersProviderDTO.FlightOffer.TravelerPricing(
+                pricing.get("travelerId").asText(),
+                pricing.get("fareOption").asText(),
+                pricing.get("travelerType").asText(),
+                parsePrice(pricing.get("price")),
+                parseFareDetailsBySegment(pricing.get("fareDetailsBySegment"))
+            ));
+        }
+        return result;
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment> parseFareDetailsBySegment(JsonNode details) {
+        List<FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment> result = new ArrayList<>();
+        for (JsonNode detail : details) {
+            result.add(new FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment(
+                getTextOrDefault(detail, "segmentId", ""),
+                getTextOrDefault(detail, "cabin", ""),
+                getTextOrDefault(detail, "fareBasis", ""),
+                getTextOrDefault(detail, "class", ""),
+                getTextOrDefault(detail, "brandedFare", ""),
+                getTextOrDefault(detail, "brandedFareLabel", ""),
+                parseIncludedBags(detail.get("includedCheckedBags")),
+                parseIncludedBags(detail.get("includedCabinBags")),
+                parseAmenities(detail.get("amenities"))
+            ));
+        }
+        return result;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags parseIncludedBags(JsonNode bags) {
+        if (bags == null || bags.isNull()) {
+            return new FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags(0, "", 0);
+        }
+        return new FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags(
+            bags.has("quantity") ? bags.get("quantity").asInt() : 0,
+            bags.has("weightUnit") ? bags.get("weightUnit").asText() : "",
+            bags.has("weight") ? bags.get("weight").asInt() : 0
+        );
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Amenity> parseAmenities(JsonNode amenities) {
+        if (amenities == null || !amenities.isArray()) {
+            return Collections.emptyList();
+        }
+        List<FlightOffersProviderDTO.FlightOffer.Amenity> result = new ArrayList<>();
+        for (JsonNode amenity : amenities) {
+            JsonNode provider = amenity.get("amenityProvider");
+            result.add(new FlightOffersProviderDTO.FlightOffer.Amenity(
+                getTextOrDefault(amenity, "description", ""),
+                amenity.has("isChargeable") && amenity.get("isChargeable").asBoolean(),
+                getTextOrDefault(amenity, "amenityType", ""),
+                new FlightOffersProviderDTO.FlightOffer.AmenityProvider(
+                    provider != null && !provider.isNull() ? getTextOrDefault(provider, "name", "") : "")
+            ));
+        }
+        return result;
+    }
+
+    private FlightOffersProviderDTO.Dictionaries parseDictionaries(JsonNode dictionaries) {
+        if (dictionaries == null || dictionaries.isNull()) {
+            return new FlightOffersProviderDTO.Dictionaries(Map.of(), Map.of(), Map.of(), Map.of());
+        }
+
+        Map<String, FlightOffersProviderDTO.DictionaryLocation> locations = new HashMap<>();
+        dictionaries.path("locations").properties().forEach(entry -> locations.put(entry.getKey(),
+            new FlightOffersProviderDTO.DictionaryLocation(
+                entry.getValue().get("cityCode").asText(),
+                entry.getValue().get("countryCode").asText(),
+                null, null, null, 0.0, 0.0)));
+        return new FlightOffersProviderDTO.Dictionaries(
+            locations,
+            textMap(dictionaries.path("aircraft")),
+            textMap(dictionaries.path("currencies")),
+            textMap(dictionaries.path("carriers"))
+        );
+    }
+
+    private static Map<String, String> textMap(JsonNode node) {
+        Map<String, String> result = new HashMap<>();
+        node.properties().forEach(entry -> result.put(entry.getKey(), entry.getValue().asText()));
+        return result;
+    }
+
+    private static String getTextOrDefault(JsonNode node, String fieldName, String defaultValue) {
+        JsonNode field = node.get(fieldName);
+        return field != null && !field.isNull() ? field.asText() : defaultValue;
+    }
+
+    private static List<String> parseStringList(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        node.forEach(item -> result.add(item.asText()));
+        return result;
+    }
+}
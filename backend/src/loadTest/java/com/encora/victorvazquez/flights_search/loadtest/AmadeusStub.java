@@ -0,0 +1,148 @@
+package com.encora.victorvazquez.flights_search.loadtest;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Amadeus endpoints the backend calls, on Reactor Netty.
+ * <p>
+ * Token requests are answered at once. Flight and location searches are answered with
+ * fixture payloads after a delay drawn from their {@link LatencyDistribution}, and fail
+ * with a 500 or a 429 at the configured rates. Single-location lookups always answer 404,
+ * which the backend treats as "not that kind of location".
+ */
+final class AmadeusStub implements AutoCloseable {
+    private static final byte[] TOKEN = """
+        {"type":"amadeusOAuth2Token","username":"load-test","application_name":"load-test",\
+        "client_id":"load-test","token_type":"Bearer","access_token":"load-test-token",\
+        "expires_in":1799,"state":"approved","scope":""}""".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SERVER_ERROR = error(500, "INTERNAL ERROR");
+    private static final byte[] TOO_MANY_REQUESTS = error(429, "Too many requests");
+    private static final byte[] NOT_FOUND = error(404, "NOT FOUND");
+
+    private final LoadTestConfig config;
+    private final byte[] locations;
+    private final byte[][] oneWay;
+    private final byte[][] roundTrip;
+    private final int[] offerCounts = {10, 50, 250};
+    private final AtomicLong served = new AtomicLong();
+    private final DisposableServer server;
+
+    private AmadeusStub(LoadTestConfig config) {
+        this.config = config;
+        this.locations = fixture("locations.json");
+        this.oneWay = new byte[offerCounts.length][];
+        this.roundTrip = new byte[offerCounts.length][];
+        for (int i = 0; i < offerCounts.length; i++) {
+            oneWay[i] = fixture("flight-offers-" + offerCounts[i] + "-one-way.json");
+            roundTrip[i] = fixture("flight-offers-" + offerCounts[i] + "-round-trip.json");
+        }
+
+        this.server = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(routes -> routes
+                .post("/v1/security/oauth2/token", (request, response) -> send(response, HttpResponseStatus.OK, TOKEN))
+                .get("/v2/shopping/flight-offers", (request, response) ->
+                    search(response, flightOffers(request), config.flightsLatency()))
+                .get("/v1/reference-data/locations", (request, response) ->
+                    search(response, locations, config.locationsLatency()))
+                .get("/v1/reference-data/locations/airports/{iataCode}", (request, response) ->
+                    send(response, HttpResponseStatus.NOT_FOUND, NOT_FOUND))
+                .get("/v1/reference-data/locations/cities/{iataCode}", (request, response) ->
+                    send(response, HttpResponseStatus.NOT_FOUND, NOT_FOUND)))
+            .bindNow();
+    }
+
+    static AmadeusStub start(LoadTestConfig config) {
+        return new AmadeusStub(config);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    long served() {
+        return served.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> search(HttpServerResponse response, byte[] body, LatencyDistribution latency) {
+        return Mono.delay(latency.sample()).then(Mono.defer(() -> {
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < config.errorRate()) {
+                return send(response, HttpResponseStatus.INTERNAL_SERVER_ERROR, SERVER_ERROR);
+            }
+            if (roll < config.errorRate() + config.throttleRate()) {
+                response.header(HttpHeaderNames.RETRY_AFTER, "1");
+                return send(response, HttpResponseStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS);
+            }
+            return send(response, HttpResponseStatus.OK, body);
+        }));
+    }
+
+    /**
+     * The smallest fixture holding at least {@code max} offers, round trip when a return
+     * date was asked for.
+     */
+    private byte[] flightOffers(HttpServerRequest request) {
+        QueryStringDecoder query = new QueryStringDecoder(request.uri());
+        int max = Integer.parseInt(first(query, "max", "250"));
+        byte[][] payloads = first(query, "returnDate", null) != null ? roundTrip : oneWay;
+        for (int i = 0; i < offerCounts.length; i++) {
+            if (max <= offerCounts[i]) {
+                return payloads[i];
+            }
+        }
+        return payloads[offerCounts.length - 1];
+    }
+
+    private Mono<Void> send(HttpServerResponse response, HttpResponseStatus status, byte[] body) {
+        served.incrementAndGet();
+        return response.status(status)
+            .header(HttpHeaderNames.CONTENT_TYPE, "application/vnd.amadeus+json")
+            .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.length))
+            .send(Mono.just(Unpooled.wrappedBuffer(body)))
+            .then();
+    }
+
+    private static String first(QueryStringDecoder query, String name, String defaultValue) {
+        List<String> values = query.parameters().get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : defaultValue;
+    }
+
+    private static byte[] error(int status, String title) {
+        return ("{\"errors\":[{\"status\":" + status + ",\"code\":" + (38000 + status) + ",\"title\":\"" + title
+            + "\",\"detail\":\"Load test stub\"}]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream input = AmadeusStub.class.getResourceAsStream("/fixtures/" + name)) {
+            if (input == null) {
+                throw new IllegalStateException("No fixture " + name);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
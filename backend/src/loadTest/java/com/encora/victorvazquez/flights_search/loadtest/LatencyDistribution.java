@@ -0,0 +1,27 @@
+package com.encora.victorvazquez.flights_search.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log-normal response times given by their median and 99th percentile, which is roughly
+ * how provider latency is shaped: most calls close to the median and a long right tail.
+ */
+record LatencyDistribution(Duration median, Duration p99) {
+    private static final double Z_99 = 2.3263;
+
+    Duration sample() {
+        double medianMillis = median.toNanos() / 1_000_000.0;
+        if (medianMillis <= 0) {
+            return Duration.ZERO;
+        }
+        double sigma = p99.compareTo(median) > 0 ? Math.log(p99.toNanos() / (double) median.toNanos()) / Z_99 : 0;
+        double millis = medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Duration.ofNanos((long) (millis * 1_000_000));
+    }
+
+    @Override
+    public String toString() {
+        return "median " + median.toMillis() + " ms, p99 " + p99.toMillis() + " ms";
+    }
+}
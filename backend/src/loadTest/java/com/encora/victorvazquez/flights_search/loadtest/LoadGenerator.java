@@ -0,0 +1,165 @@
+package com.encora.victorvazquez.flights_search.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Open-model traffic against the backend: each endpoint gets requests at a fixed rate
+ * whether or not earlier ones have answered, the way independent users arrive.
+ * <p>
+ * Latency is measured from when a request was due rather than when it was sent, so a
+ * stalled client or scheduler shows up in the percentiles instead of quietly lowering
+ * the offered load (coordinated omission).
+ */
+final class LoadGenerator implements AutoCloseable {
+    static final String FLIGHTS = "/api/flights";
+    static final String LOCATIONS = "/api/locations";
+
+    private static final List<String> AIRPORTS = List.of(
+        "MEX", "CUN", "GDL", "MTY", "TIJ", "JFK", "LAX", "ORD", "MAD", "BOG", "LHR", "CDG");
+    private static final List<String> KEYWORDS = List.of(
+        "MEX", "CAN", "GUA", "NEW", "MAD", "BOG", "LON", "PAR", "LOS", "CHI", "MON", "TIJ");
+
+    private final HttpClient client;
+    private final LoadTestConfig config;
+    private final LocalDate today = LocalDate.now();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final Disposable.Composite running = Disposables.composite();
+    private final ConnectionProvider connections;
+
+    LoadGenerator(String baseUrl, LoadTestConfig config) {
+        this.config = config;
+        // Open model: the pool must never be what holds requests back.
+        this.connections = ConnectionProvider.builder("load-test")
+            .maxConnections(10_000)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        this.client = HttpClient.create(connections)
+            .baseUrl(baseUrl)
+            .responseTimeout(Duration.ofSeconds(60));
+        stats.put(FLIGHTS, new EndpointStats());
+        stats.put(LOCATIONS, new EndpointStats());
+    }
+
+    void start() {
+        running.add(drive(FLIGHTS, config.flightsPerSecond(), this::flightSearch));
+        running.add(drive(LOCATIONS, config.locationsPerSecond(), this::locationSearch));
+    }
+
+    /**
+     * Results since the previous call, or since {@link #start()}. Requests still in flight
+     * land in the next interval.
+     */
+    Map<String, EndpointResult> interval() {
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> results.put(endpoint, endpointStats.interval()));
+        return results;
+    }
+
+    @Override
+    public void close() {
+        running.dispose();
+        connections.disposeLater().block(Duration.ofSeconds(10));
+    }
+
+    private Disposable drive(String endpoint, double perSecond, Supplier<String> uris) {
+        if (perSecond <= 0) {
+            return Disposables.disposed();
+        }
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        long startNanos = System.nanoTime();
+        EndpointStats endpointStats = stats.get(endpoint);
+        return Flux.interval(Duration.ofNanos(periodNanos))
+            .flatMap(tick -> {
+                long dueNanos = startNanos + (tick + 1) * periodNanos;
+                return send(uris.get())
+                    .doOnNext(status -> endpointStats.record(dueNanos, status));
+            }, Integer.MAX_VALUE)
+            .subscribe();
+    }
+
+    private Mono<Integer> send(String uri) {
+        return client.get()
+            .uri(uri)
+            .responseSingle((response, body) -> body.asByteArray()
+                .map(bytes -> response.status().code())
+                .defaultIfEmpty(response.status().code()))
+            .onErrorReturn(0);
+    }
+
+    /**
+     * A search drawn from {@code distinctSearches} route and date combinations, biased
+     * towards the first ones so some searches repeat often and the caches see a realistic
+     * mix of hits and misses.
+     */
+    private String flightSearch() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        int key = (int) (roll * roll * config.distinctSearches());
+        int pairs = AIRPORTS.size() * (AIRPORTS.size() - 1);
+        int origin = key % AIRPORTS.size();
+        int destination = (origin + 1 + (key / AIRPORTS.size()) % (AIRPORTS.size() - 1)) % AIRPORTS.size();
+        LocalDate departure = today.plusDays(14 + (key / pairs) % 180);
+
+        StringBuilder uri = new StringBuilder(FLIGHTS)
+            .append("?originLocationCode=").append(AIRPORTS.get(origin))
+            .append("&destinationLocationCode=").append(AIRPORTS.get(destination))
+            .append("&departureDate=").append(departure)
+            .append("&adults=1")
+            .append("&max=").append(config.maxOffers());
+        if (key % 3 == 0) {
+            uri.append("&returnDate=").append(departure.plusDays(7));
+        }
+        return uri.toString();
+    }
+
+    private String locationSearch() {
+        String keyword = KEYWORDS.get(ThreadLocalRandom.current().nextInt(KEYWORDS.size()));
+        return LOCATIONS + "?subType=AIRPORT&keyword=" + keyword;
+    }
+
+    record EndpointResult(Histogram histogram, long errors, double seconds) {
+        long count() {
+            return histogram.getTotalCount();
+        }
+
+        double perSecond() {
+            return seconds > 0 ? count() / seconds : 0;
+        }
+    }
+
+    private static final class EndpointStats {
+        private final Recorder latencyMicros = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private long intervalStartNanos = System.nanoTime();
+
+        void record(long dueNanos, int status) {
+            latencyMicros.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueNanos)));
+            if (status < 200 || status >= 300) {
+                errors.increment();
+            }
+        }
+
+        synchronized EndpointResult interval() {
+            long now = System.nanoTime();
+            double seconds = (now - intervalStartNanos) / 1e9;
+            intervalStartNanos = now;
+            return new EndpointResult(latencyMicros.getIntervalHistogram(), errors.sumThenReset(), seconds);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.encora.victorvazquez.flights_search.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadTest.*} system properties; the Gradle task
+ * forwards them from {@code -PloadTest.*}. Properties starting with {@code app.} are
+ * handed to the backend with the prefix removed.
+ */
+record LoadTestConfig(
+    Duration warmup,
+    Duration duration,
+    double flightsPerSecond,
+    double locationsPerSecond,
+    int distinctSearches,
+    int maxOffers,
+    LatencyDistribution flightsLatency,
+    LatencyDistribution locationsLatency,
+    double errorRate,
+    double throttleRate,
+    Path reportDirectory,
+    Map<String, String> applicationProperties
+) {
+    private static final String APP_PREFIX = "app.";
+
+    static LoadTestConfig fromSystemProperties() {
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+        // The stub has no quota to protect, so by default nothing holds the backend back
+        // except the backend itself.
+        applicationProperties.put("amadeus.rate-limit.enabled", "false");
+        applicationProperties.put("flights.cache.snapshot.enabled", "false");
+        applicationProperties.put("flights.hot-routes.enabled", "false");
+        applicationProperties.put("amadeus.capture.sample-rate", "0");
+        applicationProperties.put("logging.level.com.encora.victorvazquez.flights_search", "WARN");
+        System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith(APP_PREFIX))
+            .forEach(name -> applicationProperties.put(name.substring(APP_PREFIX.length()), System.getProperty(name)));
+
+        return new LoadTestConfig(
+            duration("loadTest.warmup", "10s"),
+            duration("loadTest.duration", "60s"),
+            number("loadTest.flightsRate", "20"),
+            number("loadTest.locationsRate", "50"),
+            (int) number("loadTest.distinctSearches", "500"),
+            (int) number("loadTest.maxOffers", "50"),
+            new LatencyDistribution(duration("loadTest.stub.flightsMedian", "400ms"), duration("loadTest.stub.flightsP99", "2s")),
+            new LatencyDistribution(duration("loadTest.stub.locationsMedian", "80ms"), duration("loadTest.stub.locationsP99", "400ms")),
+            number("loadTest.stub.errorRate", "0.01"),
+            number("loadTest.stub.throttleRate", "0"),
+            Path.of(System.getProperty("loadTest.reportDir", "build/reports/load-test")),
+            applicationProperties
+        );
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(name, defaultValue));
+    }
+
+    private static double number(String name, String defaultValue) {
+        return Double.parseDouble(System.getProperty(name, defaultValue));
+    }
+}
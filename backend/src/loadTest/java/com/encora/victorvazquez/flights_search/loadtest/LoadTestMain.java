@@ -0,0 +1,98 @@
+package com.encora.victorvazquez.flights_search.loadtest;
+
+import com.encora.victorvazquez.flights_search.FlightsSearchApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the backend against {@link AmadeusStub}, drives it with {@link LoadGenerator} and
+ * reports throughput and latency percentiles per endpoint. See {@code ./gradlew loadTest}.
+ */
+public final class LoadTestMain {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        try (AmadeusStub stub = AmadeusStub.start(config);
+             ConfigurableApplicationContext application = startApplication(config, stub)) {
+            int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            System.out.printf("Amadeus stub on %s (flights %s, locations %s, errors %.1f%%, throttled %.1f%%)%n",
+                stub.baseUrl(), config.flightsLatency(), config.locationsLatency(),
+                config.errorRate() * 100, config.throttleRate() * 100);
+            System.out.printf("Offering %.1f flight searches/s and %.1f location searches/s to port %d%n",
+                config.flightsPerSecond(), config.locationsPerSecond(), port);
+
+            Map<String, LoadGenerator.EndpointResult> results;
+            try (LoadGenerator generator = new LoadGenerator("http://127.0.0.1:" + port, config)) {
+                generator.start();
+                System.out.printf("Warming up for %s%n", config.warmup());
+                Thread.sleep(config.warmup().toMillis());
+                generator.interval();
+                System.out.printf("Measuring for %s%n", config.duration());
+                Thread.sleep(config.duration().toMillis());
+                results = generator.interval();
+            }
+
+            String summary = summary(results, stub.served());
+            System.out.print(summary);
+            writeReport(config.reportDirectory(), summary, results);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config, AmadeusStub stub) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("amadeus.api.base-url", stub.baseUrl());
+        properties.put("amadeus.api.key", "load-test");
+        properties.put("amadeus.api.secret", "load-test");
+        properties.putAll(config.applicationProperties());
+
+        return new SpringApplicationBuilder(FlightsSearchApplication.class)
+            .properties(properties)
+            .run();
+    }
+
+    private static String summary(Map<String, LoadGenerator.EndpointResult> results, long stubResponses) {
+        StringBuilder summary = new StringBuilder()
+            .append(String.format("%n%-16s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        results.forEach((endpoint, result) -> {
+            Histogram histogram = result.histogram();
+            summary.append(String.format("%-16s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, result.count(), result.errors(), result.perSecond(),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI));
+        });
+        return summary.append(String.format("Amadeus stub answered %d requests in total%n", stubResponses)).toString();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static void writeReport(Path directory, String summary, Map<String, LoadGenerator.EndpointResult> results)
+            throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        for (Map.Entry<String, LoadGenerator.EndpointResult> entry : results.entrySet()) {
+            String name = entry.getKey().replaceFirst("^/", "").replace('/', '-') + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name)), false, StandardCharsets.UTF_8)) {
+                entry.getValue().histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        System.out.printf("Report written to %s%n", directory.toAbsolutePath());
+    }
+}
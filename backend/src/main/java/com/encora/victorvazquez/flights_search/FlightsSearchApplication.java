@@ -5,13 +5,34 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 
+import com.encora.victorvazquez.flights_search.config.AmadeusConcurrencyLimitProperties;
+import com.encora.victorvazquez.flights_search.config.AmadeusHedgingProperties;
+import com.encora.victorvazquez.flights_search.config.AmadeusHttpClientProperties;
+import com.encora.victorvazquez.flights_search.config.AmadeusPayloadCaptureProperties;
 import com.encora.victorvazquez.flights_search.config.AmadeusProperties;
+import com.encora.victorvazquez.flights_search.config.AmadeusRateLimitProperties;
+import com.encora.victorvazquez.flights_search.config.FlightBatchProperties;
+import com.encora.victorvazquez.flights_search.config.FlightCacheSnapshotProperties;
+import com.encora.victorvazquez.flights_search.config.FlightCalendarProperties;
+import com.encora.victorvazquez.flights_search.config.FlightCityExpansionProperties;
+import com.encora.victorvazquez.flights_search.config.FlightHotRoutesProperties;
+import com.encora.victorvazquez.flights_search.config.FlightIataLookupProperties;
+import com.encora.victorvazquez.flights_search.config.FlightLocationIndexProperties;
+import com.encora.victorvazquez.flights_search.config.FlightSearchCacheProperties;
+import com.encora.victorvazquez.flights_search.config.FlightSearchCoalescingProperties;
+import com.encora.victorvazquez.flights_search.config.FlightSyntheticOffersProperties;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SpringBootApplication
-@EnableConfigurationProperties(AmadeusProperties.class)
+@EnableConfigurationProperties({AmadeusProperties.class, AmadeusHttpClientProperties.class,
+    AmadeusRateLimitProperties.class, AmadeusConcurrencyLimitProperties.class, AmadeusHedgingProperties.class,
+    AmadeusPayloadCaptureProperties.class,
+    FlightSearchCacheProperties.class, FlightCacheSnapshotProperties.class, FlightSearchCoalescingProperties.class,
+    FlightLocationIndexProperties.class, FlightIataLookupProperties.class,
+    FlightCalendarProperties.class, FlightCityExpansionProperties.class,
+    FlightBatchProperties.class, FlightHotRoutesProperties.class, FlightSyntheticOffersProperties.class})
 @ComponentScan(basePackages = "com.encora.victorvazquez.flights_search")
 public class FlightsSearchApplication {
     
@@ -0,0 +1,81 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amadeus.rate-limit")
+public class AmadeusRateLimitProperties {
+    private boolean enabled = true;
+    private double permitsPerSecond = 10;
+    private int burst = 10;
+    private Duration maxWait = Duration.ofSeconds(10);
+    private Duration defaultRetryAfter = Duration.ofSeconds(1);
+    private int interactiveQueueCapacity = 200;
+    private int autocompleteQueueCapacity = 100;
+    private int batchQueueCapacity = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Duration getDefaultRetryAfter() {
+        return defaultRetryAfter;
+    }
+
+    public void setDefaultRetryAfter(Duration defaultRetryAfter) {
+        this.defaultRetryAfter = defaultRetryAfter;
+    }
+
+    public int getInteractiveQueueCapacity() {
+        return interactiveQueueCapacity;
+    }
+
+    public void setInteractiveQueueCapacity(int interactiveQueueCapacity) {
+        this.interactiveQueueCapacity = interactiveQueueCapacity;
+    }
+
+    public int getAutocompleteQueueCapacity() {
+        return autocompleteQueueCapacity;
+    }
+
+    public void setAutocompleteQueueCapacity(int autocompleteQueueCapacity) {
+        this.autocompleteQueueCapacity = autocompleteQueueCapacity;
+    }
+
+    public int getBatchQueueCapacity() {
+        return batchQueueCapacity;
+    }
+
+    public void setBatchQueueCapacity(int batchQueueCapacity) {
+        this.batchQueueCapacity = batchQueueCapacity;
+    }
+}
@@ -0,0 +1,158 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the Amadeus OAuth access token.
+ * <p>
+ * Requests read the cached token without locking. When it is missing or about to expire,
+ * exactly one token call is made and every concurrent caller waits on that same call.
+ * After each successful refresh a background renewal is scheduled ahead of expiry, so
+ * under steady traffic requests never wait for a token at all.
+ */
+@Component
+public class AmadeusTokenManager {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusTokenManager.class);
+    private static final String AUTH_ENDPOINT = "/v1/security/oauth2/token";
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(2);
+
+    private final AmadeusProperties amadeusProperties;
+    private final WebClient authClient;
+    private final AtomicReference<AccessToken> currentToken = new AtomicReference<>();
+    private final AtomicReference<Mono<AccessToken>> refreshInFlight = new AtomicReference<>();
+    private final AtomicReference<Disposable> scheduledRefresh = new AtomicReference<>();
+
+    public AmadeusTokenManager(AmadeusProperties amadeusProperties) {
+        this.amadeusProperties = amadeusProperties;
+        this.authClient = WebClient.builder()
+                .baseUrl(amadeusProperties.getBaseUrl())
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .build();
+    }
+
+    public Mono<String> getAccessToken() {
+        return Mono.defer(() -> {
+            AccessToken token = currentToken.get();
+            if (token != null && token.isUsableAt(Instant.now())) {
+                return Mono.just(token.value());
+            }
+            return refresh().map(AccessToken::value);
+        });
+    }
+
+    private Mono<AccessToken> refresh() {
+        while (true) {
+            Mono<AccessToken> inFlight = refreshInFlight.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+
+            Sinks.One<AccessToken> sink = Sinks.one();
+            Mono<AccessToken> shared = sink.asMono();
+            if (refreshInFlight.compareAndSet(null, shared)) {
+                // The slot is cleared before the result is published, so a caller arriving
+                // afterwards reads the new token instead of joining a finished refresh.
+                requestToken()
+                    .subscribe(
+                        token -> {
+                            currentToken.set(token);
+                            refreshInFlight.compareAndSet(shared, null);
+                            scheduleProactiveRefresh(token);
+                            sink.tryEmitValue(token);
+                        },
+                        error -> {
+                            refreshInFlight.compareAndSet(shared, null);
+                            sink.tryEmitError(error);
+                        });
+                return shared;
+            }
+        }
+    }
+
+    private void scheduleProactiveRefresh(AccessToken token) {
+        Duration delay = Duration.between(Instant.now(), token.expiresAt().minus(REFRESH_AHEAD));
+        if (delay.isNegative() || delay.isZero()) {
+            return;
+        }
+
+        Disposable next = Mono.delay(delay)
+                .flatMap(tick -> refresh())
+                .subscribe(
+                    refreshed -> logger.debug("Amadeus access token renewed ahead of expiry"),
+                    error -> logger.warn("Background renewal of the Amadeus access token failed: {}", error.getMessage()));
+        Disposable previous = scheduledRefresh.getAndSet(next);
+        if (previous != null) {
+            previous.dispose();
+        }
+    }
+
+    private Mono<AccessToken> requestToken() {
+        String apiKey = amadeusProperties.getKey();
+        String apiSecret = amadeusProperties.getSecret();
+
+        if (apiKey == null || apiKey.trim().isEmpty() ||
+            apiSecret == null || apiSecret.trim().isEmpty()) {
+            return Mono.error(new IllegalStateException("Amadeus API credentials are not configured. Please check your application.yml"));
+        }
+
+        logger.debug("Requesting a new Amadeus access token");
+
+        return authClient.post()
+                .uri(AUTH_ENDPOINT)
+                .body(BodyInserters.fromFormData("grant_type", "client_credentials")
+                    .with("client_id", apiKey.trim())
+                    .with("client_secret", apiSecret.trim()))
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError(),
+                        response -> response.bodyToMono(String.class)
+                                .map(body -> {
+                                    logger.error("Authentication failed. Response: {}", body);
+                                    return new IllegalStateException(
+                                        "Authentication failed with Amadeus API. Status: " + response.statusCode() + 
+                                        ". Response: " + body);
+                                }))
+                .bodyToMono(AmadeusTokenResponse.class)
+                .flatMap(tokenResponse -> {
+                    if (tokenResponse != null && tokenResponse.getAccessToken() != null && tokenResponse.getExpiresIn() != null) {
+                        logger.debug("Successfully obtained new access token");
+                        return Mono.just(new AccessToken(
+                            tokenResponse.getAccessToken(),
+                            Instant.now().plusSeconds(tokenResponse.getExpiresIn())));
+                    }
+                    return Mono.error(new IllegalStateException("Received null or invalid token response from Amadeus API"));
+                })
+                .onErrorMap(e -> {
+                    logger.error("Failed to obtain Amadeus API token", e);
+                    return new IllegalStateException("Failed to obtain Amadeus API token: " + e.getMessage(), e);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable pending = scheduledRefresh.getAndSet(null);
+        if (pending != null) {
+            pending.dispose();
+        }
+    }
+
+    private record AccessToken(String value, Instant expiresAt) {
+        boolean isUsableAt(Instant now) {
+            return now.isBefore(expiresAt.minus(EXPIRY_MARGIN));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "flights.cache.snapshot")
+public class FlightCacheSnapshotProperties {
+    private boolean enabled = true;
+    private Path location = Path.of(System.getProperty("java.io.tmpdir"), "flights-search", "caches.snapshot");
+    private Duration interval = Duration.ofMinutes(5);
+    private DataSize maximumFileSize = DataSize.ofMegabytes(256);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getLocation() {
+        return location;
+    }
+
+    public void setLocation(Path location) {
+        this.location = location;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public DataSize getMaximumFileSize() {
+        return maximumFileSize;
+    }
+
+    public void setMaximumFileSize(DataSize maximumFileSize) {
+        this.maximumFileSize = maximumFileSize;
+    }
+}
@@ -0,0 +1,25 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "flights.calendar")
+public class FlightCalendarProperties {
+    private int maxConcurrency = 4;
+    private int maxWindowDays = 3;
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxWindowDays() {
+        return maxWindowDays;
+    }
+
+    public void setMaxWindowDays(int maxWindowDays) {
+        this.maxWindowDays = maxWindowDays;
+    }
+}
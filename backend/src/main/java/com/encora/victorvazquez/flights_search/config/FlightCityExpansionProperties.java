@@ -0,0 +1,45 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "flights.city-expansion")
+public class FlightCityExpansionProperties {
+    private boolean enabled = true;
+    private Duration deadline = Duration.ofSeconds(8);
+    private int maxAirportsPerCity = 3;
+    private int maxPairs = 9;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    public int getMaxAirportsPerCity() {
+        return maxAirportsPerCity;
+    }
+
+    public void setMaxAirportsPerCity(int maxAirportsPerCity) {
+        this.maxAirportsPerCity = maxAirportsPerCity;
+    }
+
+    public int getMaxPairs() {
+        return maxPairs;
+    }
+
+    public void setMaxPairs(int maxPairs) {
+        this.maxPairs = maxPairs;
+    }
+}
@@ -0,0 +1,180 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "flights.hot-routes")
+public class FlightHotRoutesProperties {
+    private boolean enabled = true;
+    private int trackedKeys = 10_000;
+    private int hotKeys = 300;
+    private Duration tickInterval = Duration.ofSeconds(15);
+    private Duration refreshAhead = Duration.ofSeconds(30);
+    private double budgetShare = 0.2;
+    private Duration decayInterval = Duration.ofMinutes(10);
+    private int seedWeight = 10;
+    private int minHits = 3;
+    private double fanOutWeight = 0.1;
+    private List<Seed> seeds = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getTrackedKeys() {
+        return trackedKeys;
+    }
+
+    public void setTrackedKeys(int trackedKeys) {
+        this.trackedKeys = trackedKeys;
+    }
+
+    public int getHotKeys() {
+        return hotKeys;
+    }
+
+    public void setHotKeys(int hotKeys) {
+        this.hotKeys = hotKeys;
+    }
+
+    public Duration getTickInterval() {
+        return tickInterval;
+    }
+
+    public void setTickInterval(Duration tickInterval) {
+        this.tickInterval = tickInterval;
+    }
+
+    public Duration getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public void setRefreshAhead(Duration refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    public double getBudgetShare() {
+        return budgetShare;
+    }
+
+    public void setBudgetShare(double budgetShare) {
+        this.budgetShare = budgetShare;
+    }
+
+    public Duration getDecayInterval() {
+        return decayInterval;
+    }
+
+    public void setDecayInterval(Duration decayInterval) {
+        this.decayInterval = decayInterval;
+    }
+
+    public int getSeedWeight() {
+        return seedWeight;
+    }
+
+    public void setSeedWeight(int seedWeight) {
+        this.seedWeight = seedWeight;
+    }
+
+    public int getMinHits() {
+        return minHits;
+    }
+
+    public void setMinHits(int minHits) {
+        this.minHits = minHits;
+    }
+
+    public double getFanOutWeight() {
+        return fanOutWeight;
+    }
+
+    public void setFanOutWeight(double fanOutWeight) {
+        this.fanOutWeight = fanOutWeight;
+    }
+
+    public List<Seed> getSeeds() {
+        return seeds;
+    }
+
+    public void setSeeds(List<Seed> seeds) {
+        this.seeds = seeds;
+    }
+
+    /**
+     * A route searched at startup before any traffic has been seen. Dates are relative
+     * to the current day, so a seed stays useful across restarts.
+     */
+    public static class Seed {
+        private String origin;
+        private String destination;
+        private int departureInDays = 7;
+        private Integer returnInDays;
+        private int adults = 1;
+        private String currencyCode;
+        private int max = 10;
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public void setOrigin(String origin) {
+            this.origin = origin;
+        }
+
+        public String getDestination() {
+            return destination;
+        }
+
+        public void setDestination(String destination) {
+            this.destination = destination;
+        }
+
+        public int getDepartureInDays() {
+            return departureInDays;
+        }
+
+        public void setDepartureInDays(int departureInDays) {
+            this.departureInDays = departureInDays;
+        }
+
+        public Integer getReturnInDays() {
+            return returnInDays;
+        }
+
+        public void setReturnInDays(Integer returnInDays) {
+            this.returnInDays = returnInDays;
+        }
+
+        public int getAdults() {
+            return adults;
+        }
+
+        public void setAdults(int adults) {
+            this.adults = adults;
+        }
+
+        public String getCurrencyCode() {
+            return currencyCode;
+        }
+
+        public void setCurrencyCode(String currencyCode) {
+            this.currencyCode = currencyCode;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public void setMax(int max) {
+            this.max = max;
+        }
+    }
+}
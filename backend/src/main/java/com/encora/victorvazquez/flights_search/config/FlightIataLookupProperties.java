@@ -0,0 +1,36 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "flights.locations.iata")
+public class FlightIataLookupProperties {
+    private Duration positiveTtl = Duration.ofHours(24);
+    private Duration negativeTtl = Duration.ofHours(6);
+    private long maximumSize = 10_000;
+
+    public Duration getPositiveTtl() {
+        return positiveTtl;
+    }
+
+    public void setPositiveTtl(Duration positiveTtl) {
+        this.positiveTtl = positiveTtl;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+}
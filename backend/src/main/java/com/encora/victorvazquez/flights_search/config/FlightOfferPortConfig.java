@@ -0,0 +1,85 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.IataLocationPort;
+import com.encora.victorvazquez.flights_search.infrastructure.AmadeusClient;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.CachingFlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.HotRouteRefresher;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.HotRouteTrackingFlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotService;
+import com.encora.victorvazquez.flights_search.infrastructure.concurrency.CoalescingFlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.location.CityExpandingFlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.location.IndexedLocationFlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.location.LocationIndexHolder;
+import com.encora.victorvazquez.flights_search.infrastructure.synthetic.SyntheticFlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.synthetic.SyntheticIataLocationPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Optional;
+
+@Configuration
+public class FlightOfferPortConfig {
+    public static final String SYNTHETIC_PROFILE = "synthetic";
+
+    /**
+     * Replaces Amadeus at the bottom of the chain, so everything above it still runs.
+     */
+    @Bean
+    @Profile(SYNTHETIC_PROFILE)
+    public SyntheticFlightOfferPort syntheticFlightOfferPort(FlightSyntheticOffersProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return new SyntheticFlightOfferPort(properties, meterRegistry);
+    }
+
+    @Bean
+    @Profile(SYNTHETIC_PROFILE)
+    public SyntheticIataLocationPort syntheticIataLocationPort(LocationIndexHolder locationIndexHolder) {
+        return new SyntheticIataLocationPort(locationIndexHolder);
+    }
+
+    @Bean
+    @Primary
+    public IataLocationPort iataLocationPort(AmadeusClient amadeusClient,
+                                             Optional<SyntheticIataLocationPort> syntheticPort) {
+        return syntheticPort.isPresent() ? syntheticPort.get() : amadeusClient;
+    }
+
+    @Bean
+    @Primary
+    public FlightOfferPort flightOfferPort(AmadeusClient amadeusClient,
+                                           Optional<SyntheticFlightOfferPort> syntheticPort,
+                                           FlightSearchCacheProperties cacheProperties,
+                                           FlightSearchCoalescingProperties coalescingProperties,
+                                           FlightLocationIndexProperties locationIndexProperties,
+                                           FlightCityExpansionProperties cityExpansionProperties,
+                                           FlightHotRoutesProperties hotRoutesProperties,
+                                           LocationIndexHolder locationIndexHolder,
+                                           CacheSnapshotService cacheSnapshotService,
+                                           HotRouteRefresher hotRouteRefresher,
+                                           MeterRegistry meterRegistry) {
+        FlightOfferPort port = syntheticPort.isPresent() ? syntheticPort.get() : amadeusClient;
+        if (coalescingProperties.isEnabled()) {
+            port = new CoalescingFlightOfferPort(port, coalescingProperties, meterRegistry);
+        }
+        if (cacheProperties.isEnabled()) {
+            CachingFlightOfferPort cachingPort = new CachingFlightOfferPort(port, cacheProperties, meterRegistry);
+            cacheSnapshotService.register(cachingPort);
+            port = cachingPort;
+            if (hotRoutesProperties.isEnabled()) {
+                hotRouteRefresher.attach(cachingPort);
+                port = new HotRouteTrackingFlightOfferPort(port, hotRouteRefresher);
+            }
+        }
+        if (locationIndexProperties.isEnabled()) {
+            port = new IndexedLocationFlightOfferPort(port, locationIndexHolder, meterRegistry);
+            if (cityExpansionProperties.isEnabled()) {
+                port = new CityExpandingFlightOfferPort(port, locationIndexHolder, cityExpansionProperties, meterRegistry);
+            }
+        }
+        return port;
+    }
+}
@@ -0,0 +1,73 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "flights.cache")
+public class FlightSearchCacheProperties {
+    private boolean enabled = true;
+    private Duration softTtl = Duration.ofMinutes(2);
+    private Duration ttl = Duration.ofMinutes(5);
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+    private Duration locationSoftTtl = Duration.ofHours(1);
+    private Duration locationTtl = Duration.ofHours(24);
+    private long locationMaximumEntries = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSoftTtl() {
+        return softTtl;
+    }
+
+    public void setSoftTtl(Duration softTtl) {
+        this.softTtl = softTtl;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public DataSize getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(DataSize maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getLocationSoftTtl() {
+        return locationSoftTtl;
+    }
+
+    public void setLocationSoftTtl(Duration locationSoftTtl) {
+        this.locationSoftTtl = locationSoftTtl;
+    }
+
+    public Duration getLocationTtl() {
+        return locationTtl;
+    }
+
+    public void setLocationTtl(Duration locationTtl) {
+        this.locationTtl = locationTtl;
+    }
+
+    public long getLocationMaximumEntries() {
+        return locationMaximumEntries;
+    }
+
+    public void setLocationMaximumEntries(long locationMaximumEntries) {
+        this.locationMaximumEntries = locationMaximumEntries;
+    }
+}
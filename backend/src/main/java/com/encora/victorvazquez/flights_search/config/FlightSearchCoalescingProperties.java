@@ -0,0 +1,25 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "flights.coalescing")
+public class FlightSearchCoalescingProperties {
+    private boolean enabled = true;
+    private int maxWaitersPerKey = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxWaitersPerKey() {
+        return maxWaitersPerKey;
+    }
+
+    public void setMaxWaitersPerKey(int maxWaitersPerKey) {
+        this.maxWaitersPerKey = maxWaitersPerKey;
+    }
+}
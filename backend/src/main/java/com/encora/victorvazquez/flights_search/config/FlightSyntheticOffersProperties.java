@@ -0,0 +1,95 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Shape of the offers generated under the {@code synthetic} profile. Counts of zero mean
+ * "follow the search": its {@code max}, one itinerary per direction and one traveler
+ * pricing per traveler.
+ */
+@ConfigurationProperties(prefix = "flights.synthetic")
+public class FlightSyntheticOffersProperties {
+    private long seed = 42;
+    private int offers = 0;
+    private int itineraries = 0;
+    private int minSegments = 1;
+    private int maxSegments = 3;
+    private int travelerPricings = 0;
+    private int amenities = 4;
+    private Duration latency = Duration.ZERO;
+    private Duration latencyJitter = Duration.ZERO;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getOffers() {
+        return offers;
+    }
+
+    public void setOffers(int offers) {
+        this.offers = offers;
+    }
+
+    public int getItineraries() {
+        return itineraries;
+    }
+
+    public void setItineraries(int itineraries) {
+        this.itineraries = itineraries;
+    }
+
+    public int getMinSegments() {
+        return minSegments;
+    }
+
+    public void setMinSegments(int minSegments) {
+        this.minSegments = minSegments;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public int getTravelerPricings() {
+        return travelerPricings;
+    }
+
+    public void setTravelerPricings(int travelerPricings) {
+        this.travelerPricings = travelerPricings;
+    }
+
+    public int getAmenities() {
+        return amenities;
+    }
+
+    public void setAmenities(int amenities) {
+        this.amenities = amenities;
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public Duration getLatencyJitter() {
+        return latencyJitter;
+    }
+
+    public void setLatencyJitter(Duration latencyJitter) {
+        this.latencyJitter = latencyJitter;
+    }
+}
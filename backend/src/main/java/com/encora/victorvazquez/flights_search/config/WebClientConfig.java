@@ -4,189 +4,155 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import com.encora.victorvazquez.flights_search.infrastructure.capture.PayloadCaptureBuffer;
+import com.encora.victorvazquez.flights_search.infrastructure.capture.PayloadCaptureExchangeFilter;
+import com.encora.victorvazquez.flights_search.infrastructure.concurrency.RequestHedger;
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.SearchStageMetrics;
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.StageTimingExchangeFilter;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.AdaptiveConcurrencyLimiter;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.ConcurrencyLimitingExchangeFilter;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.PriorityRateLimiter;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RateLimitingExchangeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
-import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 @Configuration
 public class WebClientConfig {
     private static final Logger logger = LoggerFactory.getLogger(WebClientConfig.class);
-    private static final String AUTH_ENDPOINT = "/v1/security/oauth2/token";
     private static final int MAX_MEMORY_SIZE = 32 * 1024 * 1024;
     private static final int TIMEOUT = 30000;
     
     private final AmadeusProperties amadeusProperties;
-    private final AtomicReference<String> currentToken = new AtomicReference<>();
-    private final AtomicReference<Instant> tokenExpiration = new AtomicReference<>();
 
     public WebClientConfig(AmadeusProperties amadeusProperties) {
-        System.out.println("WebClientConfig - Constructor called");
-        
         if (amadeusProperties == null) {
             String error = "AmadeusProperties cannot be null";
             logger.error(error);
-            System.err.println("ERROR: " + error);
             throw new IllegalArgumentException(error);
         }
-        
-        String baseUrl = amadeusProperties.getBaseUrl();
-        String keyLength = amadeusProperties.getKey() != null ? String.valueOf(amadeusProperties.getKey().length()) : "null";
-        String secretLength = amadeusProperties.getSecret() != null ? String.valueOf(amadeusProperties.getSecret().length()) : "null";
-        
-        System.out.println("WebClientConfig - Base URL: " + baseUrl);
-        System.out.println("WebClientConfig - API Key Length: " + keyLength);
-        System.out.println("WebClientConfig - Secret Length: " + secretLength);
-        
-        logger.warn("WebClientConfig initialization - Base URL: {}", baseUrl);
-        logger.warn("WebClientConfig initialization - API Key Length: {}", keyLength);
-        logger.warn("WebClientConfig initialization - Secret Length: {}", secretLength);
+
+        logger.debug("WebClientConfig initialization - Base URL: {}, API key length: {}, secret length: {}",
+            amadeusProperties.getBaseUrl(),
+            amadeusProperties.getKey() != null ? amadeusProperties.getKey().length() : null,
+            amadeusProperties.getSecret() != null ? amadeusProperties.getSecret().length() : null);
 
         this.amadeusProperties = amadeusProperties;
     }
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider amadeusConnectionProvider(AmadeusHttpClientProperties httpProperties) {
+        logger.info("Creating Amadeus connection pool '{}' with max {} connections (HTTP/2: {})",
+            httpProperties.getPoolName(), httpProperties.getMaxConnections(), httpProperties.isHttp2Enabled());
+
+        return ConnectionProvider.builder(httpProperties.getPoolName())
+            .maxConnections(httpProperties.getMaxConnections())
+            .pendingAcquireMaxCount(httpProperties.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(httpProperties.getPendingAcquireTimeout())
+            .maxIdleTime(httpProperties.getMaxIdleTime())
+            .maxLifeTime(httpProperties.getMaxLifeTime())
+            .evictInBackground(httpProperties.getEvictionInterval())
+            .metrics(httpProperties.isMetricsEnabled())
+            .build();
+    }
+
+    @Bean
+    public PriorityRateLimiter amadeusRateLimiter(AmadeusRateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        logger.info("Limiting Amadeus calls to {} per second (burst {})",
+            rateLimitProperties.getPermitsPerSecond(), rateLimitProperties.getBurst());
+        return new PriorityRateLimiter(rateLimitProperties, meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter amadeusConcurrencyLimiter(AmadeusConcurrencyLimitProperties concurrencyProperties,
+                                                                MeterRegistry meterRegistry) {
+        logger.info("Limiting concurrent Amadeus calls adaptively between {} and {} (initial {})",
+            concurrencyProperties.getMinLimit(), concurrencyProperties.getMaxLimit(), concurrencyProperties.getInitialLimit());
+        return new AdaptiveConcurrencyLimiter(concurrencyProperties, meterRegistry);
+    }
+
     @Bean
     @Primary
-    public WebClient amadeusWebClient(AmadeusProperties amadeusProperties) {
-        System.out.println("WebClientConfig - Creating Amadeus WebClient");
-        logger.warn("Creating Amadeus WebClient");
-        
+    public WebClient amadeusWebClient(AmadeusProperties amadeusProperties, AmadeusTokenManager amadeusTokenManager,
+                                      ConnectionProvider amadeusConnectionProvider, AmadeusHttpClientProperties httpProperties,
+                                      AmadeusRateLimitProperties rateLimitProperties, PriorityRateLimiter amadeusRateLimiter,
+                                      AmadeusConcurrencyLimitProperties concurrencyProperties,
+                                      AdaptiveConcurrencyLimiter amadeusConcurrencyLimiter,
+                                      SearchStageMetrics stageMetrics,
+                                      AmadeusPayloadCaptureProperties captureProperties,
+                                      PayloadCaptureBuffer payloadCaptureBuffer) {
+        logger.debug("Creating Amadeus WebClient");
+
         String baseUrl = amadeusProperties.getBaseUrl();
         if (baseUrl == null || baseUrl.isEmpty()) {
             String error = "Amadeus API base URL is not configured. Please check your application.yml";
             logger.error(error);
-            System.err.println("ERROR: " + error);
             throw new IllegalStateException(error);
         }
 
-        System.out.println("WebClientConfig - Configuring WebClient with base URL: " + baseUrl);
-        logger.warn("Configuring WebClient with base URL: {}", baseUrl);
+        logger.debug("Configuring WebClient with base URL: {}", baseUrl);
 
-        HttpClient httpClient = HttpClient.create()
+        HttpProtocol[] protocols = httpProperties.isHttp2Enabled()
+            ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+            : new HttpProtocol[] {HttpProtocol.HTTP11};
+
+        HttpClient httpClient = HttpClient.create(amadeusConnectionProvider)
+            .protocol(protocols)
             .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT)
             .responseTimeout(Duration.ofMillis(TIMEOUT))
             .doOnConnected(conn -> 
                 conn.addHandlerLast(new ReadTimeoutHandler(TIMEOUT, TimeUnit.MILLISECONDS))
                     .addHandlerLast(new WriteTimeoutHandler(TIMEOUT, TimeUnit.MILLISECONDS)))
-            .wiretap(true)
+            .doOnRequest((request, conn) -> {
+                StageTimingExchangeFilter.requestSent(request.currentContextView());
+                RequestHedger.requestSent(request.currentContextView());
+            })
+            .doOnResponse((response, conn) -> {
+                StageTimingExchangeFilter.responseStarted(response.currentContextView());
+                RequestHedger.responseStarted(response.currentContextView(), response.status().code());
+            })
             .keepAlive(true)
             .followRedirect(true);
 
-        return WebClient.builder()
+        WebClient.Builder builder = WebClient.builder()
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .codecs(configurer -> configurer
                     .defaultCodecs()
                     .maxInMemorySize(MAX_MEMORY_SIZE))
-                .baseUrl(baseUrl)
-                .filter((request, next) -> {
-                    if (needsNewToken()) {
-                        return refreshToken()
-                            .then(Mono.fromCallable(() -> {
-                                ClientRequest newRequest = ClientRequest.from(request)
-                                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + currentToken.get())
-                                    .build();
-                                return next.exchange(newRequest);
-                            }))
-                            .flatMap(mono -> mono);
-                    }
-                    ClientRequest newRequest = ClientRequest.from(request)
-                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + currentToken.get())
-                            .build();
-                    return next.exchange(newRequest);
-                })
-                .build();
-    }
-
-    private synchronized boolean needsNewToken() {
-        Instant now = Instant.now();
-        boolean needs = currentToken.get() == null || 
-                       tokenExpiration.get() == null || 
-                       now.isAfter(tokenExpiration.get()) ||
-                       now.plus(Duration.ofMinutes(1)).isAfter(tokenExpiration.get());
-        
-        System.out.println("WebClientConfig - Needs new token: " + needs);
-        if (needs) {
-            System.out.println("WebClientConfig - Current time: " + now);
-            System.out.println("WebClientConfig - Token expiration: " + tokenExpiration.get());
-        }
-        logger.warn("Needs new token: {}", needs);
-        return needs;
-    }
+                .baseUrl(baseUrl);
 
-    private Mono<Void> refreshToken() {
-        System.out.println("REFRESHING TOKEN");
-        
-        String apiKey = amadeusProperties.getKey();
-        String apiSecret = amadeusProperties.getSecret();
-
-        System.out.println("apiKey dough: " + apiKey);
-        System.out.println("apiSecret douch: " + apiSecret);
-        
-        if (apiKey == null || apiKey.trim().isEmpty() ||
-            apiSecret == null || apiSecret.trim().isEmpty()) {
-            return Mono.error(new IllegalStateException("Amadeus API credentials are not configured. Please check your application.yml"));
+        if (rateLimitProperties.isEnabled()) {
+            builder.filter(new RateLimitingExchangeFilter(amadeusRateLimiter, rateLimitProperties.getDefaultRetryAfter()));
         }
 
-        apiKey = apiKey.trim();
-        apiSecret = apiSecret.trim();
+        builder.filter((request, next) -> stageMetrics.time(SearchStageMetrics.Stage.TOKEN_ACQUIRE,
+                SearchStageMetrics.endpoint(request), amadeusTokenManager.getAccessToken())
+            .flatMap(token -> next.exchange(ClientRequest.from(request)
+                .headers(headers -> headers.setBearerAuth(token))
+                .build())));
 
-        System.out.println("apiKey after trim: " + apiKey);
-        System.out.println("apiSecret after trim: " + apiSecret);
+        // Inside the rate limiter and token filter, so a slot is only held while the request is actually on the wire.
+        if (concurrencyProperties.isEnabled()) {
+            builder.filter(new ConcurrencyLimitingExchangeFilter(amadeusConcurrencyLimiter));
+        }
+        // Bodies are never logged; a sample of exchanges is kept for the payloads actuator endpoint instead.
+        if (captureProperties.isEnabled()) {
+            builder.filter(new PayloadCaptureExchangeFilter(payloadCaptureBuffer, captureProperties));
+        }
+        // Innermost, so connection acquire time excludes the waits above.
+        builder.filter(new StageTimingExchangeFilter(stageMetrics));
 
-        WebClient authClient = WebClient.builder()
-                .baseUrl(amadeusProperties.getBaseUrl())
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                .codecs(configurer -> configurer
-                    .defaultCodecs()
-                    .maxInMemorySize(MAX_MEMORY_SIZE))
-                .build();
-
-        System.out.println("authClient: " + authClient);
-        String requestBody = "grant_type=client_credentials&client_id=" + apiKey + "&client_secret=" + apiSecret;
-        logger.debug("Request body format: {}", requestBody.replaceAll(apiKey, "API_KEY").replaceAll(apiSecret, "API_SECRET"));
-
-        System.out.println("requestBody: " + requestBody);
-
-        return authClient.post()
-                .uri(AUTH_ENDPOINT)
-                .body(BodyInserters.fromValue(requestBody))
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(),
-                        response -> response.bodyToMono(String.class)
-                                .map(body -> {
-                                    logger.error("Authentication failed. Response: {}", body);
-                                    return new IllegalStateException(
-                                        "Authentication failed with Amadeus API. Status: " + response.statusCode() + 
-                                        ". Response: " + body);
-                                }))
-                .bodyToMono(AmadeusTokenResponse.class)
-                .flatMap(tokenResponse -> {
-                    if (tokenResponse != null && tokenResponse.getAccessToken() != null) {
-                        logger.debug("Successfully obtained new access token");
-                        currentToken.set(tokenResponse.getAccessToken());
-                        tokenExpiration.set(Instant.now().plus(Duration.ofSeconds(tokenResponse.getExpiresIn() - 60)));
-                        return Mono.empty().then();
-                    } else {
-                        return Mono.error(new IllegalStateException("Received null or invalid token response from Amadeus API"));
-                    }
-                })
-                .onErrorMap(e -> {
-                    logger.error("Failed to obtain Amadeus API token", e);
-                    return new IllegalStateException("Failed to obtain Amadeus API token: " + e.getMessage(), e);
-                });
+        return builder.build();
     }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.encora.victorvazquez.flights_search.config;
 
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.SearchStageMetrics;
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.TimedJackson2JsonEncoder;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.config.CorsRegistry;
 import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
@@ -14,6 +18,11 @@ import static org.springframework.web.reactive.function.server.RouterFunctions.r
 @Configuration
 @EnableWebFlux
 public class WebConfig implements WebFluxConfigurer {
+    private final SearchStageMetrics stageMetrics;
+
+    public WebConfig(SearchStageMetrics stageMetrics) {
+        this.stageMetrics = stageMetrics;
+    }
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -24,4 +33,11 @@ public class WebConfig implements WebFluxConfigurer {
             .allowCredentials(true)
             .maxAge(3600); // 1 hora de cache para las respuestas de pre-vuelo
     }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        // Same ObjectMapper the default encoder builds, plus serialization timing.
+        configurer.defaultCodecs().jackson2JsonEncoder(
+            new TimedJackson2JsonEncoder(Jackson2ObjectMapperBuilder.json().build(), stageMetrics));
+    }
 } 
\ No newline at end of file
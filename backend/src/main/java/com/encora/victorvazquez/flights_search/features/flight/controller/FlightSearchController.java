@@ -1,22 +1,30 @@
 package com.encora.victorvazquez.flights_search.features.flight.controller;
 
 import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.Location;
 import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightBatchRequestDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightBatchResultDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightCalendarCellDTO;
 import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOfferSearchRequestDTO;
-import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersPageDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
 import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
 import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchRequestDTO;
 import com.encora.victorvazquez.flights_search.features.flight.mapper.FlightSearchMapper;
 import com.encora.victorvazquez.flights_search.features.flight.mapper.Locations.LocationSearchMapper;
+import com.encora.victorvazquez.flights_search.features.flight.service.FlightBatchService;
+import com.encora.victorvazquez.flights_search.features.flight.service.FlightCalendarService;
 import com.encora.victorvazquez.flights_search.features.flight.service.FlightSearchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import jakarta.validation.constraints.Future;
-import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import java.time.LocalDate;
@@ -27,18 +35,48 @@ import java.time.LocalDate;
 @Validated
 public class FlightSearchController {
     private final FlightSearchService flightSearchService;
+    private final FlightCalendarService flightCalendarService;
+    private final FlightBatchService flightBatchService;
     private final FlightSearchMapper flightSearchMapper;
     private final LocationSearchMapper locationSearchMapper;
 
     @GetMapping("/flights")
-    public Mono<FlightOffersProviderDTO> searchFlights(@Valid FlightOfferSearchRequestDTO request) {
+    public Mono<FlightOffersPageDTO> searchFlights(@Valid FlightOfferSearchRequestDTO request) {
         FlightOfferSearch domain = flightSearchMapper.toDomain(request);
-        return flightSearchService.searchFlights(domain);
+        return flightSearchService.searchFlights(domain, flightSearchMapper.toPageRequest(request), request.maxAge());
+    }
+
+    @GetMapping(value = "/flights/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(@Valid FlightOfferSearchRequestDTO request) {
+        FlightOfferSearch domain = flightSearchMapper.toDomain(request);
+        return flightSearchService.streamFlights(domain, request.maxAge());
+    }
+
+    @GetMapping(value = "/flights/calendar", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<FlightCalendarCellDTO> searchCalendar(
+            @Valid FlightOfferSearchRequestDTO request,
+            @RequestParam(defaultValue = "3") @Min(0) int departureDays,
+            @RequestParam(defaultValue = "3") @Min(0) int returnDays) {
+        FlightOfferSearch domain = flightSearchMapper.toDomain(request);
+        return flightCalendarService.searchCalendar(domain, departureDays, returnDays);
+    }
+
+    @PostMapping(value = "/flights/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FlightBatchResultDTO> searchBatch(@Valid @RequestBody FlightBatchRequestDTO request) {
+        return flightBatchService.searchBatch(request.searches().stream()
+            .map(flightSearchMapper::toDomain)
+            .toList());
     }
 
     @GetMapping("/locations")
     public Mono<LocationSearchResponseDTO> searchLocations(@Valid LocationSearchRequestDTO request) {
         LocationSearch domain = locationSearchMapper.toDomain(request);
-        return flightSearchService.searchLocations(domain);
+        return flightSearchService.searchLocations(domain, request.maxAge());
+    }
+
+    @GetMapping("/locations/{iataCode}")
+    public Mono<Location> findLocationByIataCode(
+            @PathVariable @Pattern(regexp = "^[A-Za-z]{3}$", message = "iataCode must be a 3-letter IATA code") String iataCode) {
+        return flightSearchService.findLocationByIataCode(iataCode);
     }
 }
\ No newline at end of file
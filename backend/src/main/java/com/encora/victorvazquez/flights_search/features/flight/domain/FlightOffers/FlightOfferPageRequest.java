@@ -0,0 +1,14 @@
+package com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers;
+
+public record FlightOfferPageRequest(
+    SortKey sort,
+    boolean descending,
+    int page,
+    Integer size
+) {
+    public enum SortKey {
+        PRICE,
+        DURATION,
+        DEPARTURE
+    }
+}
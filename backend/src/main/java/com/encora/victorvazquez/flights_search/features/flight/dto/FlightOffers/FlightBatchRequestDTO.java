@@ -0,0 +1,13 @@
+package com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record FlightBatchRequestDTO(
+    @NotEmpty(message = "At least one search is required")
+    @Size(max = 1000, message = "A batch cannot contain more than 1000 searches")
+    List<@Valid FlightOfferSearchRequestDTO> searches
+) {}
@@ -0,0 +1,14 @@
+package com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers;
+
+public record FlightBatchResultDTO(
+    int index,
+    Status status,
+    String code,
+    String message,
+    FlightOffersProviderDTO result
+) {
+    public enum Status {
+        OK,
+        ERROR
+    }
+}
@@ -0,0 +1,19 @@
+package com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record FlightCalendarCellDTO(
+    LocalDate departureDate,
+    LocalDate returnDate,
+    Status status,
+    BigDecimal lowestGrandTotal,
+    String currency,
+    int offers
+) {
+    public enum Status {
+        OK,
+        NO_OFFERS,
+        ERROR
+    }
+}
@@ -64,5 +64,23 @@ public record FlightOfferSearchRequestDTO(
 
     @Min(value = 1, message = "Maximum results must be at least 1")
     @Max(value = 250, message = "Maximum results cannot exceed 250")
-    Integer max
+    Integer max,
+
+    @Pattern(regexp = "^(price|duration|departure)$", 
+            message = "Sort must be price, duration or departure")
+    String sort,
+
+    @Pattern(regexp = "^(asc|desc)$", 
+            message = "Direction must be asc or desc")
+    String direction,
+
+    @Min(value = 0, message = "Page cannot be negative")
+    Integer page,
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 250, message = "Page size cannot exceed 250")
+    Integer size,
+
+    @Min(value = 0, message = "Max age cannot be negative")
+    Integer maxAge
 ) {} 
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers;
+
+import java.util.List;
+
+public record FlightOffersPageDTO(
+    FlightOffersProviderDTO.Meta meta,
+    List<FlightOffersProviderDTO.FlightOffer> data,
+    FlightOffersProviderDTO.Dictionaries dictionaries,
+    Page page
+) {
+    public record Page(
+        int number,
+        int size,
+        int totalElements,
+        int totalPages,
+        String sort,
+        String direction
+    ) {}
+}
@@ -13,8 +13,17 @@ public record FlightOffersProviderDTO(
 {
     public record Meta(
         Integer count,
-        Links links
-    ) {}
+        Links links,
+        Long dataAgeSeconds
+    ) {
+        public Meta(Integer count, Links links) {
+            this(count, links, null);
+        }
+
+        public Meta withDataAge(long seconds) {
+            return new Meta(count, links, seconds);
+        }
+    }
 
     public record Links(
         String self
@@ -49,11 +58,14 @@ public record FlightOffersProviderDTO(
     Price price,
     PricingOptions pricingOptions,
     List<String> validatingAirlineCodes,
-    List<TravelerPricing> travelerPricings
+    List<TravelerPricing> travelerPricings,
+    int totalMinutes
 ) {
     public record Itinerary(
         String duration,
-        List<Segment> segments
+        List<Segment> segments,
+        int durationMinutes,
+        int layoverMinutes
     ) {}
 
     public record Segment(
@@ -66,7 +78,8 @@ public record FlightOffersProviderDTO(
         String duration,
         String id,
         Integer numberOfStops,
-        Boolean blacklistedInEU
+        Boolean blacklistedInEU,
+        int durationMinutes
     ) {}
 
     public record Aircraft(
@@ -124,7 +137,8 @@ public record FlightOffersProviderDTO(
     public record Location(
         String iataCode,
         String terminal,
-        LocalDateTime at
+        LocalDateTime at,
+        long epochMinute
     ) {}
 
     public record Amenity(
@@ -0,0 +1,29 @@
+package com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * One frame of an incremental flight-offers response. Meta and dictionaries travel as
+ * their own frames so each offer can be written to the client as soon as it is decoded.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(value = FlightOffersStreamFrameDTO.Meta.class, name = "meta"),
+    @JsonSubTypes.Type(value = FlightOffersStreamFrameDTO.Offer.class, name = "offer"),
+    @JsonSubTypes.Type(value = FlightOffersStreamFrameDTO.Dictionaries.class, name = "dictionaries")
+})
+public sealed interface FlightOffersStreamFrameDTO {
+
+    record Meta(
+        FlightOffersProviderDTO.Meta meta
+    ) implements FlightOffersStreamFrameDTO {}
+
+    record Offer(
+        FlightOffersProviderDTO.FlightOffer offer
+    ) implements FlightOffersStreamFrameDTO {}
+
+    record Dictionaries(
+        FlightOffersProviderDTO.Dictionaries dictionaries
+    ) implements FlightOffersStreamFrameDTO {}
+}
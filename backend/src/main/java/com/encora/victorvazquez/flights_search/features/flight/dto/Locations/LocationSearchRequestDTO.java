@@ -24,5 +24,8 @@ public record LocationSearchRequestDTO(
     String sort,
 
     @Pattern(regexp = "^(LIGHT|FULL)$", message = "view must be either LIGHT or FULL")
-    String view
+    String view,
+
+    @Min(0)
+    Integer maxAge
 ) {} 
\ No newline at end of file
@@ -9,8 +9,17 @@ public record LocationSearchResponseDTO(
     
     public record Meta(
         int count,
-        Links links
-    ) {}
+        Links links,
+        Long dataAgeSeconds
+    ) {
+        public Meta(int count, Links links) {
+            this(count, links, null);
+        }
+
+        public Meta withDataAge(long seconds) {
+            return new Meta(count, links, seconds);
+        }
+    }
 
     public record LocationDTO(
         String id,
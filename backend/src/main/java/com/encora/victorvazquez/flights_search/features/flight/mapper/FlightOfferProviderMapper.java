@@ -3,6 +3,8 @@ package com.encora.victorvazquez.flights_search.features.flight.mapper;
 import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOffer;
 import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferProviderResponse;
 import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.FlightOfferTimings;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.IsoTimeCodec;
 import com.encora.victorvazquez.flights_search.shared.Money;
 import org.springframework.stereotype.Component;
 
@@ -38,6 +40,7 @@ public class FlightOfferProviderMapper {
     }
 
     private FlightOffersProviderDTO.FlightOffer mapFlightOfferToDTO(FlightOffer domain) {
+        List<FlightOffersProviderDTO.FlightOffer.Itinerary> itineraries = mapItinerariesToDTO(domain.getItineraries());
         return new FlightOffersProviderDTO.FlightOffer(
             domain.getId(),
             domain.getSource(),
@@ -46,20 +49,26 @@ public class FlightOfferProviderMapper {
             domain.isOneWay(),
             domain.getLastTicketingDate(),
             domain.getNumberOfBookableSeats(),
-            mapItinerariesToDTO(domain.getItineraries()),
+            itineraries,
             mapPriceToDTO(domain.getPrice()),
             mapPricingOptionsToDTO(domain.getPricingOptions()),
             domain.getValidatingAirlineCodes(),
-            mapTravelerPricingsToDTO(domain.getTravelerPricings())
+            mapTravelerPricingsToDTO(domain.getTravelerPricings()),
+            FlightOfferTimings.totalMinutes(itineraries)
         );
     }
 
     private List<FlightOffersProviderDTO.FlightOffer.Itinerary> mapItinerariesToDTO(List<FlightOffer.Itinerary> itineraries) {
         return itineraries.stream()
-            .map(domain -> new FlightOffersProviderDTO.FlightOffer.Itinerary(
-                domain.getDuration(),
-                mapSegmentsToDTO(domain.getSegments())
-            ))
+            .map(domain -> {
+                List<FlightOffersProviderDTO.FlightOffer.Segment> segments = mapSegmentsToDTO(domain.getSegments());
+                return new FlightOffersProviderDTO.FlightOffer.Itinerary(
+                    domain.getDuration(),
+                    segments,
+                    IsoTimeCodec.durationMinutesOrUnknown(domain.getDuration()),
+                    FlightOfferTimings.layoverMinutes(segments)
+                );
+            })
             .collect(Collectors.toList());
     }
 
@@ -75,7 +84,8 @@ public class FlightOfferProviderMapper {
                 domain.getDuration(),
                 domain.getId(),
                 domain.getNumberOfStops(),
-                domain.isBlacklistedInEU()
+                domain.isBlacklistedInEU(),
+                IsoTimeCodec.durationMinutesOrUnknown(domain.getDuration())
             ))
             .collect(Collectors.toList());
     }
@@ -84,7 +94,8 @@ public class FlightOfferProviderMapper {
         return new FlightOffersProviderDTO.FlightOffer.Location(
             domain.getIataCode(),
             domain.getTerminal(),
-            domain.getAt()
+            domain.getAt(),
+            domain.getAt() != null ? IsoTimeCodec.epochMinute(domain.getAt()) : IsoTimeCodec.UNKNOWN_MINUTES
         );
     }
 
@@ -1,5 +1,6 @@
 package com.encora.victorvazquez.flights_search.features.flight.mapper;
 
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferPageRequest;
 import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
 import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOfferSearchRequestDTO;
 
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Component;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 @Component
 public class FlightSearchMapper {
@@ -31,6 +33,15 @@ public class FlightSearchMapper {
         );
     }
 
+    public FlightOfferPageRequest toPageRequest(FlightOfferSearchRequestDTO dto) {
+        return new FlightOfferPageRequest(
+            dto.sort() != null ? FlightOfferPageRequest.SortKey.valueOf(dto.sort().toUpperCase(Locale.ROOT)) : null,
+            "desc".equals(dto.direction()),
+            dto.page() != null ? dto.page() : 0,
+            dto.size()
+        );
+    }
+
     private List<String> parseAirlineCodes(String codes) {
         if (codes == null || codes.trim().isEmpty()) {
             return Collections.emptyList();
@@ -34,6 +34,9 @@ public class LocationSearchByIATAMapper {
     }
 
     private Location.Links mapLinks(LocationByIATAProviderDTO.Self self) {
+        if (self == null) {
+            return null;
+        }
         return new Location.Links(
             self.href(),
             self.methods(),
@@ -42,6 +45,9 @@ public class LocationSearchByIATAMapper {
     }
 
     private Location.GeoCode mapGeoCode(LocationByIATAProviderDTO.GeoCode geoCode) {
+        if (geoCode == null) {
+            return null;
+        }
         return new Location.GeoCode(
             geoCode.latitude(),
             geoCode.longitude()
@@ -49,6 +55,9 @@ public class LocationSearchByIATAMapper {
     }
 
     private Location.Address mapAddress(LocationByIATAProviderDTO.Address address) {
+        if (address == null) {
+            return null;
+        }
         return new Location.Address(
             address.cityName(),
             address.cityCode(),
@@ -60,6 +69,9 @@ public class LocationSearchByIATAMapper {
     }
 
     private Location.Analytics mapAnalytics(LocationByIATAProviderDTO.Analytics analytics) {
+        if (analytics == null || analytics.travelers() == null) {
+            return null;
+        }
         return new Location.Analytics(
             new Location.Analytics.Travelers(
                 analytics.travelers().score()
@@ -1,13 +1,15 @@
 package com.encora.victorvazquez.flights_search.features.flight.port.out;
 
 import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
-import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferProviderResponse;
 import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
 import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 public interface FlightOfferPort {
-    Mono<FlightOfferProviderResponse> searchFlights(FlightOfferSearch request);
+    Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch request);
+    Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch request);
     Flux<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch);
 } 
\ No newline at end of file
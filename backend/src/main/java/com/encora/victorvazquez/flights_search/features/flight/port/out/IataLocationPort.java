@@ -0,0 +1,13 @@
+package com.encora.victorvazquez.flights_search.features.flight.port.out;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationByIATAProviderDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves a single IATA code. Both lookups complete empty when the code is not an
+ * airport (or city, respectively).
+ */
+public interface IataLocationPort {
+    Mono<LocationByIATAProviderDTO> findAirportByIataCode(String iataCode);
+    Mono<LocationByIATAProviderDTO> findCityByIataCode(String iataCode);
+}
@@ -0,0 +1,50 @@
+package com.encora.victorvazquez.flights_search.features.flight.service;
+
+import com.encora.victorvazquez.flights_search.config.FlightBatchProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightBatchResultDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Runs many flight searches for offline jobs. Searches go through the regular
+ * {@link FlightOfferPort} chain, so repeats within the batch or of recent interactive
+ * searches are answered from the cache or joined to the in-flight call. At most
+ * {@code flights.batch.max-concurrency} searches run at once per batch, and they queue
+ * for the provider rate limit behind interactive and autocomplete calls.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightBatchService {
+    private final FlightOfferPort flightOfferPort;
+    private final FlightBatchProperties batchProperties;
+
+    public Flux<FlightBatchResultDTO> searchBatch(List<FlightOfferSearch> searches) {
+        log.info("Running flight search batch of {} searches", searches.size());
+
+        return Flux.range(0, searches.size())
+            .flatMap(index -> search(index, searches.get(index)), Math.max(1, batchProperties.getMaxConcurrency()))
+            .contextWrite(RequestPriority.BATCH.asContext());
+    }
+
+    private Mono<FlightBatchResultDTO> search(int index, FlightOfferSearch search) {
+        return flightOfferPort.searchFlights(search)
+            .map(result -> new FlightBatchResultDTO(index, FlightBatchResultDTO.Status.OK, null, null, result))
+            .switchIfEmpty(Mono.fromSupplier(() -> new FlightBatchResultDTO(
+                index, FlightBatchResultDTO.Status.ERROR, "EMPTY_RESPONSE", "The provider returned no response", null)))
+            .onErrorResume(e -> {
+                String code = e instanceof BusinessException businessException ? businessException.getCode() : "UNEXPECTED_ERROR";
+                return Mono.just(new FlightBatchResultDTO(index, FlightBatchResultDTO.Status.ERROR, code, e.getMessage(), null));
+            });
+    }
+}
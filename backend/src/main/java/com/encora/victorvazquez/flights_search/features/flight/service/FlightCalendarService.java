@@ -0,0 +1,134 @@
+package com.encora.victorvazquez.flights_search.features.flight.service;
+
+import com.encora.victorvazquez.flights_search.config.FlightCalendarProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightCalendarCellDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.concurrency.FanOutSearch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a flexible-dates price grid: one provider search per departure/return date pair
+ * around the requested dates, run with bounded concurrency through the regular
+ * {@link FlightOfferPort} chain so already-cached cells cost nothing. Cells are emitted
+ * in completion order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightCalendarService {
+    private final FlightOfferPort flightOfferPort;
+    private final FlightCalendarProperties calendarProperties;
+
+    /**
+     * Searches every date pair within the given number of days either side of the requested
+     * dates. Both windows are capped at {@code flights.calendar.max-window-days}.
+     */
+    public Flux<FlightCalendarCellDTO> searchCalendar(FlightOfferSearch flightSearch, int departureDays, int returnDays) {
+        if (flightSearch == null || flightSearch.originLocationCode() == null || 
+            flightSearch.destinationLocationCode() == null || flightSearch.departureDate() == null) {
+            return Flux.empty();
+        }
+
+        List<FlightOfferSearch> cells = cells(flightSearch,
+            Math.min(departureDays, calendarProperties.getMaxWindowDays()),
+            Math.min(returnDays, calendarProperties.getMaxWindowDays()));
+        log.debug("Calendar search {}-{} fans out to {} cells", flightSearch.originLocationCode(),
+            flightSearch.destinationLocationCode(), cells.size());
+
+        return Flux.fromIterable(cells)
+            .flatMap(this::searchCell, Math.max(1, calendarProperties.getMaxConcurrency()));
+    }
+
+    private List<FlightOfferSearch> cells(FlightOfferSearch search, int departureDays, int returnDays) {
+        LocalDate today = LocalDate.now();
+        List<FlightOfferSearch> cells = new ArrayList<>();
+        for (int d = -departureDays; d <= departureDays; d++) {
+            LocalDate departure = search.departureDate().plusDays(d);
+            if (departure.isBefore(today)) {
+                continue;
+            }
+            if (search.returnDate() == null) {
+                cells.add(withDates(search, departure, null));
+                continue;
+            }
+            for (int r = -returnDays; r <= returnDays; r++) {
+                LocalDate returnDate = search.returnDate().plusDays(r);
+                if (!returnDate.isBefore(departure)) {
+                    cells.add(withDates(search, departure, returnDate));
+                }
+            }
+        }
+        return cells;
+    }
+
+    private Mono<FlightCalendarCellDTO> searchCell(FlightOfferSearch cell) {
+        return flightOfferPort.searchFlights(cell)
+            .contextWrite(FanOutSearch.asContext())
+            .map(response -> toCell(cell, response))
+            .defaultIfEmpty(new FlightCalendarCellDTO(
+                cell.departureDate(), cell.returnDate(), FlightCalendarCellDTO.Status.NO_OFFERS, null, null, 0))
+            .onErrorResume(e -> {
+                log.warn("Calendar cell {} / {} failed: {}", cell.departureDate(), cell.returnDate(), e.getMessage());
+                return Mono.just(new FlightCalendarCellDTO(
+                    cell.departureDate(), cell.returnDate(), FlightCalendarCellDTO.Status.ERROR, null, null, 0));
+            });
+    }
+
+    private static FlightCalendarCellDTO toCell(FlightOfferSearch cell, FlightOffersProviderDTO response) {
+        BigDecimal lowest = null;
+        String currency = null;
+        int offers = response.data() != null ? response.data().size() : 0;
+        if (response.data() != null) {
+            for (FlightOffersProviderDTO.FlightOffer offer : response.data()) {
+                if (offer.price() == null) {
+                    continue;
+                }
+                BigDecimal amount = offer.price().grandTotal() != null ? offer.price().grandTotal() : offer.price().total();
+                if (amount != null && (lowest == null || amount.compareTo(lowest) < 0)) {
+                    lowest = amount;
+                    currency = offer.price().currency();
+                }
+            }
+        }
+
+        return new FlightCalendarCellDTO(
+            cell.departureDate(),
+            cell.returnDate(),
+            lowest != null ? FlightCalendarCellDTO.Status.OK : FlightCalendarCellDTO.Status.NO_OFFERS,
+            lowest,
+            currency,
+            offers
+        );
+    }
+
+    private static FlightOfferSearch withDates(FlightOfferSearch search, LocalDate departure, LocalDate returnDate) {
+        return new FlightOfferSearch(
+            search.originLocationCode(),
+            search.destinationLocationCode(),
+            departure,
+            returnDate,
+            search.adults(),
+            search.children(),
+            search.infants(),
+            search.travelClass(),
+            search.includedAirlineCodes(),
+            search.excludedAirlineCodes(),
+            search.nonStop(),
+            search.currencyCode(),
+            search.maxPrice(),
+            search.max()
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package com.encora.victorvazquez.flights_search.features.flight.service;
+
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferPageRequest;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersPageDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO.FlightOffer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts and slices a full flight search result into the page the client asked for.
+ * <p>
+ * Each offer's sort key is read once into a {@code long[]} before sorting, from the
+ * numeric fields the decoder precomputes, so the comparator only compares primitives.
+ * Offers missing the key always sort last, and ties keep the provider's order.
+ */
+final class FlightOffersPaginator {
+    private static final long MISSING = Long.MAX_VALUE;
+
+    private FlightOffersPaginator() {
+    }
+
+    static FlightOffersPageDTO page(FlightOffersProviderDTO response, FlightOfferPageRequest request) {
+        List<FlightOffer> offers = response.data() != null ? response.data() : List.of();
+        List<FlightOffer> sorted = request.sort() != null ? sort(offers, request) : offers;
+
+        int total = sorted.size();
+        int size = request.size() != null ? request.size() : Math.max(total, 1);
+        int from = (int) Math.min((long) request.page() * size, total);
+        int to = Math.min(from + size, total);
+        int totalPages = Math.max(1, (total + size - 1) / size);
+
+        return new FlightOffersPageDTO(
+            response.meta(),
+            new ArrayList<>(sorted.subList(from, to)),
+            response.dictionaries(),
+            new FlightOffersPageDTO.Page(
+                request.page(),
+                size,
+                total,
+                totalPages,
+                request.sort() != null ? request.sort().name().toLowerCase(Locale.ROOT) : null,
+                request.sort() != null ? (request.descending() ? "desc" : "asc") : null
+            )
+        );
+    }
+
+    private static List<FlightOffer> sort(List<FlightOffer> offers, FlightOfferPageRequest request) {
+        long[] keys = new long[offers.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(offers.get(i), request.sort());
+        }
+
+        Comparator<Integer> byKey = (a, b) -> {
+            long left = keys[a];
+            long right = keys[b];
+            if (left == right) {
+                return 0;
+            }
+            if (left == MISSING || right == MISSING) {
+                return left == MISSING ? 1 : -1;
+            }
+            return request.descending() ? Long.compare(right, left) : Long.compare(left, right);
+        };
+
+        return IntStream.range(0, keys.length)
+            .boxed()
+            .sorted(byKey.thenComparingInt(Integer::intValue))
+            .map(offers::get)
+            .toList();
+    }
+
+    private static long key(FlightOffer offer, FlightOfferPageRequest.SortKey sort) {
+        return switch (sort) {
+            case PRICE -> priceInCents(offer);
+            case DURATION -> totalDurationMinutes(offer);
+            case DEPARTURE -> departureEpochMinute(offer);
+        };
+    }
+
+    private static long priceInCents(FlightOffer offer) {
+        if (offer.price() == null) {
+            return MISSING;
+        }
+        BigDecimal amount = offer.price().grandTotal() != null ? offer.price().grandTotal() : offer.price().total();
+        return amount != null ? amount.movePointRight(2).longValue() : MISSING;
+    }
+
+    private static long totalDurationMinutes(FlightOffer offer) {
+        return offer.totalMinutes() >= 0 ? offer.totalMinutes() : MISSING;
+    }
+
+    private static long departureEpochMinute(FlightOffer offer) {
+        if (offer.itineraries() == null || offer.itineraries().isEmpty()) {
+            return MISSING;
+        }
+        List<FlightOffer.Segment> segments = offer.itineraries().get(0).segments();
+        if (segments == null || segments.isEmpty() || segments.get(0).departure() == null
+            || segments.get(0).departure().at() == null) {
+            return MISSING;
+        }
+        return segments.get(0).departure().epochMinute();
+    }
+}
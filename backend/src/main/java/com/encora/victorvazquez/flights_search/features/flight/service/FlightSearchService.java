@@ -1,10 +1,13 @@
 package com.encora.victorvazquez.flights_search.features.flight.service;
 
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferPageRequest;
 import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.Location;
 import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersPageDTO;
 import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
 import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
-import com.encora.victorvazquez.flights_search.features.flight.mapper.FlightOfferProviderMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +16,12 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.features.flight.mapper.Locations.LocationSearchByIATAMapper;
 import com.encora.victorvazquez.flights_search.infrastructure.AmadeusClient;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.CacheFreshness;
+import com.encora.victorvazquez.flights_search.infrastructure.location.IataLocationLookup;
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.SearchStageMetrics;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
 
 import java.util.ArrayList;
 import java.util.Map;
@@ -24,8 +32,10 @@ import java.util.HashMap;
 @RequiredArgsConstructor
 public class FlightSearchService {
     private final FlightOfferPort flightOfferPort;
-    private final FlightOfferProviderMapper flightOfferProviderMapper;
     private final AmadeusClient amadeusClient;
+    private final IataLocationLookup iataLocationLookup;
+    private final LocationSearchByIATAMapper locationSearchByIATAMapper;
+    private final SearchStageMetrics stageMetrics;
 
     public Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch flightSearch) {
         if (flightSearch == null || flightSearch.originLocationCode() == null || 
@@ -37,8 +47,42 @@ public class FlightSearchService {
             ));
         }
 
-        return flightOfferPort.searchFlights(flightSearch)
-            .map(response -> flightOfferProviderMapper.toDTO(response));
+        return flightOfferPort.searchFlights(flightSearch);
+    }
+
+    /**
+     * @param maxAgeSeconds oldest cached result the caller accepts, or null for any
+     */
+    public Mono<FlightOffersPageDTO> searchFlights(FlightOfferSearch flightSearch, FlightOfferPageRequest pageRequest,
+                                                   Integer maxAgeSeconds) {
+        return searchFlights(flightSearch)
+            .map(response -> stageMetrics.time(SearchStageMetrics.Stage.MAPPING, "/api/flights",
+                () -> FlightOffersPaginator.page(response, pageRequest)))
+            .contextWrite(CacheFreshness.maxAge(maxAgeSeconds));
+    }
+
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch flightSearch, Integer maxAgeSeconds) {
+        return streamFlights(flightSearch)
+            .contextWrite(CacheFreshness.maxAge(maxAgeSeconds));
+    }
+
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch flightSearch) {
+        if (flightSearch == null || flightSearch.originLocationCode() == null || 
+            flightSearch.destinationLocationCode() == null || flightSearch.departureDate() == null) {
+            return Flux.just(
+                new FlightOffersStreamFrameDTO.Meta(
+                    new FlightOffersProviderDTO.Meta(0, new FlightOffersProviderDTO.Links(""))),
+                new FlightOffersStreamFrameDTO.Dictionaries(
+                    new FlightOffersProviderDTO.Dictionaries(Map.of(), Map.of(), Map.of(), Map.of()))
+            );
+        }
+
+        return flightOfferPort.streamFlights(flightSearch);
+    }
+
+    public Mono<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch, Integer maxAgeSeconds) {
+        return searchLocations(locationSearch)
+            .contextWrite(CacheFreshness.maxAge(maxAgeSeconds));
     }
 
     public Mono<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch) {
@@ -49,6 +93,13 @@ public class FlightSearchService {
             ));
         }
 
-        return flightOfferPort.searchLocations(locationSearch).next();
+        return flightOfferPort.searchLocations(locationSearch).next()
+            .contextWrite(RequestPriority.AUTOCOMPLETE.asContext());
+    }
+
+    public Mono<Location> findLocationByIataCode(String iataCode) {
+        return iataLocationLookup.lookup(iataCode)
+            .map(location -> stageMetrics.time(SearchStageMetrics.Stage.MAPPING, "/api/locations/{iataCode}",
+                () -> locationSearchByIATAMapper.toDTO(location)));
     }
-} 
\ No newline at end of file
+}
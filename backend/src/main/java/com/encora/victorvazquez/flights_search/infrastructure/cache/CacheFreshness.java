@@ -0,0 +1,26 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+
+/**
+ * The oldest cached result a caller will accept, carried in the Reactor context from the
+ * service that handles the request down to the caching ports. Without one, any cached
+ * result within its TTLs is served.
+ */
+public final class CacheFreshness {
+    private static final String MAX_AGE_KEY = CacheFreshness.class.getName() + ".maxAge";
+
+    private CacheFreshness() {
+    }
+
+    public static Context maxAge(Integer seconds) {
+        return seconds == null ? Context.empty() : Context.of(MAX_AGE_KEY, Duration.ofSeconds(seconds));
+    }
+
+    static Duration maxAge(ContextView context) {
+        return context.getOrDefault(MAX_AGE_KEY, null);
+    }
+}
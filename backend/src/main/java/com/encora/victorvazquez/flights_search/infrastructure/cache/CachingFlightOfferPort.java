@@ -0,0 +1,193 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.config.FlightSearchCacheProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotEntry;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotParticipant;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.FlightOffersFrames;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches flight and location search results in front of another {@link FlightOfferPort}.
+ * <p>
+ * Flight entries are keyed by {@link FlightSearchKey}, bounded by their estimated size in
+ * bytes and evicted by Caffeine's W-TinyLFU policy, so a burst of one-off searches does not
+ * flush the popular routes. Reads are lock-free and writes go through Caffeine's striped
+ * buffers, so the hot path never serialises on a single lock.
+ * <p>
+ * Both caches serve stale-while-revalidate (see {@link SoftTtlCache}); every response's
+ * meta carries the age of its data in seconds, 0 when it was just fetched. Their contents
+ * are part of the cache snapshot, so they survive a restart.
+ */
+public class CachingFlightOfferPort implements FlightOfferPort, CacheSnapshotParticipant {
+    private static final Logger logger = LoggerFactory.getLogger(CachingFlightOfferPort.class);
+    private static final String CACHE_NAME = "flightSearch";
+    private static final String LOCATION_CACHE_NAME = "locationSearch";
+    private static final TypeReference<List<CacheSnapshotEntry<FlightSearchKey, FlightOffersProviderDTO>>> FLIGHT_ENTRIES =
+        new TypeReference<>() {};
+    private static final TypeReference<List<CacheSnapshotEntry<LocationSearch, LocationSearchResponseDTO>>> LOCATION_ENTRIES =
+        new TypeReference<>() {};
+
+    private final FlightOfferPort delegate;
+    private final SoftTtlCache<FlightSearchKey, FlightOffersProviderDTO> cache;
+    private final SoftTtlCache<LocationSearch, LocationSearchResponseDTO> locationCache;
+    private final Timer loadSuccessTimer;
+    private final Timer loadFailureTimer;
+
+    public CachingFlightOfferPort(FlightOfferPort delegate, FlightSearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = new SoftTtlCache<>(CACHE_NAME, properties.getMaximumSize().toBytes(),
+            FlightOffersSizeEstimator::estimate, properties.getSoftTtl(), properties.getTtl(), meterRegistry);
+        this.locationCache = new SoftTtlCache<>(LOCATION_CACHE_NAME, properties.getLocationMaximumEntries(),
+            response -> 1, properties.getLocationSoftTtl(), properties.getLocationTtl(), meterRegistry);
+        this.loadSuccessTimer = loadTimer(meterRegistry, "success");
+        this.loadFailureTimer = loadTimer(meterRegistry, "failure");
+
+        logger.info("Flight search cache enabled - soft TTL: {}, TTL: {}, maximum size: {}",
+            properties.getSoftTtl(), properties.getTtl(), properties.getMaximumSize());
+        logger.info("Location search cache enabled - soft TTL: {}, TTL: {}, maximum entries: {}",
+            properties.getLocationSoftTtl(), properties.getLocationTtl(), properties.getLocationMaximumEntries());
+    }
+
+    private static Timer loadTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("flights.cache.load")
+            .description("Time spent loading flight search results on a cache miss")
+            .tag("cache", CACHE_NAME)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch request) {
+        return Mono.deferContextual(context -> {
+            FlightSearchKey key = FlightSearchKey.of(request);
+            SoftTtlCache.Entry<FlightOffersProviderDTO> cached =
+                cache.get(key, CacheFreshness.maxAge(context), () -> delegate.searchFlights(request));
+            if (cached != null) {
+                return Mono.just(withDataAge(cached.value(), cached.ageSeconds()));
+            }
+
+            long start = System.nanoTime();
+            return delegate.searchFlights(request)
+                .doOnSuccess(response -> {
+                    loadSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (response != null) {
+                        cache.put(key, response);
+                    }
+                })
+                .doOnError(e -> loadFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .map(response -> withDataAge(response, 0));
+        });
+    }
+
+    @Override
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch request) {
+        return Flux.deferContextual(context -> {
+            FlightSearchKey key = FlightSearchKey.of(request);
+            SoftTtlCache.Entry<FlightOffersProviderDTO> cached =
+                cache.get(key, CacheFreshness.maxAge(context), () -> delegate.searchFlights(request));
+            if (cached != null) {
+                return Flux.fromIterable(FlightOffersFrames.split(withDataAge(cached.value(), cached.ageSeconds())));
+            }
+
+            long start = System.nanoTime();
+            List<FlightOffersStreamFrameDTO> frames = new ArrayList<>();
+            return delegate.streamFlights(request)
+                .doOnNext(frames::add)
+                .doOnComplete(() -> {
+                    loadSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    cache.put(key, FlightOffersFrames.assemble(frames));
+                })
+                .doOnError(e -> loadFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .map(frame -> frame instanceof FlightOffersStreamFrameDTO.Meta metaFrame && metaFrame.meta() != null
+                    ? new FlightOffersStreamFrameDTO.Meta(metaFrame.meta().withDataAge(0))
+                    : frame);
+        });
+    }
+
+    @Override
+    public Flux<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch) {
+        return Flux.deferContextual(context -> {
+            SoftTtlCache.Entry<LocationSearchResponseDTO> cached = locationCache.get(locationSearch,
+                CacheFreshness.maxAge(context), () -> delegate.searchLocations(locationSearch).next());
+            if (cached != null) {
+                return Flux.just(withDataAge(cached.value(), cached.ageSeconds()));
+            }
+
+            return delegate.searchLocations(locationSearch)
+                .doOnNext(response -> locationCache.put(locationSearch, response))
+                .map(response -> withDataAge(response, 0));
+        });
+    }
+
+    /**
+     * Age of the cached result for this search in milliseconds, or -1 when none is cached.
+     */
+    public long cachedAgeMillis(FlightOfferSearch request) {
+        return cache.ageMillis(FlightSearchKey.of(request));
+    }
+
+    /**
+     * Fetches the search again and replaces the cached result.
+     */
+    public Mono<FlightOffersProviderDTO> refresh(FlightOfferSearch request) {
+        return cache.reload(FlightSearchKey.of(request), () -> delegate.searchFlights(request));
+    }
+
+    @Override
+    public String snapshotSection() {
+        return "searchCaches";
+    }
+
+    @Override
+    public JsonNode exportSnapshot(ObjectMapper objectMapper) {
+        ObjectNode section = objectMapper.createObjectNode();
+        section.set(CACHE_NAME, objectMapper.valueToTree(cache.snapshot()));
+        section.set(LOCATION_CACHE_NAME, objectMapper.valueToTree(locationCache.snapshot()));
+        return section;
+    }
+
+    @Override
+    public int restoreSnapshot(JsonNode section, ObjectMapper objectMapper) {
+        int restored = 0;
+        if (section.hasNonNull(CACHE_NAME)) {
+            restored += cache.restore(objectMapper.convertValue(section.get(CACHE_NAME), FLIGHT_ENTRIES));
+        }
+        if (section.hasNonNull(LOCATION_CACHE_NAME)) {
+            restored += locationCache.restore(objectMapper.convertValue(section.get(LOCATION_CACHE_NAME), LOCATION_ENTRIES));
+        }
+        return restored;
+    }
+
+    private static FlightOffersProviderDTO withDataAge(FlightOffersProviderDTO response, long seconds) {
+        if (response.meta() == null) {
+            return response;
+        }
+        return new FlightOffersProviderDTO(response.meta().withDataAge(seconds), response.data(), response.dictionaries());
+    }
+
+    private static LocationSearchResponseDTO withDataAge(LocationSearchResponseDTO response, long seconds) {
+        if (response.meta() == null) {
+            return response;
+        }
+        return new LocationSearchResponseDTO(response.meta().withDataAge(seconds), response.data());
+    }
+}
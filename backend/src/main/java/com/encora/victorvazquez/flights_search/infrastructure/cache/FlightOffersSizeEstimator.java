@@ -0,0 +1,120 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rough retained-heap estimate of a flight-offers response, used as the cache weight.
+ * It walks the object graph once and charges a fixed cost per record plus the length
+ * of every string; it does not need to be exact, only proportional to the real size.
+ */
+public final class FlightOffersSizeEstimator {
+    private static final int RECORD_BYTES = 32;
+    private static final int LIST_BYTES = 40;
+    private static final int REFERENCE_BYTES = 8;
+    private static final int STRING_BYTES = 40;
+    private static final int DECIMAL_BYTES = 64;
+    private static final int DATE_TIME_BYTES = 48;
+    private static final int MAP_ENTRY_BYTES = 48;
+
+    private FlightOffersSizeEstimator() {
+    }
+
+    public static int estimate(FlightOffersProviderDTO response) {
+        long bytes = RECORD_BYTES * 3L;
+        for (FlightOffersProviderDTO.FlightOffer offer : response.data()) {
+            bytes += offer(offer);
+        }
+        bytes += dictionaries(response.dictionaries());
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long offer(FlightOffersProviderDTO.FlightOffer offer) {
+        long bytes = RECORD_BYTES + string(offer.id()) + string(offer.source()) + string(offer.lastTicketingDate());
+        bytes += list(offer.itineraries());
+        for (FlightOffersProviderDTO.FlightOffer.Itinerary itinerary : offer.itineraries()) {
+            bytes += RECORD_BYTES + string(itinerary.duration()) + list(itinerary.segments());
+            for (FlightOffersProviderDTO.FlightOffer.Segment segment : itinerary.segments()) {
+                bytes += segment(segment);
+            }
+        }
+        bytes += price(offer.price());
+        bytes += RECORD_BYTES + strings(offer.pricingOptions().fareType());
+        bytes += strings(offer.validatingAirlineCodes());
+        bytes += list(offer.travelerPricings());
+        for (FlightOffersProviderDTO.FlightOffer.TravelerPricing pricing : offer.travelerPricings()) {
+            bytes += RECORD_BYTES + string(pricing.travelerId()) + string(pricing.fareOption())
+                + string(pricing.travelerType()) + price(pricing.price());
+            bytes += list(pricing.fareDetailsBySegment());
+            for (FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment details : pricing.fareDetailsBySegment()) {
+                bytes += fareDetails(details);
+            }
+        }
+        return bytes;
+    }
+
+    private static long segment(FlightOffersProviderDTO.FlightOffer.Segment segment) {
+        return RECORD_BYTES * 5L
+            + string(segment.departure().iataCode()) + string(segment.departure().terminal()) + DATE_TIME_BYTES
+            + string(segment.arrival().iataCode()) + string(segment.arrival().terminal()) + DATE_TIME_BYTES
+            + string(segment.carrierCode()) + string(segment.number())
+            + string(segment.duration()) + string(segment.id())
+            + STRING_BYTES * 2L;
+    }
+
+    private static long price(FlightOffersProviderDTO.FlightOffer.Price price) {
+        long bytes = RECORD_BYTES + string(price.currency()) + DECIMAL_BYTES * 3L + list(price.fees());
+        bytes += (long) price.fees().size() * (RECORD_BYTES + DECIMAL_BYTES + STRING_BYTES);
+        return bytes;
+    }
+
+    private static long fareDetails(FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment details) {
+        long bytes = RECORD_BYTES * 3L
+            + string(details.segmentId()) + string(details.cabin()) + string(details.fareBasis())
+            + string(details.classType()) + string(details.brandedFare()) + string(details.brandedFareLabel());
+        bytes += list(details.amenities());
+        for (FlightOffersProviderDTO.FlightOffer.Amenity amenity : details.amenities()) {
+            bytes += RECORD_BYTES * 2L + string(amenity.description()) + string(amenity.amenityType())
+                + string(amenity.amenityProvider().name());
+        }
+        return bytes;
+    }
+
+    private static long dictionaries(FlightOffersProviderDTO.Dictionaries dictionaries) {
+        if (dictionaries == null) {
+            return 0;
+        }
+        long bytes = RECORD_BYTES;
+        bytes += (long) dictionaries.locations().size() * (MAP_ENTRY_BYTES + RECORD_BYTES + STRING_BYTES * 3L);
+        bytes += stringMap(dictionaries.aircraft());
+        bytes += stringMap(dictionaries.currencies());
+        bytes += stringMap(dictionaries.carriers());
+        return bytes;
+    }
+
+    private static long stringMap(Map<String, String> map) {
+        long bytes = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            bytes += MAP_ENTRY_BYTES + string(entry.getKey()) + string(entry.getValue());
+        }
+        return bytes;
+    }
+
+    private static long strings(List<String> values) {
+        long bytes = list(values);
+        for (String value : values) {
+            bytes += string(value);
+        }
+        return bytes;
+    }
+
+    private static long list(List<?> values) {
+        return LIST_BYTES + (long) values.size() * REFERENCE_BYTES;
+    }
+
+    private static long string(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+}
@@ -0,0 +1,68 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Canonical form of a {@link FlightOfferSearch}: codes upper-cased, airline lists sorted
+ * and de-duplicated, and an absent nonStop flag treated as the provider default (false),
+ * so equivalent searches map to the same cache entry.
+ */
+public record FlightSearchKey(
+    String originLocationCode,
+    String destinationLocationCode,
+    LocalDate departureDate,
+    LocalDate returnDate,
+    int adults,
+    int children,
+    int infants,
+    String travelClass,
+    List<String> includedAirlineCodes,
+    List<String> excludedAirlineCodes,
+    boolean nonStop,
+    String currencyCode,
+    Integer maxPrice,
+    int max
+) {
+    public static FlightSearchKey of(FlightOfferSearch search) {
+        return new FlightSearchKey(
+            upper(search.originLocationCode()),
+            upper(search.destinationLocationCode()),
+            search.departureDate(),
+            search.returnDate(),
+            search.adults(),
+            search.children(),
+            search.infants(),
+            upper(search.travelClass()),
+            canonicalCodes(search.includedAirlineCodes()),
+            canonicalCodes(search.excludedAirlineCodes()),
+            Boolean.TRUE.equals(search.nonStop()),
+            upper(search.currencyCode()),
+            search.maxPrice(),
+            search.max()
+        );
+    }
+
+    private static String upper(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static List<String> canonicalCodes(List<String> codes) {
+        if (codes == null || codes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return codes.stream()
+            .map(FlightSearchKey::upper)
+            .filter(code -> code != null)
+            .distinct()
+            .sorted()
+            .toList();
+    }
+}
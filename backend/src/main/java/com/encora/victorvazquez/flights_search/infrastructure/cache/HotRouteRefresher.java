@@ -0,0 +1,242 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusRateLimitProperties;
+import com.encora.victorvazquez.flights_search.config.FlightHotRoutesProperties;
+import com.encora.victorvazquez.flights_search.config.FlightSearchCacheProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most requested flight searches warm by fetching them again shortly before
+ * their cached results go stale.
+ * <p>
+ * Request counts are kept per {@link FlightSearchKey} in a bounded Caffeine cache, whose
+ * admission policy holds on to frequent keys, and halved every {@code decayInterval} so
+ * yesterday's popular routes fade out; a search whose count has decayed below one
+ * request is dropped. A fan-out search, such as a calendar cell, counts as {@code fanOutWeight} of
+ * a search, since one calendar request makes dozens of them. Every {@code tickInterval} the
+ * {@code hotKeys} most requested searches with at least {@code minHits} requests are
+ * checked, hottest first, and any without a cached result, or within {@code refreshAhead}
+ * of the soft TTL, is fetched again at batch priority. Refreshes are capped at
+ * {@code budgetShare} of the Amadeus rate limit. Seed routes from configuration start
+ * with {@code seedWeight} requests, so they are warmed straight after startup.
+ */
+@Component
+public class HotRouteRefresher implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(HotRouteRefresher.class);
+    /**
+     * Counts are kept in hundredths of a request, so fractional weights survive.
+     */
+    private static final long HIT = 100;
+
+    private final FlightHotRoutesProperties properties;
+    private final Cache<FlightSearchKey, HotRoute> tracked;
+    private final Set<FlightSearchKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final long refreshAfterMillis;
+    private final long minHits;
+    private final long fanOutHits;
+    private final double refreshesPerTick;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+    private final Counter refreshesOverBudget;
+
+    private volatile CachingFlightOfferPort cachingPort;
+    private Disposable scheduledTick;
+    private double allowance;
+    private long lastDecayMillis;
+
+    public HotRouteRefresher(FlightHotRoutesProperties properties, FlightSearchCacheProperties cacheProperties,
+                             AmadeusRateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tracked = Caffeine.newBuilder()
+            .maximumSize(properties.getTrackedKeys())
+            .build();
+        this.refreshAfterMillis = Math.max(0,
+            cacheProperties.getSoftTtl().minus(properties.getRefreshAhead()).toMillis());
+        this.minHits = Math.max(1, properties.getMinHits()) * HIT;
+        this.fanOutHits = Math.round(Math.max(0, properties.getFanOutWeight()) * HIT);
+        this.refreshesPerTick = Math.max(0, properties.getBudgetShare()) * rateLimitProperties.getPermitsPerSecond()
+            * properties.getTickInterval().toMillis() / 1000.0;
+
+        Gauge.builder("flights.hotroutes.tracked", tracked, Cache::estimatedSize)
+            .description("Flight searches whose request counts are being tracked")
+            .register(meterRegistry);
+        this.refreshSuccesses = refreshCounter(meterRegistry, "success");
+        this.refreshFailures = refreshCounter(meterRegistry, "failure");
+        this.refreshesOverBudget = refreshCounter(meterRegistry, "over_budget");
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("flights.hotroutes.refreshes")
+            .description("Ahead-of-expiry refreshes of popular flight searches")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sets the cache whose entries are kept warm. Without one, requests are still counted
+     * but nothing is refreshed.
+     */
+    public void attach(CachingFlightOfferPort cachingPort) {
+        this.cachingPort = cachingPort;
+    }
+
+    public void recordRequest(FlightOfferSearch search) {
+        record(search, HIT);
+    }
+
+    public void recordFanOutRequest(FlightOfferSearch search) {
+        record(search, fanOutHits);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        for (FlightHotRoutesProperties.Seed seed : properties.getSeeds()) {
+            if (seed.getOrigin() == null || seed.getDestination() == null) {
+                continue;
+            }
+            record(toSearch(seed, today), properties.getSeedWeight() * HIT);
+        }
+        logger.info("Tracking hot routes, seeded with {} searches; refreshing up to {} per {}",
+            properties.getSeeds().size(), refreshesPerTick, properties.getTickInterval());
+
+        lastDecayMillis = System.currentTimeMillis();
+        long interval = properties.getTickInterval().toMillis();
+        if (interval > 0) {
+            scheduledTick = Schedulers.boundedElastic()
+                .schedulePeriodically(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledTick != null) {
+            scheduledTick.dispose();
+        }
+    }
+
+    private void record(FlightOfferSearch search, long hits) {
+        if (!properties.isEnabled() || search.departureDate() == null || hits <= 0) {
+            return;
+        }
+        tracked.get(FlightSearchKey.of(search), key -> new HotRoute(search)).hits.addAndGet(hits);
+    }
+
+    void tick() {
+        try {
+            decayIfDue();
+            CachingFlightOfferPort port = cachingPort;
+            if (port == null) {
+                return;
+            }
+
+            LocalDate today = LocalDate.now();
+            tracked.asMap().entrySet().removeIf(entry -> entry.getValue().search.departureDate().isBefore(today));
+            List<HotRoute> hottest = tracked.asMap().values().stream()
+                .filter(route -> route.hits() >= minHits)
+                .sorted(Comparator.comparingLong(HotRoute::hits).reversed())
+                .limit(properties.getHotKeys())
+                .toList();
+
+            allowance = Math.min(allowance + refreshesPerTick, Math.max(1, refreshesPerTick));
+            for (HotRoute route : hottest) {
+                long age = port.cachedAgeMillis(route.search);
+                if (age >= 0 && age < refreshAfterMillis) {
+                    continue;
+                }
+                if (allowance < 1) {
+                    refreshesOverBudget.increment();
+                    continue;
+                }
+                refresh(port, route);
+            }
+        } catch (Exception e) {
+            logger.warn("Hot route refresh tick failed: {}", e.getMessage());
+        }
+    }
+
+    private void refresh(CachingFlightOfferPort port, HotRoute route) {
+        FlightSearchKey key = FlightSearchKey.of(route.search);
+        if (!refreshing.add(key)) {
+            return;
+        }
+        allowance -= 1;
+        port.refresh(route.search)
+            .contextWrite(RequestPriority.BATCH.asContext())
+            .doFinally(signal -> refreshing.remove(key))
+            .subscribe(
+                response -> refreshSuccesses.increment(),
+                e -> {
+                    refreshFailures.increment();
+                    logger.debug("Hot route refresh of {} failed: {}", key, e.getMessage());
+                });
+    }
+
+    private void decayIfDue() {
+        long now = System.currentTimeMillis();
+        long interval = properties.getDecayInterval().toMillis();
+        if (interval <= 0 || now - lastDecayMillis < interval) {
+            return;
+        }
+        lastDecayMillis = now;
+        tracked.asMap().values().removeIf(route -> route.hits.updateAndGet(hits -> hits / 2) < HIT);
+    }
+
+    private static FlightOfferSearch toSearch(FlightHotRoutesProperties.Seed seed, LocalDate today) {
+        return new FlightOfferSearch(
+            seed.getOrigin().toUpperCase(Locale.ROOT),
+            seed.getDestination().toUpperCase(Locale.ROOT),
+            today.plusDays(seed.getDepartureInDays()),
+            seed.getReturnInDays() != null ? today.plusDays(seed.getReturnInDays()) : null,
+            seed.getAdults(),
+            0,
+            0,
+            null,
+            List.of(),
+            List.of(),
+            null,
+            seed.getCurrencyCode(),
+            null,
+            seed.getMax()
+        );
+    }
+
+    private static final class HotRoute {
+        private final FlightOfferSearch search;
+        private final AtomicLong hits = new AtomicLong();
+
+        private HotRoute(FlightOfferSearch search) {
+            this.search = search;
+        }
+
+        private long hits() {
+            return hits.get();
+        }
+    }
+}
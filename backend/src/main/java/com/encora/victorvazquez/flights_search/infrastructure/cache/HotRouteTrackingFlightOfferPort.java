@@ -0,0 +1,61 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.concurrency.FanOutSearch;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Reports every interactive flight search to the {@link HotRouteRefresher} before passing
+ * it on. Batch-priority searches are not counted, so neither bulk jobs nor the refresher's
+ * own calls make a route look popular, and searches marked as a {@link FanOutSearch}, such
+ * as calendar cells, count for less than one a user asked for.
+ */
+public class HotRouteTrackingFlightOfferPort implements FlightOfferPort {
+    private final FlightOfferPort delegate;
+    private final HotRouteRefresher refresher;
+
+    public HotRouteTrackingFlightOfferPort(FlightOfferPort delegate, HotRouteRefresher refresher) {
+        this.delegate = delegate;
+        this.refresher = refresher;
+    }
+
+    @Override
+    public Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch request) {
+        return Mono.deferContextual(context -> {
+            track(context, request);
+            return delegate.searchFlights(request);
+        });
+    }
+
+    @Override
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch request) {
+        return Flux.deferContextual(context -> {
+            track(context, request);
+            return delegate.streamFlights(request);
+        });
+    }
+
+    @Override
+    public Flux<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch) {
+        return delegate.searchLocations(locationSearch);
+    }
+
+    private void track(ContextView context, FlightOfferSearch request) {
+        if (RequestPriority.from(context) == RequestPriority.BATCH) {
+            return;
+        }
+        if (FanOutSearch.in(context)) {
+            refresher.recordFanOutRequest(request);
+        } else {
+            refresher.recordRequest(request);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotEntry;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * A Caffeine cache with a soft and a hard TTL per entry (stale-while-revalidate).
+ * <p>
+ * Younger than the soft TTL, an entry is served as is. Between the soft and the hard TTL it
+ * is still served straight away, and one background refresh per key replaces it; the
+ * refresh runs at batch priority so it never queues ahead of user traffic. Past the hard
+ * TTL Caffeine drops it. A caller that passes a {@code maxAge} gets a miss for anything
+ * older, which makes it wait for fresh data.
+ * <p>
+ * Entries remember their wall-clock fetch time, and both TTLs count from it.
+ */
+final class SoftTtlCache<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(SoftTtlCache.class);
+
+    private final String name;
+    private final Cache<K, Entry<V>> cache;
+    private final long softTtlMillis;
+    private final long hardTtlMillis;
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter tooOld;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+
+    SoftTtlCache(String name, long maximumWeight, ToIntFunction<V> weigher, Duration softTtl, Duration hardTtl,
+                 MeterRegistry meterRegistry) {
+        this.name = name;
+        this.softTtlMillis = Math.min(softTtl.toMillis(), hardTtl.toMillis());
+        this.hardTtlMillis = hardTtl.toMillis();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((K key, Entry<V> entry) -> weigher.applyAsInt(entry.value()))
+            .expireAfter(new AgeExpiry<K, V>(hardTtlMillis))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        this.freshHits = lookupCounter(meterRegistry, "fresh");
+        this.staleHits = lookupCounter(meterRegistry, "stale");
+        this.tooOld = lookupCounter(meterRegistry, "older_than_max_age");
+        this.refreshSuccesses = refreshCounter(meterRegistry, "success");
+        this.refreshFailures = refreshCounter(meterRegistry, "failure");
+    }
+
+    private Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("flights.cache.served")
+            .description("Cache hits by freshness")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private Counter refreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("flights.cache.background.refreshes")
+            .description("Background refreshes of stale cache entries")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the entry when it may be served, starting a background refresh if it is
+     * stale, or null when the caller has to load the value itself.
+     */
+    Entry<V> get(K key, Duration maxAge, Supplier<Mono<V>> refresher) {
+        Entry<V> entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+
+        long ageMillis = entry.ageMillis(System.currentTimeMillis());
+        if (maxAge != null && ageMillis > maxAge.toMillis()) {
+            tooOld.increment();
+            return null;
+        }
+        if (ageMillis >= softTtlMillis) {
+            staleHits.increment();
+            refreshInBackground(key, refresher);
+        } else {
+            freshHits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Age of the cached value in milliseconds, or -1 when there is none. Does not count as
+     * a cache access.
+     */
+    long ageMillis(K key) {
+        Entry<V> entry = cache.policy().getIfPresentQuietly(key);
+        return entry == null ? -1 : entry.ageMillis(System.currentTimeMillis());
+    }
+
+    /**
+     * Loads the value and replaces the cached one, whatever its age.
+     */
+    Mono<V> reload(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(loader).doOnNext(value -> put(key, value));
+    }
+
+    Entry<V> put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis());
+        cache.put(key, entry);
+        return entry;
+    }
+
+    List<CacheSnapshotEntry<K, V>> snapshot() {
+        List<CacheSnapshotEntry<K, V>> entries = new ArrayList<>((int) Math.min(cache.estimatedSize(), Integer.MAX_VALUE));
+        cache.asMap().forEach((key, entry) -> entries.add(new CacheSnapshotEntry<>(key, entry.value(), entry.fetchedAtMillis())));
+        return entries;
+    }
+
+    /**
+     * Puts saved entries back with their original fetch time, so they keep ageing from
+     * where they were; entries already past the hard TTL are skipped.
+     */
+    int restore(List<CacheSnapshotEntry<K, V>> entries) {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        for (CacheSnapshotEntry<K, V> saved : entries) {
+            Entry<V> entry = new Entry<>(saved.value(), saved.fetchedAtMillis());
+            if (saved.key() == null || saved.value() == null || entry.ageMillis(now) >= hardTtlMillis) {
+                continue;
+            }
+            cache.put(saved.key(), entry);
+            restored++;
+        }
+        return restored;
+    }
+
+    private void refreshInBackground(K key, Supplier<Mono<V>> refresher) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        Mono.defer(refresher)
+            .contextWrite(RequestPriority.BATCH.asContext())
+            .doFinally(signal -> refreshing.remove(key))
+            .subscribe(
+                value -> {
+                    put(key, value);
+                    refreshSuccesses.increment();
+                },
+                e -> {
+                    refreshFailures.increment();
+                    logger.debug("Background refresh of {} entry {} failed: {}", name, key, e.getMessage());
+                });
+    }
+
+    record Entry<V>(V value, long fetchedAtMillis) {
+        long ageMillis(long nowMillis) {
+            return Math.max(0, nowMillis - fetchedAtMillis);
+        }
+
+        long ageSeconds() {
+            return TimeUnit.MILLISECONDS.toSeconds(ageMillis(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Expires each entry a hard TTL after it was fetched, not after it was written here.
+     */
+    private record AgeExpiry<K, V>(long hardTtlMillis) implements Expiry<K, Entry<V>> {
+        @Override
+        public long expireAfterCreate(K key, Entry<V> entry, long currentTime) {
+            long remaining = hardTtlMillis - entry.ageMillis(System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot;
+
+/**
+ * One cached value as saved in a snapshot, with the wall-clock time it was fetched so its
+ * remaining TTL can be worked out on restore.
+ */
+public record CacheSnapshotEntry<K, V>(
+    K key,
+    V value,
+    long fetchedAtMillis
+) {}
@@ -0,0 +1,154 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk layout of the cache snapshot: a fixed header followed by a gzip-compressed
+ * payload.
+ * <pre>
+ *   int   magic ("FSCS")
+ *   int   format version
+ *   long  written at, epoch millis
+ *   int   payload length in bytes
+ *   int   CRC32C of the payload
+ *   byte[] payload
+ * </pre>
+ * Files are written next to the target and moved into place atomically, so a crash while
+ * saving leaves the previous snapshot intact. Reading memory-maps the file and verifies
+ * the checksum before anything is decompressed.
+ */
+final class CacheSnapshotFile {
+    private static final int MAGIC = 0x46534353;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+
+    private CacheSnapshotFile() {
+    }
+
+    interface PayloadWriter {
+        void write(OutputStream output) throws IOException;
+    }
+
+    interface PayloadReader<T> {
+        T read(InputStream input) throws IOException;
+    }
+
+    static long write(Path target, PayloadWriter writer) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(64 * 1024);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            writer.write(gzip);
+        }
+        byte[] payload = compressed.toByteArray();
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(System.currentTimeMillis())
+            .putInt(payload.length)
+            .putInt((int) crc.getValue())
+            .flip();
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, header);
+                writeFully(channel, ByteBuffer.wrap(payload));
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return HEADER_BYTES + (long) payload.length;
+    }
+
+    static <T> T read(Path source, long maximumBytes, PayloadReader<T> reader) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Snapshot is truncated (" + size + " bytes)");
+            }
+            if (size > maximumBytes) {
+                throw new IOException("Snapshot is " + size + " bytes, over the " + maximumBytes + " byte limit");
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt() != MAGIC) {
+                throw new IOException("Not a cache snapshot");
+            }
+            int version = mapped.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            mapped.getLong();
+            int length = mapped.getInt();
+            int expectedCrc = mapped.getInt();
+            if (length < 0 || length != size - HEADER_BYTES) {
+                throw new IOException("Snapshot payload length " + length + " does not match the file size");
+            }
+
+            ByteBuffer payload = mapped.slice();
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            try (InputStream input = new GZIPInputStream(new ByteBufferInputStream(payload), 64 * 1024)) {
+                return reader.read(input);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A cache whose contents are saved to, and restored from, the cache snapshot file. Each
+ * participant owns one named section of the file.
+ */
+public interface CacheSnapshotParticipant {
+
+    String snapshotSection();
+
+    JsonNode exportSnapshot(ObjectMapper objectMapper);
+
+    /**
+     * Loads a section written by {@link #exportSnapshot(ObjectMapper)}, skipping entries
+     * already past their TTL.
+     *
+     * @return the number of entries restored
+     */
+    int restoreSnapshot(JsonNode section, ObjectMapper objectMapper);
+}
@@ -0,0 +1,141 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot;
+
+import com.encora.victorvazquez.flights_search.config.FlightCacheSnapshotProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the registered caches to a local snapshot file periodically and at shutdown, and
+ * loads them back at startup, so a restart comes up warm instead of refilling every cache
+ * from Amadeus.
+ * <p>
+ * The restore runs once all singletons exist and before the web server starts, so the
+ * instance does not report ready with cold caches. A missing, corrupt or unreadable
+ * snapshot is logged and skipped; the caches then simply start empty.
+ */
+@Component
+public class CacheSnapshotService implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotService.class);
+
+    private final FlightCacheSnapshotProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<CacheSnapshotParticipant> participants = new CopyOnWriteArrayList<>();
+    private final Timer saveTimer;
+    private final Timer restoreTimer;
+    private Disposable scheduledSave;
+
+    public CacheSnapshotService(FlightCacheSnapshotProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            // Prices go through a tree on both sides; keep them exact and keep their scale.
+            .configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, true)
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        this.saveTimer = snapshotTimer(meterRegistry, "save");
+        this.restoreTimer = snapshotTimer(meterRegistry, "restore");
+    }
+
+    private static Timer snapshotTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("flights.cache.snapshot")
+            .description("Time spent saving or restoring the cache snapshot")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    public void register(CacheSnapshotParticipant participant) {
+        participants.add(participant);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        restoreTimer.record(this::restore);
+
+        long interval = properties.getInterval().toMillis();
+        if (interval > 0) {
+            scheduledSave = Schedulers.boundedElastic()
+                .schedulePeriodically(this::save, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledSave != null) {
+            scheduledSave.dispose();
+        }
+        if (properties.isEnabled()) {
+            save();
+        }
+    }
+
+    public synchronized void save() {
+        Path location = properties.getLocation();
+        long start = System.nanoTime();
+        try {
+            ObjectNode root = objectMapper.createObjectNode();
+            for (CacheSnapshotParticipant participant : participants) {
+                root.set(participant.snapshotSection(), participant.exportSnapshot(objectMapper));
+            }
+            long bytes = CacheSnapshotFile.write(location, output -> objectMapper.writeValue(output, root));
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.info("Cache snapshot saved to {} ({} bytes)", location, bytes);
+        } catch (Exception e) {
+            logger.warn("Could not save cache snapshot to {}: {}", location, e.getMessage());
+        }
+    }
+
+    private void restore() {
+        Path location = properties.getLocation();
+        if (!Files.exists(location)) {
+            logger.info("No cache snapshot at {}, starting cold", location);
+            return;
+        }
+
+        JsonNode root;
+        try {
+            root = CacheSnapshotFile.read(location, properties.getMaximumFileSize().toBytes(), objectMapper::readTree);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable cache snapshot at {}: {}", location, e.getMessage());
+            return;
+        }
+
+        for (CacheSnapshotParticipant participant : participants) {
+            JsonNode section = root.get(participant.snapshotSection());
+            if (section == null || section.isNull()) {
+                continue;
+            }
+            try {
+                int restored = participant.restoreSnapshot(section, objectMapper);
+                logger.info("Restored {} entries into {} from the cache snapshot", restored, participant.snapshotSection());
+            } catch (Exception e) {
+                logger.warn("Could not restore {} from the cache snapshot: {}", participant.snapshotSection(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.encora.victorvazquez.flights_search.infrastructure.capture;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One Amadeus request and the response it got, as kept by the {@link PayloadCaptureBuffer}.
+ *
+ * @param trigger       {@code sampled} or {@code requested}, when the API caller asked for it
+ * @param status        response status, or null when the call failed before a response arrived
+ * @param responseBody  body as UTF-8, cut at the configured maximum size
+ * @param bodyBytes     full size of the body, including any part that was cut
+ * @param error         what the call failed with, or null
+ */
+public record CapturedExchange(
+    long sequence,
+    Instant capturedAt,
+    String trigger,
+    String method,
+    String uri,
+    Map<String, List<String>> requestHeaders,
+    Integer status,
+    Map<String, List<String>> responseHeaders,
+    String responseBody,
+    long bodyBytes,
+    boolean truncated,
+    long durationMillis,
+    String error
+) {
+}
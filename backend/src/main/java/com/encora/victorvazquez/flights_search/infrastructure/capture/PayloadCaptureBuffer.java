@@ -0,0 +1,63 @@
+package com.encora.victorvazquez.flights_search.infrastructure.capture;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusPayloadCaptureProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last {@code capacity} captured Amadeus exchanges in memory. Adding one
+ * overwrites the oldest slot without locking, so memory stays bounded no matter how many
+ * calls are captured.
+ */
+@Component
+public class PayloadCaptureBuffer {
+    private final AtomicReferenceArray<CapturedExchange> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Counter captured;
+
+    public PayloadCaptureBuffer(AmadeusPayloadCaptureProperties properties, MeterRegistry meterRegistry) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, properties.getCapacity()));
+        this.captured = Counter.builder("amadeus.capture.exchanges")
+            .description("Amadeus exchanges captured for inspection")
+            .register(meterRegistry);
+    }
+
+    public long nextSequence() {
+        return nextSequence.getAndIncrement();
+    }
+
+    /**
+     * Stores the exchange in the slot its sequence number maps to.
+     */
+    public void add(CapturedExchange exchange) {
+        slots.set((int) (exchange.sequence() % slots.length()), exchange);
+        captured.increment();
+    }
+
+    /**
+     * Captured exchanges, newest first.
+     */
+    public List<CapturedExchange> snapshot() {
+        List<CapturedExchange> exchanges = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            CapturedExchange exchange = slots.get(i);
+            if (exchange != null) {
+                exchanges.add(exchange);
+            }
+        }
+        exchanges.sort((left, right) -> Long.compare(right.sequence(), left.sequence()));
+        return exchanges;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
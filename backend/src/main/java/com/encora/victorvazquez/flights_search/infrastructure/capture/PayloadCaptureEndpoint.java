@@ -0,0 +1,32 @@
+package com.encora.victorvazquez.flights_search.infrastructure.capture;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/payloads}: the captured Amadeus exchanges, newest first. A DELETE
+ * empties the buffer.
+ */
+@Component
+@Endpoint(id = "payloads")
+public class PayloadCaptureEndpoint {
+    private final PayloadCaptureBuffer buffer;
+
+    public PayloadCaptureEndpoint(PayloadCaptureBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @ReadOperation
+    public List<CapturedExchange> payloads() {
+        return buffer.snapshot();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        buffer.clear();
+    }
+}
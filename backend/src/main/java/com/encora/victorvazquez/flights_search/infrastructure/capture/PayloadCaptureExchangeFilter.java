@@ -0,0 +1,132 @@
+package com.encora.victorvazquez.flights_search.infrastructure.capture;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusPayloadCaptureProperties;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Copies a sample of Amadeus exchanges into the {@link PayloadCaptureBuffer}: a
+ * {@code sampleRate} share picked at random, plus every call made for an API request that
+ * asked for capture through {@link PayloadCaptureWebFilter}.
+ * <p>
+ * Calls that are not captured pass straight through. For captured ones the body is copied
+ * as it streams past, up to {@code maxBodySize}, without changing what the caller reads.
+ * The bearer token is never stored.
+ */
+public class PayloadCaptureExchangeFilter implements ExchangeFilterFunction {
+    private final PayloadCaptureBuffer buffer;
+    private final double sampleRate;
+    private final int maxBodyBytes;
+
+    public PayloadCaptureExchangeFilter(PayloadCaptureBuffer buffer, AmadeusPayloadCaptureProperties properties) {
+        this.buffer = buffer;
+        this.sampleRate = Math.min(Math.max(properties.getSampleRate(), 0), 1);
+        this.maxBodyBytes = (int) Math.min(Math.max(properties.getMaxBodySize().toBytes(), 0), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            String trigger;
+            if (PayloadCaptureWebFilter.isRequested(context)) {
+                trigger = "requested";
+            } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                trigger = "sampled";
+            } else {
+                return next.exchange(request);
+            }
+
+            Capture capture = new Capture(request, trigger);
+            return next.exchange(request)
+                .map(capture::attach)
+                .doOnError(capture::failed);
+        });
+    }
+
+    private static Map<String, List<String>> copyHeaders(HttpHeaders headers) {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        headers.forEach((name, values) -> copy.put(name,
+            HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? List.of("[redacted]") : List.copyOf(values)));
+        return copy;
+    }
+
+    private static String bodyError(SignalType signal) {
+        return switch (signal) {
+            case CANCEL -> "cancelled while reading the body";
+            case ON_ERROR -> "failed while reading the body";
+            default -> null;
+        };
+    }
+
+    private final class Capture {
+        private final ClientRequest request;
+        private final String trigger;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private long bodyBytes;
+
+        private Capture(ClientRequest request, String trigger) {
+            this.request = request;
+            this.trigger = trigger;
+        }
+
+        private ClientResponse attach(ClientResponse response) {
+            return response.mutate()
+                .body(content -> content
+                    .doOnNext(this::copy)
+                    .doFinally(signal -> store(response, bodyError(signal))))
+                .build();
+        }
+
+        private void copy(DataBuffer data) {
+            bodyBytes += data.readableByteCount();
+            try (DataBuffer.ByteBufferIterator chunks = data.readableByteBuffers()) {
+                while (chunks.hasNext() && body.size() < maxBodyBytes) {
+                    ByteBuffer chunk = chunks.next().duplicate();
+                    int length = Math.min(chunk.remaining(), maxBodyBytes - body.size());
+                    byte[] bytes = new byte[length];
+                    chunk.get(bytes);
+                    body.write(bytes, 0, length);
+                }
+            }
+        }
+
+        private void failed(Throwable error) {
+            store(null, error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+
+        private void store(ClientResponse response, String error) {
+            buffer.add(new CapturedExchange(
+                buffer.nextSequence(),
+                startedAt,
+                trigger,
+                request.method().name(),
+                request.url().toString(),
+                copyHeaders(request.headers()),
+                response != null ? response.statusCode().value() : null,
+                response != null ? copyHeaders(response.headers().asHttpHeaders()) : Map.of(),
+                body.toString(StandardCharsets.UTF_8),
+                bodyBytes,
+                bodyBytes > body.size(),
+                (System.nanoTime() - startNanos) / 1_000_000,
+                error
+            ));
+        }
+    }
+}
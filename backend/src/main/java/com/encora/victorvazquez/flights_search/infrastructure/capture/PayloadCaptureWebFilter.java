@@ -0,0 +1,41 @@
+package com.encora.victorvazquez.flights_search.infrastructure.capture;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusPayloadCaptureProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Lets an API caller ask for the Amadeus calls behind its request to be captured, by
+ * sending the configured header with the value {@code true}. The request is flagged in
+ * the Reactor context, where {@link PayloadCaptureExchangeFilter} picks it up.
+ * <p>
+ * The header is ignored unless {@code amadeus.capture.header-enabled} is set, since it
+ * lets any caller push provider bodies into the capture buffer.
+ */
+@Component
+public class PayloadCaptureWebFilter implements WebFilter {
+    private static final Object CAPTURE_REQUESTED_KEY = PayloadCaptureWebFilter.class.getName() + ".requested";
+
+    private final AmadeusPayloadCaptureProperties properties;
+
+    public PayloadCaptureWebFilter(AmadeusPayloadCaptureProperties properties) {
+        this.properties = properties;
+    }
+
+    static boolean isRequested(ContextView context) {
+        return context.getOrDefault(CAPTURE_REQUESTED_KEY, Boolean.FALSE);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled() || !properties.isHeaderEnabled()
+            || !"true".equalsIgnoreCase(exchange.getRequest().getHeaders().getFirst(properties.getHeader()))) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).contextWrite(context -> context.put(CAPTURE_REQUESTED_KEY, Boolean.TRUE));
+    }
+}
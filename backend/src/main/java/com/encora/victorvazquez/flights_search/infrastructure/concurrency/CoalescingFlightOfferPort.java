@@ -0,0 +1,63 @@
+package com.encora.victorvazquez.flights_search.infrastructure.concurrency;
+
+import com.encora.victorvazquez.flights_search.config.FlightSearchCoalescingProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.FlightSearchKey;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shares one provider call, and one parse, between identical flight searches that
+ * arrive while the first one is still in flight.
+ * <p>
+ * Only searches of the same {@link RequestPriority} share a call. The shared call waits
+ * for a rate-limit permit at the priority of the caller that started it, so an
+ * interactive search joining a background refresh would otherwise queue behind every
+ * other interactive call.
+ * <p>
+ * Streamed searches are passed straight through: sharing one would mean decoding the
+ * whole body ahead of the slowest client and buffering it for late joiners, which is
+ * what streaming is there to avoid.
+ */
+public class CoalescingFlightOfferPort implements FlightOfferPort {
+    private final FlightOfferPort delegate;
+    private final SingleFlight<PrioritizedKey, FlightOffersProviderDTO> searches;
+
+    public CoalescingFlightOfferPort(FlightOfferPort delegate, FlightSearchCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.searches = new SingleFlight<>("flightSearch", properties.getMaxWaitersPerKey(), meterRegistry);
+
+        Gauge.builder("flights.singleflight.in.flight", searches, SingleFlight::inFlight)
+            .description("Distinct flight searches currently in flight")
+            .tag("name", "flightSearch")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch request) {
+        return Mono.deferContextual(context -> searches.execute(
+                new PrioritizedKey(FlightSearchKey.of(request), RequestPriority.from(context)),
+                () -> delegate.searchFlights(request))
+            .singleOrEmpty());
+    }
+
+    @Override
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch request) {
+        return delegate.streamFlights(request);
+    }
+
+    @Override
+    public Flux<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch) {
+        return delegate.searchLocations(locationSearch);
+    }
+
+    private record PrioritizedKey(FlightSearchKey search, RequestPriority priority) {}
+}
@@ -0,0 +1,25 @@
+package com.encora.victorvazquez.flights_search.infrastructure.concurrency;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Marks a flight search made as one of many for a single user request, such as a cell of
+ * the flexible-dates calendar. It travels in the Reactor context like
+ * {@link com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority},
+ * so decorators that would count or multiply searches can tell these apart.
+ */
+public final class FanOutSearch {
+    private static final String CONTEXT_KEY = FanOutSearch.class.getName();
+
+    private FanOutSearch() {
+    }
+
+    public static Context asContext() {
+        return Context.of(CONTEXT_KEY, Boolean.TRUE);
+    }
+
+    public static boolean in(ContextView context) {
+        return context.hasKey(CONTEXT_KEY);
+    }
+}
@@ -0,0 +1,211 @@
+package com.encora.victorvazquez.flights_search.infrastructure.concurrency;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusHedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical provider call when the first one is slower than the
+ * configured percentile of recent calls, and keeps whichever answers first; the other
+ * one is cancelled. A failure only decides the result once both calls have finished, so
+ * a primary that fails while its hedge is still running does not cut the hedge short.
+ * <p>
+ * Calls are timed from the moment the request is written to the moment the response
+ * headers arrive, through the {@link #requestSent} and {@link #responseStarted} hooks of
+ * the HTTP client. Waiting in the rate and concurrency limiters and decoding the body
+ * are therefore not counted, and the hedge timer likewise only starts once the primary
+ * request is on the wire; a primary still queued is never hedged. Only successful
+ * responses are timed.
+ * <p>
+ * Hedges are paid for out of a budget: every call earns {@code budgetRatio} of a hedge,
+ * up to {@code budgetBurst} saved, so at most that share of extra calls reaches Amadeus.
+ * Until {@code minSamples} calls have been timed there is no percentile to go by and
+ * nothing is hedged.
+ */
+@Component
+public class RequestHedger {
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budgetRatio;
+    private final double budgetBurst;
+    private final int minSamples;
+    private final long[] samples;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+
+    private int sampleCount;
+    private int nextSample;
+    private long hedgeDelayNanos = -1;
+    private double credits;
+
+    public RequestHedger(AmadeusHedgingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.percentile = Math.min(Math.max(properties.getPercentile(), 0.5), 0.999);
+        this.minDelayNanos = properties.getMinDelay().toNanos();
+        this.budgetRatio = Math.max(0, properties.getBudgetRatio());
+        this.budgetBurst = Math.max(1, properties.getBudgetBurst());
+        this.minSamples = Math.max(1, properties.getMinSamples());
+        this.samples = new long[Math.max(minSamples, properties.getSampleWindow())];
+
+        Gauge.builder("amadeus.hedging.delay", this, RequestHedger::currentDelayMillis)
+            .description("Milliseconds a flight search waits before it is hedged; -1 until enough calls are timed")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        this.hedgesSent = Counter.builder("amadeus.hedging.hedges")
+            .description("Hedged flight search calls")
+            .tag("result", "sent")
+            .register(meterRegistry);
+        this.hedgesWon = Counter.builder("amadeus.hedging.hedges")
+            .description("Hedged flight search calls")
+            .tag("result", "won")
+            .register(meterRegistry);
+        this.hedgesSkipped = Counter.builder("amadeus.hedging.hedges")
+            .description("Hedged flight search calls")
+            .tag("result", "over_budget")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call, hedging it when enabled. The supplier must return a cold publisher
+     * that starts a fresh provider call on every invocation.
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        long delayNanos;
+        synchronized (this) {
+            credits = Math.min(budgetBurst, credits + budgetRatio);
+            delayNanos = hedgeDelayNanos;
+        }
+
+        Attempt first = new Attempt(this);
+        Mono<T> primary = first.run(call).doFinally(signal -> first.settle());
+        if (delayNanos < 0) {
+            return primary;
+        }
+
+        Mono<T> hedge = first.sent.asMono()
+            .then(Mono.delay(Duration.ofNanos(delayNanos)))
+            .takeUntilOther(first.settled.asMono())
+            .flatMap(tick -> {
+                if (!tryWithdraw()) {
+                    hedgesSkipped.increment();
+                    return Mono.empty();
+                }
+                hedgesSent.increment();
+                return new Attempt(this).run(call)
+                    .doOnNext(value -> hedgesWon.increment());
+            });
+
+        AtomicReference<Throwable> primaryFailure = new AtomicReference<>();
+        AtomicReference<Throwable> hedgeFailure = new AtomicReference<>();
+        return Flux.merge(
+                primary.onErrorResume(e -> {
+                    primaryFailure.set(e);
+                    return Mono.empty();
+                }),
+                hedge.onErrorResume(e -> {
+                    hedgeFailure.set(e);
+                    return Mono.empty();
+                }))
+            .next()
+            .switchIfEmpty(Mono.defer(() -> {
+                Throwable failure = primaryFailure.get() != null ? primaryFailure.get() : hedgeFailure.get();
+                return failure != null ? Mono.error(failure) : Mono.empty();
+            }));
+    }
+
+    /**
+     * Called by the HTTP client once a connection has been acquired and the request is
+     * about to be written.
+     */
+    public static void requestSent(ContextView context) {
+        context.<Attempt>getOrEmpty(Attempt.class).ifPresent(Attempt::requestSent);
+    }
+
+    /**
+     * Called by the HTTP client when the response headers have been read.
+     */
+    public static void responseStarted(ContextView context, int status) {
+        context.<Attempt>getOrEmpty(Attempt.class).ifPresent(attempt -> attempt.responseStarted(status));
+    }
+
+    private synchronized boolean tryWithdraw() {
+        if (credits < 1) {
+            return false;
+        }
+        credits -= 1;
+        return true;
+    }
+
+    private synchronized void record(long nanos) {
+        samples[nextSample] = nanos;
+        nextSample = (nextSample + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+
+        if (sampleCount >= minSamples && (hedgeDelayNanos < 0 || nextSample % RECOMPUTE_EVERY == 0)) {
+            long[] window = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(window);
+            int rank = (int) Math.ceil(percentile * window.length) - 1;
+            hedgeDelayNanos = Math.max(minDelayNanos, window[Math.max(rank, 0)]);
+        }
+    }
+
+    private synchronized double currentDelayMillis() {
+        return hedgeDelayNanos < 0 ? -1 : hedgeDelayNanos / 1_000_000.0;
+    }
+
+    /**
+     * One provider call, carried in the Reactor context down to the HTTP client hooks.
+     * {@code sent} completes when its first request is written, {@code settled} when a
+     * response has started or the call has ended without one.
+     */
+    private static final class Attempt {
+        private final RequestHedger owner;
+        private final Sinks.Empty<Void> sent = Sinks.empty();
+        private final Sinks.Empty<Void> settled = Sinks.empty();
+        private volatile long sentNanos;
+
+        private Attempt(RequestHedger owner) {
+            this.owner = owner;
+        }
+
+        private <T> Mono<T> run(Supplier<Mono<T>> call) {
+            return Mono.defer(call).contextWrite(context -> context.put(Attempt.class, this));
+        }
+
+        private void requestSent() {
+            sentNanos = System.nanoTime();
+            sent.tryEmitEmpty();
+        }
+
+        private void responseStarted(int status) {
+            long sentAt = sentNanos;
+            if (sentAt != 0 && status >= 200 && status < 300) {
+                owner.record(System.nanoTime() - sentAt);
+            }
+            settle();
+        }
+
+        private void settle() {
+            settled.tryEmitEmpty();
+        }
+    }
+}
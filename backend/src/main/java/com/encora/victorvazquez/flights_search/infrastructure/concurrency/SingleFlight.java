@@ -0,0 +1,130 @@
+package com.encora.victorvazquez.flights_search.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one call per key at a time and fans its signals out to every caller that
+ * asks for the same key while it is in flight.
+ * <p>
+ * The shared call is subscribed by this class with unbounded demand and its signals are
+ * replayed, so callers that join late still see the whole sequence. That suits calls
+ * with a small result, such as one assembled response; it is not meant for long streams
+ * whose callers rely on backpressure. A caller that cancels leaves the flight, and the
+ * call itself is cancelled once the last caller has left. Once a flight has
+ * {@code maxWaitersPerKey} callers the next caller starts a fresh flight, which bounds
+ * the fan-out of a single call. The call runs with the Reactor context of the caller
+ * that started it, so anything in that context that affects how it runs belongs in the
+ * key.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final int maxWaitersPerKey;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter overflow;
+    private final Counter abandoned;
+
+    public SingleFlight(String name, int maxWaitersPerKey, MeterRegistry meterRegistry) {
+        this.maxWaitersPerKey = maxWaitersPerKey;
+        this.executed = callCounter(meterRegistry, name, "executed");
+        this.coalesced = callCounter(meterRegistry, name, "coalesced");
+        this.overflow = callCounter(meterRegistry, name, "overflow");
+        this.abandoned = callCounter(meterRegistry, name, "abandoned");
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("flights.singleflight.calls")
+            .description("Calls started (executed, overflow), saved by joining one in flight (coalesced), "
+                + "or cancelled because every caller left (abandoned)")
+            .tag("name", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    public Flux<V> execute(K key, Supplier<? extends Publisher<V>> call) {
+        return Flux.deferContextual(context -> {
+            Flight<V> flight = flights.compute(key, (k, current) ->
+                current != null && current.tryJoin(maxWaitersPerKey) ? current : new Flight<>(current != null));
+
+            if (flight.started.compareAndSet(false, true)) {
+                (flight.overflow ? overflow : executed).increment();
+                flight.upstream.update(Flux.from(call.get())
+                    .contextWrite(context)
+                    .subscribe(
+                        flight.sink::tryEmitNext,
+                        error -> {
+                            flight.done = true;
+                            flights.remove(key, flight);
+                            flight.sink.tryEmitError(error);
+                        },
+                        () -> {
+                            flight.done = true;
+                            flights.remove(key, flight);
+                            flight.sink.tryEmitComplete();
+                        }));
+            } else {
+                coalesced.increment();
+            }
+            return flight.sink.asFlux()
+                .doOnCancel(() -> {
+                    if (flight.leave()) {
+                        flights.remove(key, flight);
+                        if (!flight.done) {
+                            abandoned.increment();
+                        }
+                        flight.upstream.dispose();
+                    }
+                });
+        });
+    }
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private static final class Flight<V> {
+        private final Sinks.Many<V> sink = Sinks.many().replay().all();
+        private final Disposable.Swap upstream = Disposables.swap();
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final boolean overflow;
+        private volatile boolean done;
+
+        private Flight(boolean overflow) {
+            this.overflow = overflow;
+        }
+
+        /**
+         * Fails when the flight is full, or when every caller has already left and the
+         * call is being cancelled.
+         */
+        private boolean tryJoin(int maxWaiters) {
+            int current;
+            do {
+                current = waiters.get();
+                if (current <= 0 || current >= maxWaiters) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * Returns true for the caller that left last.
+         */
+        private boolean leave() {
+            return waiters.decrementAndGet() == 0;
+        }
+    }
+}
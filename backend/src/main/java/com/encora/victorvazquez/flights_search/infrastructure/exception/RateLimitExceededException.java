@@ -0,0 +1,16 @@
+package com.encora.victorvazquez.flights_search.infrastructure.exception;
+
+import java.time.Duration;
+
+public class RateLimitExceededException extends BusinessException {
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message, "RATE_LIMIT_EXCEEDED");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
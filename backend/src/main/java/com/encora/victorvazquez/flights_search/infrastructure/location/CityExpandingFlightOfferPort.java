@@ -0,0 +1,254 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.config.FlightCityExpansionProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO.FlightOffer;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.concurrency.FanOutSearch;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Expands metropolitan city codes (LON, NYC, ...) into their airports using the location
+ * reference index, searches every airport pair in parallel and merges the answers.
+ * <p>
+ * All pairs share one deadline: whatever has arrived when it expires is merged and the
+ * slower pairs are cancelled; if nothing has arrived, the search fails with
+ * {@code TIMEOUT_ERROR}. Offers flying the same segments are deduplicated, keeping the
+ * cheapest, and the merged list is re-numbered so offer ids stay unique. The merged
+ * {@code dataAgeSeconds} is that of the oldest cached answer that went into it.
+ * <p>
+ * Only searches a user asked for directly are expanded. Batch-priority searches and
+ * {@link FanOutSearch fan-out} searches, such as calendar cells, already multiply
+ * provider calls, so they go through unchanged rather than multiplying them again by up
+ * to {@code maxPairs}.
+ */
+public class CityExpandingFlightOfferPort implements FlightOfferPort {
+    private static final Logger logger = LoggerFactory.getLogger(CityExpandingFlightOfferPort.class);
+    private static final BigDecimal UNKNOWN_PRICE = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final FlightOfferPort delegate;
+    private final LocationIndexHolder indexHolder;
+    private final FlightCityExpansionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public CityExpandingFlightOfferPort(FlightOfferPort delegate, LocationIndexHolder indexHolder,
+                                        FlightCityExpansionProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.indexHolder = indexHolder;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch request) {
+        if (request.originLocationCode() == null || request.destinationLocationCode() == null) {
+            return delegate.searchFlights(request);
+        }
+        return Mono.deferContextual(context -> {
+            if (RequestPriority.from(context) == RequestPriority.BATCH || FanOutSearch.in(context)) {
+                return delegate.searchFlights(request);
+            }
+            List<String> origins = expand(request.originLocationCode());
+            List<String> destinations = expand(request.destinationLocationCode());
+            if (origins.size() == 1 && destinations.size() == 1) {
+                return delegate.searchFlights(request);
+            }
+
+            List<FlightOfferSearch> pairs = new ArrayList<>();
+            for (String origin : origins) {
+                for (String destination : destinations) {
+                    if (!origin.equals(destination) && pairs.size() < properties.getMaxPairs()) {
+                        pairs.add(withRoute(request, origin, destination));
+                    }
+                }
+            }
+            logger.debug("Expanded {}-{} into {} airport pairs", request.originLocationCode(),
+                request.destinationLocationCode(), pairs.size());
+
+            AtomicInteger finished = new AtomicInteger();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return Flux.fromIterable(pairs)
+                .flatMap(pair -> delegate.searchFlights(pair)
+                    .doOnTerminate(finished::incrementAndGet)
+                    .onErrorResume(e -> {
+                        logger.warn("Airport pair {}-{} failed: {}", pair.originLocationCode(),
+                            pair.destinationLocationCode(), e.getMessage());
+                        failure.compareAndSet(null, e);
+                        return Mono.empty();
+                    }), pairs.size())
+                .take(properties.getDeadline())
+                .collectList()
+                .flatMap(responses -> {
+                    boolean complete = finished.get() == pairs.size();
+                    meterRegistry.counter("flights.city.expansion.searches",
+                        "result", complete ? "complete" : "partial").increment();
+                    if (responses.isEmpty() && failure.get() != null) {
+                        return Mono.error(failure.get());
+                    }
+                    if (responses.isEmpty() && !complete) {
+                        return Mono.error(new BusinessException(String.format(
+                            "No airport pair for %s-%s answered within %d ms", request.originLocationCode(),
+                            request.destinationLocationCode(), properties.getDeadline().toMillis()), "TIMEOUT_ERROR"));
+                    }
+                    return Mono.just(merge(responses, request.max()));
+                });
+        });
+    }
+
+    @Override
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch request) {
+        // Not expanded: merging would have to wait for every pair, which defeats streaming.
+        // A streamed city code is searched as given, so the provider's own city handling applies.
+        return delegate.streamFlights(request);
+    }
+
+    @Override
+    public Flux<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch) {
+        return delegate.searchLocations(locationSearch);
+    }
+
+    private List<String> expand(String code) {
+        LocationIndex index = indexHolder.current();
+        if (index.isAirport(code)) {
+            return List.of(code);
+        }
+        List<String> airports = index.airportsInCity(code).stream()
+            .map(LocationSearchResponseDTO.LocationDTO::iataCode)
+            .limit(properties.getMaxAirportsPerCity())
+            .toList();
+        return airports.size() > 1 ? airports : List.of(code);
+    }
+
+    private static FlightOffersProviderDTO merge(List<FlightOffersProviderDTO> responses, int max) {
+        Map<String, FlightOffer> cheapest = new LinkedHashMap<>();
+        Map<String, FlightOffersProviderDTO.DictionaryLocation> locations = new HashMap<>();
+        Map<String, String> aircraft = new HashMap<>();
+        Map<String, String> currencies = new HashMap<>();
+        Map<String, String> carriers = new HashMap<>();
+        Long dataAgeSeconds = null;
+
+        for (FlightOffersProviderDTO response : responses) {
+            if (response.meta() != null && response.meta().dataAgeSeconds() != null
+                && (dataAgeSeconds == null || response.meta().dataAgeSeconds() > dataAgeSeconds)) {
+                dataAgeSeconds = response.meta().dataAgeSeconds();
+            }
+            if (response.data() != null) {
+                for (FlightOffer offer : response.data()) {
+                    cheapest.merge(itineraryKey(offer), offer,
+                        (current, candidate) -> price(candidate).compareTo(price(current)) < 0 ? candidate : current);
+                }
+            }
+            FlightOffersProviderDTO.Dictionaries dictionaries = response.dictionaries();
+            if (dictionaries != null) {
+                putAll(locations, dictionaries.locations());
+                putAll(aircraft, dictionaries.aircraft());
+                putAll(currencies, dictionaries.currencies());
+                putAll(carriers, dictionaries.carriers());
+            }
+        }
+
+        List<FlightOffer> sorted = cheapest.values().stream()
+            .sorted(Comparator.comparing(CityExpandingFlightOfferPort::price))
+            .limit(max > 0 ? max : Long.MAX_VALUE)
+            .toList();
+        List<FlightOffer> offers = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            offers.add(withId(sorted.get(i), String.valueOf(i + 1)));
+        }
+
+        return new FlightOffersProviderDTO(
+            new FlightOffersProviderDTO.Meta(offers.size(), new FlightOffersProviderDTO.Links(""), dataAgeSeconds),
+            offers,
+            new FlightOffersProviderDTO.Dictionaries(locations, aircraft, currencies, carriers)
+        );
+    }
+
+    private static String itineraryKey(FlightOffer offer) {
+        StringBuilder key = new StringBuilder();
+        if (offer.itineraries() != null) {
+            for (FlightOffer.Itinerary itinerary : offer.itineraries()) {
+                key.append('|');
+                if (itinerary.segments() == null) {
+                    continue;
+                }
+                for (FlightOffer.Segment segment : itinerary.segments()) {
+                    key.append(segment.carrierCode()).append(segment.number())
+                        .append('@').append(segment.departure() != null ? segment.departure().at() : null)
+                        .append(';');
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static BigDecimal price(FlightOffer offer) {
+        if (offer.price() == null) {
+            return UNKNOWN_PRICE;
+        }
+        BigDecimal amount = offer.price().grandTotal() != null ? offer.price().grandTotal() : offer.price().total();
+        return amount != null ? amount : UNKNOWN_PRICE;
+    }
+
+    private static <V> void putAll(Map<String, V> target, Map<String, V> source) {
+        if (source != null) {
+            source.forEach(target::putIfAbsent);
+        }
+    }
+
+    private static FlightOffer withId(FlightOffer offer, String id) {
+        return new FlightOffer(
+            id,
+            offer.source(),
+            offer.instantTicketingRequired(),
+            offer.nonHomogeneous(),
+            offer.oneWay(),
+            offer.lastTicketingDate(),
+            offer.numberOfBookableSeats(),
+            offer.itineraries(),
+            offer.price(),
+            offer.pricingOptions(),
+            offer.validatingAirlineCodes(),
+            offer.travelerPricings(),
+            offer.totalMinutes()
+        );
+    }
+
+    private static FlightOfferSearch withRoute(FlightOfferSearch search, String origin, String destination) {
+        return new FlightOfferSearch(
+            origin,
+            destination,
+            search.departureDate(),
+            search.returnDate(),
+            search.adults(),
+            search.children(),
+            search.infants(),
+            search.travelClass(),
+            search.includedAirlineCodes(),
+            search.excludedAirlineCodes(),
+            search.nonStop(),
+            search.currencyCode(),
+            search.maxPrice(),
+            search.max()
+        );
+    }
+}
@@ -0,0 +1,215 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.config.FlightIataLookupProperties;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationByIATAProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.IataLocationPort;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotEntry;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotParticipant;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotService;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resolves an IATA code to its airport or city.
+ * <p>
+ * The airport and city lookups of the {@link IataLocationPort} (the two Amadeus
+ * endpoints, or the reference index under the {@code synthetic} profile) are probed
+ * concurrently. The airport answer is preferred: a
+ * city found first is only used once the airport probe has come back empty, so a code
+ * that names both always resolves to the airport, as it did with sequential probing.
+ * Found locations are cached for a long time; a 404 from one side is
+ * cached per code so the next lookup only probes the side that can still match.
+ * <p>
+ * {@code flights.locations.iata.round.trips.saved} counts sequential round trips avoided
+ * compared with probing airports first and cities only after a 404.
+ * <p>
+ * All three caches are part of the cache snapshot, so a restart keeps them.
+ */
+@Component
+public class IataLocationLookup implements CacheSnapshotParticipant {
+    private static final String AIRPORT = "AIRPORT";
+    private static final TypeReference<List<CacheSnapshotEntry<String, LocationByIATAProviderDTO>>> FOUND_ENTRIES =
+        new TypeReference<>() {};
+    private static final TypeReference<List<CacheSnapshotEntry<String, Boolean>>> MISS_ENTRIES =
+        new TypeReference<>() {};
+
+    private final IataLocationPort iataLocationPort;
+    private final Cache<String, LocationByIATAProviderDTO> found;
+    private final Cache<String, Boolean> notAirport;
+    private final Cache<String, Boolean> notCity;
+    private final Duration positiveTtl;
+    private final Duration negativeTtl;
+    private final MeterRegistry meterRegistry;
+    private final Counter roundTripsSaved;
+
+    public IataLocationLookup(IataLocationPort iataLocationPort, FlightIataLookupProperties properties,
+                              CacheSnapshotService cacheSnapshotService, MeterRegistry meterRegistry) {
+        this.iataLocationPort = iataLocationPort;
+        this.meterRegistry = meterRegistry;
+        this.positiveTtl = properties.getPositiveTtl();
+        this.negativeTtl = properties.getNegativeTtl();
+        // Variable expiry rather than expireAfterWrite, so restored entries keep their remaining TTL.
+        this.found = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(Expiry.writing((String code, LocationByIATAProviderDTO location) -> positiveTtl))
+            .recordStats()
+            .build();
+        this.notAirport = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(Expiry.writing((String code, Boolean miss) -> negativeTtl))
+            .build();
+        this.notCity = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(Expiry.writing((String code, Boolean miss) -> negativeTtl))
+            .build();
+        this.roundTripsSaved = Counter.builder("flights.locations.iata.round.trips.saved")
+            .description("Sequential Amadeus round trips avoided by caching and racing IATA lookups")
+            .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, found, "iataLocations");
+        cacheSnapshotService.register(this);
+    }
+
+    public Mono<LocationByIATAProviderDTO> lookup(String iataCode) {
+        return Mono.defer(() -> {
+            String code = iataCode.trim().toUpperCase(Locale.ROOT);
+
+            LocationByIATAProviderDTO cached = found.getIfPresent(code);
+            if (cached != null) {
+                record("cache_hit", isAirport(cached) ? 1 : 2);
+                return Mono.just(cached);
+            }
+
+            boolean probeAirport = notAirport.getIfPresent(code) == null;
+            boolean probeCity = notCity.getIfPresent(code) == null;
+            if (!probeAirport && !probeCity) {
+                record("not_found", 2);
+                return Mono.error(notFound(code));
+            }
+
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<Mono<LocationByIATAProviderDTO>> probes = new ArrayList<>(2);
+            if (probeAirport) {
+                probes.add(probe(iataLocationPort.findAirportByIataCode(code), notAirport, code, failure));
+            }
+            if (probeCity) {
+                probes.add(probe(iataLocationPort.findCityByIataCode(code), notCity, code, failure));
+            }
+
+            return Flux.mergeSequential(probes)
+                .next()
+                .doOnNext(location -> {
+                    found.put(code, location);
+                    int saved = isAirport(location) ? 0 : 1;
+                    record(isAirport(location) ? "airport" : "city", saved);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    Throwable error = failure.get();
+                    if (error != null) {
+                        record("error", 0);
+                        return Mono.error(error);
+                    }
+                    record("not_found", 0);
+                    return Mono.error(notFound(code));
+                }));
+        });
+    }
+
+    private Mono<LocationByIATAProviderDTO> probe(Mono<LocationByIATAProviderDTO> call, Cache<String, Boolean> misses,
+                                                  String code, AtomicReference<Throwable> failure) {
+        return call
+            .switchIfEmpty(Mono.fromRunnable(() -> misses.put(code, Boolean.TRUE)))
+            .onErrorResume(e -> {
+                failure.compareAndSet(null, e);
+                return Mono.empty();
+            });
+    }
+
+    @Override
+    public String snapshotSection() {
+        return "iataLocations";
+    }
+
+    @Override
+    public JsonNode exportSnapshot(ObjectMapper objectMapper) {
+        ObjectNode section = objectMapper.createObjectNode();
+        section.set("found", objectMapper.valueToTree(export(found, positiveTtl)));
+        section.set("notAirport", objectMapper.valueToTree(export(notAirport, negativeTtl)));
+        section.set("notCity", objectMapper.valueToTree(export(notCity, negativeTtl)));
+        return section;
+    }
+
+    @Override
+    public int restoreSnapshot(JsonNode section, ObjectMapper objectMapper) {
+        int restored = 0;
+        if (section.hasNonNull("found")) {
+            restored += restore(found, positiveTtl, objectMapper.convertValue(section.get("found"), FOUND_ENTRIES));
+        }
+        if (section.hasNonNull("notAirport")) {
+            restored += restore(notAirport, negativeTtl, objectMapper.convertValue(section.get("notAirport"), MISS_ENTRIES));
+        }
+        if (section.hasNonNull("notCity")) {
+            restored += restore(notCity, negativeTtl, objectMapper.convertValue(section.get("notCity"), MISS_ENTRIES));
+        }
+        return restored;
+    }
+
+    private static <V> List<CacheSnapshotEntry<String, V>> export(Cache<String, V> cache, Duration ttl) {
+        Policy.VarExpiration<String, V> expiration = cache.policy().expireVariably().orElseThrow();
+        long now = System.currentTimeMillis();
+        List<CacheSnapshotEntry<String, V>> entries = new ArrayList<>();
+        cache.asMap().forEach((code, value) -> expiration.getExpiresAfter(code).ifPresent(remaining ->
+            entries.add(new CacheSnapshotEntry<>(code, value, now - ttl.minus(remaining).toMillis()))));
+        return entries;
+    }
+
+    private static <V> int restore(Cache<String, V> cache, Duration ttl, List<CacheSnapshotEntry<String, V>> entries) {
+        Policy.VarExpiration<String, V> expiration = cache.policy().expireVariably().orElseThrow();
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        for (CacheSnapshotEntry<String, V> entry : entries) {
+            Duration remaining = ttl.minusMillis(now - entry.fetchedAtMillis());
+            if (entry.key() == null || entry.value() == null || remaining.isNegative() || remaining.isZero()) {
+                continue;
+            }
+            expiration.put(entry.key(), entry.value(), remaining);
+            restored++;
+        }
+        return restored;
+    }
+
+    private void record(String result, int saved) {
+        meterRegistry.counter("flights.locations.iata.lookups", "result", result).increment();
+        if (saved > 0) {
+            roundTripsSaved.increment(saved);
+        }
+    }
+
+    private static boolean isAirport(LocationByIATAProviderDTO location) {
+        return location.data() != null && AIRPORT.equalsIgnoreCase(location.data().subType());
+    }
+
+    private static BusinessException notFound(String code) {
+        return new BusinessException(
+            String.format("Location with code %s not found", code), "LOCATION_NOT_FOUND");
+    }
+}
@@ -0,0 +1,73 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Answers location autocomplete from the in-process {@link LocationIndex} whenever the
+ * keyword matches anything in it, paging over the matches locally. The reference snapshot
+ * covers the airports and cities people actually search for, so only keywords it does not
+ * know at all (zero matches) go to the provider.
+ */
+public class IndexedLocationFlightOfferPort implements FlightOfferPort {
+    private static final int DEFAULT_PAGE_LIMIT = 10;
+
+    private final FlightOfferPort delegate;
+    private final LocationIndexHolder indexHolder;
+    private final Counter hits;
+    private final Counter misses;
+
+    public IndexedLocationFlightOfferPort(FlightOfferPort delegate, LocationIndexHolder indexHolder, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.indexHolder = indexHolder;
+        this.hits = Counter.builder("flights.locations.index.lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("flights.locations.index.lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch request) {
+        return delegate.searchFlights(request);
+    }
+
+    @Override
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch request) {
+        return delegate.streamFlights(request);
+    }
+
+    @Override
+    public Flux<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch) {
+        return Flux.defer(() -> {
+            List<LocationSearchResponseDTO.LocationDTO> matches = indexHolder.current()
+                .search(locationSearch.keyword(), locationSearch.subType(), locationSearch.countryCode());
+
+            if (matches.isEmpty()) {
+                misses.increment();
+                return delegate.searchLocations(locationSearch);
+            }
+
+            hits.increment();
+            int offset = locationSearch.pageOffset() != null ? Math.max(locationSearch.pageOffset(), 0) : 0;
+            int limit = locationSearch.pageLimit() != null ? locationSearch.pageLimit() : DEFAULT_PAGE_LIMIT;
+            List<LocationSearchResponseDTO.LocationDTO> page =
+                matches.subList(Math.min(offset, matches.size()), Math.min(matches.size(), offset + limit));
+            return Flux.just(new LocationSearchResponseDTO(
+                new LocationSearchResponseDTO.Meta(matches.size(), new LocationSearchResponseDTO.Links(null, null)),
+                List.copyOf(page)
+            ));
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO.LocationDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over reference locations.
+ * <p>
+ * Every location is registered under a handful of normalized keys (IATA code, full name,
+ * each word of the name and the city name). The keys are kept in one sorted array, so a
+ * prefix query is a binary search followed by a scan of the contiguous matching range.
+ */
+public final class LocationIndex {
+    private static final String AIRPORT = "AIRPORT";
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^A-Z0-9]+");
+
+    private static final Comparator<LocationDTO> RANKING = Comparator
+        .comparingInt(LocationIndex::score).reversed()
+        .thenComparing(location -> location.name() != null ? location.name() : "");
+
+    private static final LocationIndex EMPTY =
+        new LocationIndex(new String[0], new int[0], new LocationDTO[0], Map.of(), Set.of());
+
+    private final String[] keys;
+    private final int[] targets;
+    private final LocationDTO[] locations;
+    private final Map<String, List<LocationDTO>> airportsByCity;
+    private final Set<String> airportCodes;
+
+    private LocationIndex(String[] keys, int[] targets, LocationDTO[] locations,
+                          Map<String, List<LocationDTO>> airportsByCity, Set<String> airportCodes) {
+        this.keys = keys;
+        this.targets = targets;
+        this.locations = locations;
+        this.airportsByCity = airportsByCity;
+        this.airportCodes = airportCodes;
+    }
+
+    public static LocationIndex empty() {
+        return EMPTY;
+    }
+
+    public static LocationIndex build(List<LocationDTO> source) {
+        List<LocationDTO> usable = source.stream()
+            .filter(location -> location != null && location.iataCode() != null && location.subType() != null)
+            .sorted(RANKING)
+            .toList();
+
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < usable.size(); i++) {
+            for (String key : keysOf(usable.get(i))) {
+                entries.add(new Entry(key, i));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::key).thenComparingInt(Entry::target));
+
+        String[] keys = new String[entries.size()];
+        int[] targets = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key();
+            targets[i] = entries.get(i).target();
+        }
+
+        Map<String, List<LocationDTO>> airportsByCity = new HashMap<>();
+        Set<String> airportCodes = new HashSet<>();
+        for (LocationDTO location : usable) {
+            if (!AIRPORT.equalsIgnoreCase(location.subType())) {
+                continue;
+            }
+            airportCodes.add(location.iataCode().toUpperCase(Locale.ROOT));
+            if (location.address() != null && location.address().cityCode() != null) {
+                airportsByCity.computeIfAbsent(location.address().cityCode().toUpperCase(Locale.ROOT), k -> new ArrayList<>())
+                    .add(location);
+            }
+        }
+        airportsByCity.replaceAll((city, airports) -> List.copyOf(airports));
+
+        return new LocationIndex(keys, targets, usable.toArray(new LocationDTO[0]),
+            Map.copyOf(airportsByCity), Set.copyOf(airportCodes));
+    }
+
+    /**
+     * Returns every location whose keys start with the keyword, best ranked first.
+     * Locations are stored in ranking order, so collecting matches into a bit set and
+     * walking it in index order yields ranked results without sorting per query.
+     */
+    public List<LocationDTO> search(String keyword, String subType, String countryCode) {
+        String prefix = normalize(keyword);
+        if (prefix.isEmpty() || keys.length == 0) {
+            return List.of();
+        }
+
+        BitSet matches = new BitSet(locations.length);
+        for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+            matches.set(targets[i]);
+        }
+
+        List<LocationDTO> results = new ArrayList<>();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            LocationDTO location = locations[i];
+            if (subType != null && !subType.equalsIgnoreCase(location.subType())) {
+                continue;
+            }
+            if (countryCode != null && (location.address() == null
+                || !countryCode.equalsIgnoreCase(location.address().countryCode()))) {
+                continue;
+            }
+            results.add(location);
+        }
+        return results;
+    }
+
+    /**
+     * Airports served by a city code, best ranked first. Empty when the code is unknown.
+     */
+    public List<LocationDTO> airportsInCity(String cityCode) {
+        return airportsByCity.getOrDefault(cityCode.toUpperCase(Locale.ROOT), List.of());
+    }
+
+    public boolean isAirport(String iataCode) {
+        return airportCodes.contains(iataCode.toUpperCase(Locale.ROOT));
+    }
+
+    public int size() {
+        return locations.length;
+    }
+
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(keys, prefix);
+        if (index >= 0) {
+            while (index > 0 && keys[index - 1].equals(prefix)) {
+                index--;
+            }
+            return index;
+        }
+        return -index - 1;
+    }
+
+    private static Set<String> keysOf(LocationDTO location) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalize(location.iataCode()));
+        addNameKeys(keys, location.name());
+        if (location.address() != null) {
+            addNameKeys(keys, location.address().cityName());
+        }
+        keys.remove("");
+        return keys;
+    }
+
+    private static void addNameKeys(Set<String> keys, String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        keys.add(normalized);
+        for (String word : normalized.split(" ")) {
+            keys.add(word);
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toUpperCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static int score(LocationDTO location) {
+        if (location.analytics() == null || location.analytics().travelers() == null) {
+            return 0;
+        }
+        return location.analytics().travelers().score();
+    }
+
+    private record Entry(String key, int target) {}
+}
@@ -0,0 +1,94 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.config.FlightLocationIndexProperties;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link LocationIndex}. The index is built from a reference snapshot
+ * (a saved Amadeus locations response) at startup and rebuilt periodically off the
+ * request path; readers always see either the old or the new index, never a partial one.
+ */
+@Component
+public class LocationIndexHolder {
+    private static final Logger logger = LoggerFactory.getLogger(LocationIndexHolder.class);
+
+    private final FlightLocationIndexProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<LocationIndex> current = new AtomicReference<>(LocationIndex.empty());
+    private Disposable scheduledRebuild;
+
+    public LocationIndexHolder(FlightLocationIndexProperties properties, ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        Gauge.builder("flights.locations.index.size", current, index -> index.get().size())
+            .description("Locations currently served from the in-process index")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuild();
+
+        long interval = properties.getRefreshInterval().toMillis();
+        if (interval > 0) {
+            scheduledRebuild = Schedulers.boundedElastic()
+                .schedulePeriodically(this::rebuild, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledRebuild != null) {
+            scheduledRebuild.dispose();
+        }
+    }
+
+    public LocationIndex current() {
+        return current.get();
+    }
+
+    public void rebuild() {
+        String location = properties.getSnapshotLocation();
+        try {
+            Resource resource = resourceLoader.getResource(location);
+            LocationSearchResponseDTO snapshot;
+            try (InputStream input = resource.getInputStream()) {
+                snapshot = objectMapper.readValue(input, LocationSearchResponseDTO.class);
+            }
+
+            List<LocationSearchResponseDTO.LocationDTO> locations =
+                snapshot.data() != null ? snapshot.data() : List.of();
+            LocationIndex index = LocationIndex.build(locations);
+            current.set(index);
+            logger.info("Location index rebuilt from {} with {} locations", location, index.size());
+        } catch (Exception e) {
+            logger.warn("Could not rebuild location index from {}, keeping {} indexed locations: {}",
+                location, current.get().size(), e.getMessage());
+        }
+    }
+}
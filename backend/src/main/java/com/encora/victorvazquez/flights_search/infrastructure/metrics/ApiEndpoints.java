@@ -0,0 +1,33 @@
+package com.encora.victorvazquez.flights_search.infrastructure.metrics;
+
+import java.util.Set;
+
+/**
+ * Maps a request path to the API route it was served by, for use as a metric tag. Paths
+ * that are not one of our routes collapse into {@code other}, so scanners probing random
+ * URLs cannot blow up the number of time series.
+ */
+public final class ApiEndpoints {
+    private static final String LOCATION_BY_CODE_PREFIX = "/api/locations/";
+    private static final Set<String> ROUTES = Set.of(
+        "/api/flights",
+        "/api/flights/stream",
+        "/api/flights/calendar",
+        "/api/flights/batch",
+        "/api/locations"
+    );
+
+    private ApiEndpoints() {
+    }
+
+    public static String route(String path) {
+        String normalized = path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        if (ROUTES.contains(normalized)) {
+            return normalized;
+        }
+        if (normalized.startsWith(LOCATION_BY_CODE_PREFIX) && normalized.indexOf('/', LOCATION_BY_CODE_PREFIX.length()) < 0) {
+            return LOCATION_BY_CODE_PREFIX + "{iataCode}";
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,150 @@
+package com.encora.victorvazquez.flights_search.infrastructure.metrics;
+
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Times every stage a search goes through, from getting an Amadeus token to writing our
+ * own response, so a slow search can be pinned on one of them.
+ * <p>
+ * Each stage is its own meter under {@code flights.stage}, tagged with the endpoint it ran
+ * for and an outcome code. Provider stages use the Amadeus path template and the HTTP
+ * status it answered with; parsing and offer counts use the Amadeus path and {@code OK} or
+ * the error code; mapping and serialization use our own route and, for serialization, the
+ * status we answered with.
+ */
+@Component
+public class SearchStageMetrics {
+    public static final String OK = "OK";
+    public static final String CANCELLED = "CANCELLED";
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+    private static final Pattern ERROR_CODE = Pattern.compile("[A-Z][A-Z0-9_]{0,39}");
+
+    public enum Stage {
+        TOKEN_ACQUIRE("flights.stage.token.acquire", "Time a provider call waited for an Amadeus access token"),
+        CONNECTION_ACQUIRE("flights.stage.connection.acquire", "Time from starting a provider call until its request was written to a pooled connection"),
+        FIRST_BYTE("flights.stage.first.byte", "Time from writing a provider request until its response headers arrived"),
+        BODY_SIZE("flights.stage.body.size", "Size of provider response bodies"),
+        PARSE("flights.stage.parse", "CPU time spent parsing a provider response body into offers"),
+        MAPPING("flights.stage.mapping", "Time spent mapping provider results into an API response"),
+        SERIALIZATION("flights.stage.serialization", "Time spent serializing an API response to JSON"),
+        OFFERS("flights.stage.offers", "Flight offers per provider response");
+
+        private final String meterName;
+        private final String description;
+
+        Stage(String meterName, String description) {
+            this.meterName = meterName;
+            this.description = description;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public SearchStageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordTime(Stage stage, String endpoint, String outcome, long nanos) {
+        Timer.builder(stage.meterName)
+            .description(stage.description)
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBytes(String endpoint, String outcome, long bytes) {
+        summary(Stage.BODY_SIZE, "bytes", endpoint, outcome).record(bytes);
+    }
+
+    public void recordOffers(String endpoint, String outcome, int offers) {
+        summary(Stage.OFFERS, "offers", endpoint, outcome).record(offers);
+    }
+
+    /**
+     * Times the subscription to {@code source} until it signals, tagged with the outcome
+     * of that signal.
+     */
+    public <T> Mono<T> time(Stage stage, String endpoint, Mono<T> source) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source
+                .doOnSuccess(value -> recordTime(stage, endpoint, OK, System.nanoTime() - start))
+                .doOnError(e -> recordTime(stage, endpoint, outcome(e), System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Times a synchronous step, tagged {@code OK} or with the code of the error it threw.
+     */
+    public <T> T time(Stage stage, String endpoint, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            T result = step.get();
+            recordTime(stage, endpoint, OK, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            recordTime(stage, endpoint, outcome(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private DistributionSummary summary(Stage stage, String baseUnit, String endpoint, String outcome) {
+        return DistributionSummary.builder(stage.meterName)
+            .description(stage.description)
+            .baseUnit(baseUnit)
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Low-cardinality outcome code for a failure: the provider's HTTP status, the business
+     * error code, or the kind of failure.
+     */
+    public static String outcome(Throwable error) {
+        if (error == null) {
+            return OK;
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return String.valueOf(responseException.getStatusCode().value());
+        }
+        if (error instanceof BusinessException businessException) {
+            return isErrorCode(businessException.getCode()) ? businessException.getCode() : "BUSINESS_ERROR";
+        }
+        if (error instanceof ReadTimeoutException || error instanceof TimeoutException) {
+            return "TIMEOUT_ERROR";
+        }
+        return "UNEXPECTED_ERROR";
+    }
+
+    /**
+     * The Amadeus path a request was built from, without its query string, so every
+     * IATA code looked up shares one tag value.
+     */
+    public static String endpoint(ClientRequest request) {
+        Object template = request.attribute(URI_TEMPLATE_ATTRIBUTE).orElse(null);
+        String path = template != null ? template.toString() : request.url().getRawPath();
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    private static boolean isErrorCode(String value) {
+        return value != null && ERROR_CODE.matcher(value).matches();
+    }
+}
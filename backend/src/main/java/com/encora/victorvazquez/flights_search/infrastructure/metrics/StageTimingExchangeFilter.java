@@ -0,0 +1,94 @@
+package com.encora.victorvazquez.flights_search.infrastructure.metrics;
+
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.SearchStageMetrics.Stage;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.ContextView;
+
+/**
+ * Splits each Amadeus exchange into connection acquire, time to first byte and body size.
+ * <p>
+ * The filter puts an {@link ExchangeTimings} into the Reactor context, and the Reactor
+ * Netty {@code doOnRequest} and {@code doOnResponse} hooks stamp it through
+ * {@link #requestSent} and {@link #responseStarted}. It has to be the innermost filter, so
+ * the acquire time does not include waiting on the rate or concurrency limiters.
+ */
+public class StageTimingExchangeFilter implements ExchangeFilterFunction {
+    private final SearchStageMetrics metrics;
+
+    public StageTimingExchangeFilter(SearchStageMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Called by the HTTP client once a connection has been acquired and the request is
+     * about to be written.
+     */
+    public static void requestSent(ContextView context) {
+        context.<ExchangeTimings>getOrEmpty(ExchangeTimings.class)
+            .ifPresent(timings -> timings.requestSentNanos = System.nanoTime());
+    }
+
+    /**
+     * Called by the HTTP client when the response headers have been read.
+     */
+    public static void responseStarted(ContextView context) {
+        context.<ExchangeTimings>getOrEmpty(ExchangeTimings.class)
+            .ifPresent(timings -> timings.responseStartedNanos = System.nanoTime());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = SearchStageMetrics.endpoint(request);
+        return Mono.defer(() -> {
+            ExchangeTimings timings = new ExchangeTimings(System.nanoTime());
+            return next.exchange(request)
+                .map(response -> {
+                    String outcome = String.valueOf(response.statusCode().value());
+                    recordHeaders(endpoint, outcome, timings);
+                    return withBodySize(response, endpoint, outcome);
+                })
+                .doOnError(e -> recordHeaders(endpoint, SearchStageMetrics.outcome(e), timings))
+                .contextWrite(context -> context.put(ExchangeTimings.class, timings));
+        });
+    }
+
+    private void recordHeaders(String endpoint, String outcome, ExchangeTimings timings) {
+        long sent = timings.requestSentNanos;
+        long started = timings.responseStartedNanos;
+        if (sent == 0) {
+            // Never got a connection: the whole attempt was spent acquiring one.
+            metrics.recordTime(Stage.CONNECTION_ACQUIRE, endpoint, outcome, System.nanoTime() - timings.startNanos);
+            return;
+        }
+        metrics.recordTime(Stage.CONNECTION_ACQUIRE, endpoint, outcome, sent - timings.startNanos);
+        metrics.recordTime(Stage.FIRST_BYTE, endpoint, outcome, (started != 0 ? started : System.nanoTime()) - sent);
+    }
+
+    private ClientResponse withBodySize(ClientResponse response, String endpoint, String outcome) {
+        long[] bytes = new long[1];
+        return response.mutate()
+            .body(body -> body
+                .doOnNext(buffer -> bytes[0] += buffer.readableByteCount())
+                .doFinally(signal -> metrics.recordBytes(endpoint,
+                    signal == SignalType.CANCEL ? SearchStageMetrics.CANCELLED : outcome, bytes[0])))
+            .build();
+    }
+
+    /**
+     * Per-exchange timestamps from {@link System#nanoTime()}; 0 until the hook has fired.
+     */
+    static final class ExchangeTimings {
+        private final long startNanos;
+        private volatile long requestSentNanos;
+        private volatile long responseStartedNanos;
+
+        private ExchangeTimings(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.encora.victorvazquez.flights_search.infrastructure.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON encoder for our own responses that records how long each value takes to serialize,
+ * tagged with the API route and the status being returned.
+ * <p>
+ * Covers single-value responses and server-sent events, which Jackson encodes one value at
+ * a time. NDJSON streams are written through Jackson's sequence writer without a per-value
+ * hook and are not timed.
+ */
+public class TimedJackson2JsonEncoder extends Jackson2JsonEncoder {
+    private static final String ENDPOINT_HINT = TimedJackson2JsonEncoder.class.getName() + ".endpoint";
+    private static final String STATUS_HINT = TimedJackson2JsonEncoder.class.getName() + ".status";
+
+    private final SearchStageMetrics stageMetrics;
+
+    public TimedJackson2JsonEncoder(ObjectMapper objectMapper, SearchStageMetrics stageMetrics) {
+        super(objectMapper);
+        this.stageMetrics = stageMetrics;
+    }
+
+    @Override
+    public Map<String, Object> getEncodeHints(@Nullable ResolvableType actualType, ResolvableType elementType,
+                                              @Nullable MediaType mediaType, ServerHttpRequest request,
+                                              ServerHttpResponse response) {
+        Map<String, Object> hints = new HashMap<>(super.getEncodeHints(actualType, elementType, mediaType, request, response));
+        HttpStatusCode status = response.getStatusCode();
+        hints.put(ENDPOINT_HINT, ApiEndpoints.route(request.getPath().pathWithinApplication().value()));
+        hints.put(STATUS_HINT, String.valueOf(status != null ? status.value() : 200));
+        return hints;
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        Object endpoint = hints != null ? hints.get(ENDPOINT_HINT) : null;
+        if (endpoint == null) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+
+        long start = System.nanoTime();
+        try {
+            DataBuffer buffer = super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+            stageMetrics.recordTime(SearchStageMetrics.Stage.SERIALIZATION, endpoint.toString(),
+                String.valueOf(hints.get(STATUS_HINT)), System.nanoTime() - start);
+            return buffer;
+        } catch (RuntimeException e) {
+            stageMetrics.recordTime(SearchStageMetrics.Stage.SERIALIZATION, endpoint.toString(),
+                SearchStageMetrics.outcome(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
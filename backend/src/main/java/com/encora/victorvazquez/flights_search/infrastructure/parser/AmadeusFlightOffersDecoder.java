@@ -0,0 +1,985 @@
+package com.encora.victorvazquez.flights_search.infrastructure.parser;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.SearchStageMetrics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the Amadeus flight-offers body straight from the {@link DataBuffer} stream.
+ * The body is fed to a non-blocking Jackson parser chunk by chunk; only the tokens of
+ * the offer currently being read are buffered, so the full payload is never held as a
+ * String or a JsonNode tree.
+ * <p>
+ * A missing required field fails the response with {@code INVALID_RESPONSE}, and an
+ * unreadable timestamp with {@code INVALID_DATE}; anything else that cannot be read,
+ * including a body without meta or data, fails with {@code PARSE_ERROR}. Traveler
+ * pricings, fare details and amenities are read leniently: a malformed one is skipped
+ * and the rest of its offer is kept.
+ * <p>
+ * When built with {@link SearchStageMetrics}, the CPU time spent parsing each body and
+ * the number of offers it held are recorded against the given endpoint.
+ */
+public class AmadeusFlightOffersDecoder {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusFlightOffersDecoder.class);
+
+    private final ObjectMapper objectMapper;
+    private final SearchStageMetrics stageMetrics;
+    private final String endpoint;
+
+    public AmadeusFlightOffersDecoder(ObjectMapper objectMapper) {
+        this(objectMapper, null, null);
+    }
+
+    public AmadeusFlightOffersDecoder(ObjectMapper objectMapper, SearchStageMetrics stageMetrics, String endpoint) {
+        this.objectMapper = objectMapper;
+        this.stageMetrics = stageMetrics;
+        this.endpoint = endpoint;
+    }
+
+    public Mono<FlightOffersProviderDTO> decode(Flux<DataBuffer> body) {
+        return assemble(decodeFrames(body));
+    }
+
+    /**
+     * Emits meta, each offer and the dictionaries as soon as they are complete in the
+     * body, in document order. Demand is propagated to the body, so a slow consumer
+     * slows down the read from the provider instead of piling up decoded offers.
+     */
+    public Flux<FlightOffersStreamFrameDTO> decodeFrames(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            FrameTokenizer tokenizer = new FrameTokenizer();
+            return body.concatMapIterable(tokenizer::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doOnError(e -> tokenizer.failure = e)
+                    .doFinally(signal -> {
+                        tokenizer.close();
+                        recordStages(tokenizer, signal);
+                    });
+        });
+    }
+
+    private void recordStages(FrameTokenizer tokenizer, SignalType signal) {
+        if (stageMetrics == null) {
+            return;
+        }
+        String outcome = signal == SignalType.CANCEL
+            ? SearchStageMetrics.CANCELLED
+            : SearchStageMetrics.outcome(tokenizer.failure);
+        if (tokenizer.parseNanos > 0) {
+            stageMetrics.recordTime(SearchStageMetrics.Stage.PARSE, endpoint, outcome, tokenizer.parseNanos);
+        }
+        if (signal == SignalType.ON_COMPLETE) {
+            stageMetrics.recordOffers(endpoint, outcome, tokenizer.offers);
+        }
+    }
+
+    /**
+     * Rebuilds the complete response from a frame stream produced by {@link #decodeFrames}.
+     */
+    public static Mono<FlightOffersProviderDTO> assemble(Flux<FlightOffersStreamFrameDTO> frames) {
+        return frames.collectList().map(FlightOffersFrames::assemble);
+    }
+
+    private enum Target { META, OFFER, DICTIONARIES }
+
+    /**
+     * Walks the top-level structure of the response and cuts it into frames. Tokens are
+     * only copied while a meta, offer or dictionaries value is open; everything else is
+     * skipped without buffering.
+     */
+    private final class FrameTokenizer {
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private final List<FlightOffersStreamFrameDTO> frames = new ArrayList<>();
+
+        private int depth;
+        private String rootField;
+        private boolean inData;
+        private boolean sawMeta;
+        private boolean sawData;
+        private boolean sawDictionaries;
+
+        private int captureDepth = -1;
+        private Target captureTarget;
+        private TokenBuffer capture;
+
+        private long parseNanos;
+        private int offers;
+        private Throwable failure;
+
+        FrameTokenizer() {
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to create streaming JSON parser", e);
+            }
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<FlightOffersStreamFrameDTO> feed(DataBuffer buffer) {
+            long start = System.nanoTime();
+            try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                while (chunks.hasNext()) {
+                    feeder.feedInput(chunks.next());
+                    drain();
+                }
+                return takeFrames();
+            } catch (Exception e) {
+                throw parseError(e);
+            } finally {
+                DataBufferUtils.release(buffer);
+                parseNanos += System.nanoTime() - start;
+            }
+        }
+
+        List<FlightOffersStreamFrameDTO> endOfInput() {
+            long start = System.nanoTime();
+            try {
+                feeder.endOfInput();
+                drain();
+                if (!sawMeta) {
+                    throw new IllegalStateException("Amadeus response has no meta");
+                }
+                if (!sawData) {
+                    throw new IllegalStateException("Amadeus response has no data");
+                }
+                if (!sawDictionaries) {
+                    frames.add(new FlightOffersStreamFrameDTO.Dictionaries(FlightOffersFrames.emptyDictionaries()));
+                }
+                return takeFrames();
+            } catch (Exception e) {
+                throw parseError(e);
+            } finally {
+                parseNanos += System.nanoTime() - start;
+            }
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                logger.debug("Error closing streaming JSON parser: {}", e.getMessage());
+            }
+        }
+
+        private List<FlightOffersStreamFrameDTO> takeFrames() {
+            if (frames.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<FlightOffersStreamFrameDTO> ready = new ArrayList<>(frames);
+            frames.clear();
+            return ready;
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        }
+
+        private void handle(JsonToken token) throws IOException {
+            if (captureDepth >= 0) {
+                if (capture != null) {
+                    capture.copyCurrentEvent(parser);
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                if (depth == captureDepth) {
+                    finishCapture();
+                }
+                return;
+            }
+
+            if (token == JsonToken.FIELD_NAME) {
+                if (depth == 1) {
+                    rootField = parser.currentName();
+                }
+                return;
+            }
+            if (token.isStructEnd()) {
+                depth--;
+                if (depth == 1) {
+                    inData = false;
+                }
+                return;
+            }
+            if (depth == 0) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalStateException("Amadeus response must be a JSON object");
+                }
+                depth = 1;
+                return;
+            }
+            if (depth == 1 && "data".equals(rootField) && token == JsonToken.START_ARRAY) {
+                sawData = true;
+                inData = true;
+                depth++;
+                return;
+            }
+
+            Target target = null;
+            if (depth == 2 && inData) {
+                target = Target.OFFER;
+            } else if (depth == 1 && "meta".equals(rootField)) {
+                target = Target.META;
+            } else if (depth == 1 && "dictionaries".equals(rootField)) {
+                target = Target.DICTIONARIES;
+            }
+            startCapture(token, target);
+        }
+
+        private void startCapture(JsonToken token, Target target) throws IOException {
+            captureDepth = depth;
+            captureTarget = target;
+            if (target != null) {
+                capture = new TokenBuffer(parser);
+                capture.copyCurrentEvent(parser);
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else {
+                finishCapture();
+            }
+        }
+
+        private void finishCapture() throws IOException {
+            Target target = captureTarget;
+            TokenBuffer buffer = capture;
+            captureDepth = -1;
+            captureTarget = null;
+            capture = null;
+            if (target == null) {
+                return;
+            }
+
+            try (JsonParser captured = buffer.asParser(objectMapper)) {
+                captured.nextToken();
+                switch (target) {
+                    case META -> {
+                        sawMeta = true;
+                        frames.add(new FlightOffersStreamFrameDTO.Meta(readMeta(captured)));
+                    }
+                    case OFFER -> {
+                        offers++;
+                        frames.add(new FlightOffersStreamFrameDTO.Offer(readFlightOffer(captured)));
+                    }
+                    case DICTIONARIES -> {
+                        sawDictionaries = true;
+                        frames.add(new FlightOffersStreamFrameDTO.Dictionaries(readDictionaries(captured)));
+                    }
+                }
+            }
+        }
+    }
+
+    private static BusinessException parseError(Exception e) {
+        if (e instanceof BusinessException businessException) {
+            return businessException;
+        }
+        logger.error("Error parsing Amadeus response: {}", e.getMessage());
+        return new BusinessException("Error processing Amadeus response: " + e.getMessage(), "PARSE_ERROR");
+    }
+
+    private FlightOffersProviderDTO.Meta readMeta(JsonParser p) throws IOException {
+        Integer count = null;
+        String self = null;
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "count" -> count = p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsInt();
+                    case "links" -> self = readLinksSelf(p);
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        if (count == null || self == null) {
+            throw new IllegalStateException("Amadeus response meta must have count and links.self");
+        }
+        return new FlightOffersProviderDTO.Meta(count, new FlightOffersProviderDTO.Links(self));
+    }
+
+    private String readLinksSelf(JsonParser p) throws IOException {
+        String self = null;
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                if ("self".equals(field)) {
+                    self = p.getValueAsString();
+                } else {
+                    p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+        return self;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer readFlightOffer(JsonParser p) {
+        try {
+            String id = null;
+            String source = null;
+            boolean instantTicketingRequired = false;
+            boolean nonHomogeneous = false;
+            boolean oneWay = false;
+            String lastTicketingDate = null;
+            int numberOfBookableSeats = 0;
+            List<FlightOffersProviderDTO.FlightOffer.Itinerary> itineraries = null;
+            FlightOffersProviderDTO.FlightOffer.Price price = null;
+            FlightOffersProviderDTO.FlightOffer.PricingOptions pricingOptions = null;
+            List<String> validatingAirlineCodes = null;
+            List<FlightOffersProviderDTO.FlightOffer.TravelerPricing> travelerPricings = null;
+
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                    JsonToken value = p.nextToken();
+                    if (value == JsonToken.VALUE_NULL) {
+                        continue;
+                    }
+                    switch (field) {
+                        case "id" -> id = p.getValueAsString();
+                        case "source" -> source = p.getValueAsString();
+                        case "instantTicketingRequired" -> instantTicketingRequired = p.getValueAsBoolean();
+                        case "nonHomogeneous" -> nonHomogeneous = p.getValueAsBoolean();
+                        case "oneWay" -> oneWay = p.getValueAsBoolean();
+                        case "lastTicketingDate" -> lastTicketingDate = p.getValueAsString();
+                        case "numberOfBookableSeats" -> numberOfBookableSeats = p.getValueAsInt();
+                        case "itineraries" -> itineraries = readItineraries(p);
+                        case "price" -> price = readPrice(p);
+                        case "pricingOptions" -> pricingOptions = readPricingOptions(p);
+                        case "validatingAirlineCodes" -> validatingAirlineCodes = readStringList(p);
+                        case "travelerPricings" -> travelerPricings = readTravelerPricings(p);
+                        default -> p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+
+            requireField(id, "id", "Flight offer must have an ID");
+            requireField(source, "source", "Flight offer must have a source");
+            requireField(price, "price", "Flight offer must have a price");
+            requireField(itineraries, "itineraries", "Flight offer must have itineraries");
+
+            return new FlightOffersProviderDTO.FlightOffer(
+                id,
+                source,
+                instantTicketingRequired,
+                nonHomogeneous,
+                oneWay,
+                lastTicketingDate,
+                numberOfBookableSeats,
+                itineraries,
+                price,
+                pricingOptions != null ? pricingOptions :
+                    new FlightOffersProviderDTO.FlightOffer.PricingOptions(Collections.emptyList(), false),
+                validatingAirlineCodes != null ? validatingAirlineCodes : Collections.emptyList(),
+                travelerPricings != null ? travelerPricings : Collections.emptyList(),
+                FlightOfferTimings.totalMinutes(itineraries)
+            );
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error parsing flight offer: {}", e.getMessage());
+            throw new BusinessException("Error processing flight offer: " + e.getMessage(), "PARSE_ERROR");
+        }
+    }
+
+    private static void requireField(Object value, String fieldName, String errorMessage) {
+        if (value == null) {
+            logger.error("Required field missing: {}", fieldName);
+            throw new BusinessException(errorMessage, "INVALID_RESPONSE");
+        }
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.Price readPrice(JsonParser p) throws IOException {
+        String currency = null;
+        String total = null;
+        String base = null;
+        String grandTotal = null;
+        List<FlightOffersProviderDTO.FlightOffer.Fee> fees = null;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "currency" -> currency = p.getValueAsString();
+                    case "total" -> total = p.getValueAsString();
+                    case "base" -> base = p.getValueAsString();
+                    case "grandTotal" -> grandTotal = p.getValueAsString();
+                    case "fees" -> fees = readFees(p);
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        requireField(currency, "currency", "Price must have a currency");
+        requireField(total, "total", "Price must have a total amount");
+        requireField(base, "base", "Price must have a base amount");
+
+        BigDecimal totalAmount = new BigDecimal(total);
+        return new FlightOffersProviderDTO.FlightOffer.Price(
+            currency,
+            totalAmount,
+            new BigDecimal(base),
+            fees != null ? fees : Collections.emptyList(),
+            grandTotal != null ? new BigDecimal(grandTotal) : totalAmount
+        );
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Fee> readFees(JsonParser p) throws IOException {
+        List<FlightOffersProviderDTO.FlightOffer.Fee> result = new ArrayList<>();
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return result;
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            String amount = null;
+            String type = null;
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                    p.nextToken();
+                    switch (field) {
+                        case "amount" -> amount = p.getValueAsString();
+                        case "type" -> type = p.getValueAsString();
+                        default -> p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+            if (amount == null || type == null) {
+                throw new IllegalStateException("Fee must have an amount and a type");
+            }
+            result.add(new FlightOffersProviderDTO.FlightOffer.Fee(new BigDecimal(amount), type));
+        }
+        return result;
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Itinerary> readItineraries(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            logger.error("Itineraries must be an array");
+            throw new BusinessException("Itineraries must be an array", "INVALID_RESPONSE");
+        }
+
+        List<FlightOffersProviderDTO.FlightOffer.Itinerary> result = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            String duration = null;
+            List<FlightOffersProviderDTO.FlightOffer.Segment> segments = null;
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                    JsonToken value = p.nextToken();
+                    if (value == JsonToken.VALUE_NULL) {
+                        continue;
+                    }
+                    switch (field) {
+                        case "duration" -> duration = p.getValueAsString();
+                        case "segments" -> segments = readSegments(p);
+                        default -> p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+
+            requireField(duration, "duration", "Itinerary must have a duration");
+            requireField(segments, "segments", "Itinerary must have segments");
+
+            result.add(new FlightOffersProviderDTO.FlightOffer.Itinerary(
+                duration,
+                segments,
+                IsoTimeCodec.durationMinutesOrUnknown(duration),
+                FlightOfferTimings.layoverMinutes(segments)
+            ));
+        }
+        return result;
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Segment> readSegments(JsonParser p) throws IOException {
+        List<FlightOffersProviderDTO.FlightOffer.Segment> result = new ArrayList<>();
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return result;
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            result.add(readSegment(p));
+        }
+        return result;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.Segment readSegment(JsonParser p) throws IOException {
+        FlightOffersProviderDTO.FlightOffer.Location departure = null;
+        FlightOffersProviderDTO.FlightOffer.Location arrival = null;
+        String carrierCode = null;
+        String number = null;
+        FlightOffersProviderDTO.FlightOffer.Aircraft aircraft = null;
+        FlightOffersProviderDTO.FlightOffer.Operating operating = null;
+        String duration = "";
+        String id = "";
+        int numberOfStops = 0;
+        boolean blacklistedInEU = false;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "departure" -> departure = readFlightLocation(p);
+                    case "arrival" -> arrival = readFlightLocation(p);
+                    case "carrierCode" -> carrierCode = p.getValueAsString();
+                    case "number" -> number = p.getValueAsString();
+                    case "aircraft" -> aircraft = new FlightOffersProviderDTO.FlightOffer.Aircraft(
+                        readSingleText(p, "code"));
+                    case "operating" -> operating = new FlightOffersProviderDTO.FlightOffer.Operating(
+                        readSingleText(p, "carrierCode"));
+                    case "duration" -> duration = p.getValueAsString();
+                    case "id" -> id = p.getValueAsString();
+                    case "numberOfStops" -> numberOfStops = p.getValueAsInt();
+                    case "blacklistedInEU" -> blacklistedInEU = p.getValueAsBoolean();
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        requireField(departure, "departure", "Segment must have departure information");
+        requireField(arrival, "arrival", "Segment must have arrival information");
+        requireField(carrierCode, "carrierCode", "Segment must have a carrier code");
+        requireField(number, "number", "Segment must have a flight number");
+
+        return new FlightOffersProviderDTO.FlightOffer.Segment(
+            departure,
+            arrival,
+            carrierCode,
+            number,
+            aircraft,
+            operating,
+            duration,
+            id,
+            numberOfStops,
+            blacklistedInEU,
+            IsoTimeCodec.durationMinutesOrUnknown(duration)
+        );
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.Location readFlightLocation(JsonParser p) throws IOException {
+        String iataCode = null;
+        String terminal = null;
+        String at = null;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "iataCode" -> iataCode = p.getValueAsString();
+                    case "terminal" -> terminal = p.getValueAsString();
+                    case "at" -> at = p.getValueAsString();
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        requireField(iataCode, "iataCode", "Location must have an IATA code");
+        requireField(at, "at", "Location must have a timestamp");
+
+        LocalDateTime dateTime = parseDateTime(at);
+        return new FlightOffersProviderDTO.FlightOffer.Location(
+            iataCode, terminal, dateTime, IsoTimeCodec.epochMinute(dateTime));
+    }
+
+    private LocalDateTime parseDateTime(String dateTimeStr) {
+        try {
+            if (dateTimeStr == null || dateTimeStr.isEmpty()) {
+                logger.error("Invalid datetime format: empty or null");
+                throw new BusinessException("Invalid datetime format", "INVALID_DATE");
+            }
+            return IsoTimeCodec.parseLocalDateTime(dateTimeStr);
+        } catch (Exception e) {
+            logger.error("Error parsing datetime: {}", e.getMessage());
+            throw new BusinessException("Invalid datetime format: " + e.getMessage(), "INVALID_DATE");
+        }
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.PricingOptions readPricingOptions(JsonParser p) throws IOException {
+        List<String> fareType = Collections.emptyList();
+        Boolean includedCheckedBagsOnly = null;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "fareType" -> fareType = readStringList(p);
+                    case "includedCheckedBagsOnly" -> includedCheckedBagsOnly = p.getValueAsBoolean();
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        if (includedCheckedBagsOnly == null) {
+            throw new IllegalStateException("Pricing options must have includedCheckedBagsOnly");
+        }
+        return new FlightOffersProviderDTO.FlightOffer.PricingOptions(fareType, includedCheckedBagsOnly);
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.TravelerPricing> readTravelerPricings(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return Collections.emptyList();
+        }
+
+        List<FlightOffersProviderDTO.FlightOffer.TravelerPricing> result = new ArrayList<>();
+        JsonStreamContext arrayContext = p.getParsingContext();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            try {
+                result.add(readTravelerPricing(p));
+            } catch (Exception e) {
+                logger.error("Error parsing traveler pricing: {}", e.getMessage());
+                skipToContext(p, arrayContext);
+            }
+        }
+        return result;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.TravelerPricing readTravelerPricing(JsonParser p) throws IOException {
+        String travelerId = null;
+        String fareOption = null;
+        String travelerType = null;
+        FlightOffersProviderDTO.FlightOffer.Price price = null;
+        List<FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment> fareDetailsBySegment = null;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "travelerId" -> travelerId = p.getValueAsString();
+                    case "fareOption" -> fareOption = p.getValueAsString();
+                    case "travelerType" -> travelerType = p.getValueAsString();
+                    case "price" -> price = readPrice(p);
+                    case "fareDetailsBySegment" -> fareDetailsBySegment = readFareDetailsBySegment(p);
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        requireField(travelerId, "travelerId", "Traveler pricing must have a traveler ID");
+        requireField(fareOption, "fareOption", "Traveler pricing must have a fare option");
+        requireField(travelerType, "travelerType", "Traveler pricing must have a traveler type");
+        requireField(price, "price", "Traveler pricing must have a price");
+        requireField(fareDetailsBySegment, "fareDetailsBySegment", "Traveler pricing must have fare details by segment");
+
+        return new FlightOffersProviderDTO.FlightOffer.TravelerPricing(
+            travelerId,
+            fareOption,
+            travelerType,
+            price,
+            fareDetailsBySegment
+        );
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment> readFareDetailsBySegment(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return Collections.emptyList();
+        }
+
+        List<FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment> result = new ArrayList<>();
+        JsonStreamContext arrayContext = p.getParsingContext();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            try {
+                result.add(readFareDetails(p));
+            } catch (Exception e) {
+                logger.error("Error parsing fare details by segment: {}", e.getMessage());
+                skipToContext(p, arrayContext);
+            }
+        }
+        return result;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment readFareDetails(JsonParser p) throws IOException {
+        String segmentId = "";
+        String cabin = "";
+        String fareBasis = "";
+        String classType = "";
+        String brandedFare = "";
+        String brandedFareLabel = "";
+        FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags includedCheckedBags = null;
+        FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags includedCabinBags = null;
+        List<FlightOffersProviderDTO.FlightOffer.Amenity> amenities = Collections.emptyList();
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "segmentId" -> segmentId = p.getValueAsString();
+                    case "cabin" -> cabin = p.getValueAsString();
+                    case "fareBasis" -> fareBasis = p.getValueAsString();
+                    case "class" -> classType = p.getValueAsString();
+                    case "brandedFare" -> brandedFare = p.getValueAsString();
+                    case "brandedFareLabel" -> brandedFareLabel = p.getValueAsString();
+                    case "includedCheckedBags" -> includedCheckedBags = readIncludedBags(p);
+                    case "includedCabinBags" -> includedCabinBags = readIncludedBags(p);
+                    case "amenities" -> amenities = readAmenities(p);
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        return new FlightOffersProviderDTO.FlightOffer.FareDetailsBySegment(
+            segmentId,
+            cabin,
+            fareBasis,
+            classType,
+            brandedFare,
+            brandedFareLabel,
+            includedCheckedBags != null ? includedCheckedBags : emptyBags(),
+            includedCabinBags != null ? includedCabinBags : emptyBags(),
+            amenities
+        );
+    }
+
+    private static FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags emptyBags() {
+        return new FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags(0, "", 0);
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags readIncludedBags(JsonParser p) throws IOException {
+        int quantity = 0;
+        String weightUnit = "";
+        int weight = 0;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "quantity" -> quantity = p.getValueAsInt();
+                    case "weightUnit" -> weightUnit = p.getValueAsString();
+                    case "weight" -> weight = p.getValueAsInt();
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        return new FlightOffersProviderDTO.FlightOffer.IncludedCheckedBags(quantity, weightUnit, weight);
+    }
+
+    private List<FlightOffersProviderDTO.FlightOffer.Amenity> readAmenities(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return Collections.emptyList();
+        }
+
+        List<FlightOffersProviderDTO.FlightOffer.Amenity> amenities = new ArrayList<>();
+        JsonStreamContext arrayContext = p.getParsingContext();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            try {
+                amenities.add(readAmenity(p));
+            } catch (Exception e) {
+                logger.error("Error parsing amenity: {}", e.getMessage());
+                skipToContext(p, arrayContext);
+            }
+        }
+        return amenities;
+    }
+
+    private FlightOffersProviderDTO.FlightOffer.Amenity readAmenity(JsonParser p) throws IOException {
+        String description = "";
+        boolean isChargeable = false;
+        String amenityType = "";
+        String providerName = "";
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "description" -> description = p.getValueAsString();
+                    case "isChargeable" -> isChargeable = p.getValueAsBoolean();
+                    case "amenityType" -> amenityType = p.getValueAsString();
+                    case "amenityProvider" -> providerName = readSingleText(p, "name");
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        return new FlightOffersProviderDTO.FlightOffer.Amenity(
+            description,
+            isChargeable,
+            amenityType,
+            new FlightOffersProviderDTO.FlightOffer.AmenityProvider(providerName)
+        );
+    }
+
+    private FlightOffersProviderDTO.Dictionaries readDictionaries(JsonParser p) throws IOException {
+        Map<String, FlightOffersProviderDTO.DictionaryLocation> locations = new HashMap<>();
+        Map<String, String> aircraft = new HashMap<>();
+        Map<String, String> currencies = new HashMap<>();
+        Map<String, String> carriers = new HashMap<>();
+
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return FlightOffersFrames.emptyDictionaries();
+        }
+
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken value = p.nextToken();
+            if (value != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "locations" -> readDictionaryLocations(p, locations);
+                case "aircraft" -> readStringMap(p, aircraft);
+                case "currencies" -> readStringMap(p, currencies);
+                case "carriers" -> readStringMap(p, carriers);
+                default -> p.skipChildren();
+            }
+        }
+
+        return new FlightOffersProviderDTO.Dictionaries(locations, aircraft, currencies, carriers);
+    }
+
+    private void readDictionaryLocations(JsonParser p, Map<String, FlightOffersProviderDTO.DictionaryLocation> target) throws IOException {
+        for (String code = p.nextFieldName(); code != null; code = p.nextFieldName()) {
+            p.nextToken();
+            String cityCode = null;
+            String countryCode = null;
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                    p.nextToken();
+                    switch (field) {
+                        case "cityCode" -> cityCode = p.getValueAsString();
+                        case "countryCode" -> countryCode = p.getValueAsString();
+                        default -> p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+            if (cityCode == null || countryCode == null) {
+                throw new IllegalStateException("Dictionary location " + code + " must have cityCode and countryCode");
+            }
+            target.put(code, new FlightOffersProviderDTO.DictionaryLocation(
+                cityCode,
+                countryCode,
+                null,
+                null,
+                null,
+                0.0,
+                0.0
+            ));
+        }
+    }
+
+    private void readStringMap(JsonParser p, Map<String, String> target) throws IOException {
+        for (String key = p.nextFieldName(); key != null; key = p.nextFieldName()) {
+            p.nextToken();
+            target.put(key, p.getValueAsString());
+            p.skipChildren();
+        }
+    }
+
+    private String readSingleText(JsonParser p, String fieldName) throws IOException {
+        String result = "";
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (fieldName.equals(field) && value != JsonToken.VALUE_NULL) {
+                    result = p.getValueAsString();
+                } else {
+                    p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+        return result;
+    }
+
+    private List<String> readStringList(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            result.add(p.getValueAsString());
+            p.skipChildren();
+        }
+        return result;
+    }
+
+    /**
+     * Moves the parser forward until it is back in the given container, i.e. right after
+     * the element that failed to parse, so the enclosing loop can continue with the next one.
+     */
+    private static void skipToContext(JsonParser p, JsonStreamContext context) throws IOException {
+        while (p.getParsingContext() != context && p.nextToken() != null) {
+            // consume the rest of the broken element
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.encora.victorvazquez.flights_search.infrastructure.parser;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO.FlightOffer;
+
+import java.util.List;
+
+/**
+ * Derives the numeric timing fields stored on decoded offers. Unknown values are
+ * reported as {@link IsoTimeCodec#UNKNOWN_MINUTES} rather than failing the offer.
+ */
+public final class FlightOfferTimings {
+
+    private FlightOfferTimings() {
+    }
+
+    /**
+     * Sum of the gaps between consecutive segments, from arrival to the next departure.
+     */
+    public static int layoverMinutes(List<FlightOffer.Segment> segments) {
+        long total = 0;
+        for (int i = 1; i < segments.size(); i++) {
+            FlightOffer.Location arrival = segments.get(i - 1).arrival();
+            FlightOffer.Location departure = segments.get(i).departure();
+            if (arrival == null || departure == null || arrival.at() == null || departure.at() == null) {
+                return IsoTimeCodec.UNKNOWN_MINUTES;
+            }
+            total += departure.epochMinute() - arrival.epochMinute();
+        }
+        return (int) total;
+    }
+
+    /**
+     * Total flying plus connection time across all itineraries of an offer.
+     */
+    public static int totalMinutes(List<FlightOffer.Itinerary> itineraries) {
+        int total = 0;
+        for (FlightOffer.Itinerary itinerary : itineraries) {
+            if (itinerary.durationMinutes() < 0) {
+                return IsoTimeCodec.UNKNOWN_MINUTES;
+            }
+            total += itinerary.durationMinutes();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,58 @@
+package com.encora.victorvazquez.flights_search.infrastructure.parser;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between a complete flight-offers response and its frame representation.
+ */
+public final class FlightOffersFrames {
+
+    private FlightOffersFrames() {
+    }
+
+    public static FlightOffersProviderDTO assemble(List<FlightOffersStreamFrameDTO> frames) {
+        FlightOffersProviderDTO.Meta meta = null;
+        FlightOffersProviderDTO.Dictionaries dictionaries = null;
+        List<FlightOffersProviderDTO.FlightOffer> offers = new ArrayList<>(frames.size());
+
+        for (FlightOffersStreamFrameDTO frame : frames) {
+            if (frame instanceof FlightOffersStreamFrameDTO.Meta metaFrame) {
+                meta = metaFrame.meta();
+            } else if (frame instanceof FlightOffersStreamFrameDTO.Offer offerFrame) {
+                offers.add(offerFrame.offer());
+            } else if (frame instanceof FlightOffersStreamFrameDTO.Dictionaries dictionariesFrame) {
+                dictionaries = dictionariesFrame.dictionaries();
+            }
+        }
+
+        return new FlightOffersProviderDTO(
+            meta,
+            offers,
+            dictionaries != null ? dictionaries : emptyDictionaries()
+        );
+    }
+
+    public static List<FlightOffersStreamFrameDTO> split(FlightOffersProviderDTO response) {
+        List<FlightOffersStreamFrameDTO> frames = new ArrayList<>(response.data().size() + 2);
+        frames.add(new FlightOffersStreamFrameDTO.Meta(response.meta()));
+        for (FlightOffersProviderDTO.FlightOffer offer : response.data()) {
+            frames.add(new FlightOffersStreamFrameDTO.Offer(offer));
+        }
+        frames.add(new FlightOffersStreamFrameDTO.Dictionaries(response.dictionaries()));
+        return frames;
+    }
+
+    public static FlightOffersProviderDTO.Dictionaries emptyDictionaries() {
+        return new FlightOffersProviderDTO.Dictionaries(
+            Map.of(),
+            Map.of(),
+            Map.of(),
+            Map.of()
+        );
+    }
+}
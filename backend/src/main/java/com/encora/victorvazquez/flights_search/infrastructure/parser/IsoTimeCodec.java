@@ -0,0 +1,176 @@
+package com.encora.victorvazquez.flights_search.infrastructure.parser;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fixed-format parsers for the ISO-8601 values Amadeus sends in flight offers.
+ * <p>
+ * Durations look like {@code PT2H35M} or {@code P1DT3H} and timestamps like
+ * {@code 2025-07-01T10:30:00}. Both are read with plain character arithmetic instead of
+ * {@link java.time.Duration#parse} / {@link LocalDateTime#parse}, which go through the
+ * general-purpose formatter machinery on every call.
+ */
+public final class IsoTimeCodec {
+    public static final int UNKNOWN_MINUTES = -1;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private IsoTimeCodec() {
+    }
+
+    /**
+     * Parses a day/time duration into whole minutes. Seconds are accepted and dropped.
+     *
+     * @throws IllegalArgumentException when the text is not a {@code PnDTnHnMnS} duration
+     */
+    public static int parseDurationMinutes(CharSequence text) {
+        int length = text.length();
+        if (length < 3 || text.charAt(0) != 'P') {
+            throw invalidDuration(text);
+        }
+
+        int minutes = 0;
+        int value = 0;
+        boolean digits = false;
+        boolean time = false;
+        for (int i = 1; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+                continue;
+            }
+            if (c == 'T' && !time && !digits) {
+                time = true;
+                continue;
+            }
+            if (!digits) {
+                throw invalidDuration(text);
+            }
+            switch (c) {
+                case 'D' -> {
+                    if (time) {
+                        throw invalidDuration(text);
+                    }
+                    minutes += value * MINUTES_PER_DAY;
+                }
+                case 'H' -> {
+                    if (!time) {
+                        throw invalidDuration(text);
+                    }
+                    minutes += value * 60;
+                }
+                case 'M' -> {
+                    if (!time) {
+                        throw invalidDuration(text);
+                    }
+                    minutes += value;
+                }
+                case 'S' -> {
+                    if (!time) {
+                        throw invalidDuration(text);
+                    }
+                }
+                default -> throw invalidDuration(text);
+            }
+            value = 0;
+            digits = false;
+        }
+        if (digits || text.charAt(length - 1) == 'T') {
+            throw invalidDuration(text);
+        }
+        return minutes;
+    }
+
+    /**
+     * Same as {@link #parseDurationMinutes} but returns {@link #UNKNOWN_MINUTES} for
+     * missing or malformed input.
+     */
+    public static int durationMinutesOrUnknown(String text) {
+        if (text == null || text.isEmpty()) {
+            return UNKNOWN_MINUTES;
+        }
+        try {
+            return parseDurationMinutes(text);
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN_MINUTES;
+        }
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm}, optionally followed by {@code :ss} and a fraction.
+     * The fraction is validated but dropped; Amadeus schedules never carry one.
+     *
+     * @throws IllegalArgumentException when the text does not have that shape
+     * @throws java.time.DateTimeException when a field is out of range
+     */
+    public static LocalDateTime parseLocalDateTime(CharSequence text) {
+        int length = text.length();
+        if (length < 16
+            || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':') {
+            throw invalidDateTime(text);
+        }
+        int second = 0;
+        if (length > 16) {
+            if (length < 19 || text.charAt(16) != ':') {
+                throw invalidDateTime(text);
+            }
+            second = digits(text, 17, 2);
+            if (length > 19) {
+                if (text.charAt(19) != '.' || length == 20) {
+                    throw invalidDateTime(text);
+                }
+                digits(text, 20, length - 20);
+            }
+        }
+
+        return LocalDateTime.of(
+            digits(text, 0, 4),
+            digits(text, 5, 2),
+            digits(text, 8, 2),
+            digits(text, 11, 2),
+            digits(text, 14, 2),
+            second
+        );
+    }
+
+    /**
+     * Minutes since 1970-01-01T00:00 of the wall-clock time, ignoring zones. Differences
+     * between two values are exact when both are local to the same airport, which is
+     * what layover calculations need.
+     */
+    public static long epochMinute(LocalDateTime dateTime) {
+        return daysFromCivil(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth()) * MINUTES_PER_DAY
+            + dateTime.getHour() * 60L
+            + dateTime.getMinute();
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static int digits(CharSequence text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw invalidDateTime(text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalidDuration(CharSequence text) {
+        return new IllegalArgumentException("Invalid ISO-8601 duration: " + text);
+    }
+
+    private static IllegalArgumentException invalidDateTime(CharSequence text) {
+        return new IllegalArgumentException("Invalid ISO-8601 local date-time: " + text);
+    }
+}
@@ -0,0 +1,231 @@
+package com.encora.victorvazquez.flights_search.infrastructure.ratelimit;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusConcurrencyLimitProperties;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many Amadeus calls are in flight at once, with a cap that follows the
+ * provider's latency (AIMD on a latency signal).
+ * <p>
+ * Two moving averages of the response time are kept: a short one that reacts within a few
+ * calls and a long one that stands for the provider's normal latency. While the short
+ * average stays within {@code latencyTolerance} of the long one, each successful call
+ * raises the limit by {@code 1 / limit}, roughly one slot per round of calls. When the
+ * short average climbs past it, or a call fails, times out or is throttled, the limit is
+ * multiplied by {@code backoffRatio}, at most once per short round trip so a burst of slow
+ * responses does not collapse it to the floor. The limit only grows while at least half of
+ * it is in use, so a quiet period cannot inflate it.
+ * <p>
+ * Calls over the limit wait in a short bounded queue; a full queue or a wait longer than
+ * {@code maxWait} fails fast with {@link RateLimitExceededException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double SHORT_RTT_WEIGHT = 0.3;
+    private static final double LONG_RTT_WEIGHT = 0.05;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Deque<Permit> queue = new ArrayDeque<>();
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    private double limit;
+    private int inFlight;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(AmadeusConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.latencyTolerance = Math.max(1.0, properties.getLatencyTolerance());
+        this.backoffRatio = Math.min(Math.max(properties.getBackoffRatio(), 0.1), 0.99);
+        this.maxQueue = Math.max(0, properties.getMaxQueue());
+        this.maxWait = properties.getMaxWait();
+        this.limit = Math.min(Math.max(properties.getInitialLimit(), minLimit), maxLimit);
+
+        Gauge.builder("amadeus.concurrency.limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+            .description("Current adaptive limit on concurrent Amadeus calls")
+            .register(meterRegistry);
+        Gauge.builder("amadeus.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::currentInFlight)
+            .description("Amadeus calls currently holding a concurrency slot")
+            .register(meterRegistry);
+        Gauge.builder("amadeus.concurrency.queue.depth", this, AdaptiveConcurrencyLimiter::currentQueueDepth)
+            .description("Amadeus calls waiting for a concurrency slot")
+            .register(meterRegistry);
+        this.queueFullRejections = Counter.builder("amadeus.concurrency.rejected")
+            .description("Amadeus calls rejected by the adaptive concurrency limiter")
+            .tag("reason", "queue_full")
+            .register(meterRegistry);
+        this.timeoutRejections = Counter.builder("amadeus.concurrency.rejected")
+            .description("Amadeus calls rejected by the adaptive concurrency limiter")
+            .tag("reason", "timeout")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Emits a permit once a slot is free. The caller must {@link Permit#release()} it when
+     * the call is over; releasing twice is harmless.
+     */
+    public Mono<Permit> acquire() {
+        Mono<Permit> permit = Mono.create(sink -> {
+            Permit candidate = new Permit(sink);
+            sink.onCancel(() -> abandon(candidate));
+            boolean granted = false;
+            boolean rejected = false;
+            synchronized (this) {
+                if (inFlight < (int) limit && queue.isEmpty()) {
+                    inFlight++;
+                    candidate.holdsSlot = true;
+                    granted = true;
+                } else if (queue.size() >= maxQueue) {
+                    rejected = true;
+                } else {
+                    queue.addLast(candidate);
+                }
+            }
+
+            if (granted) {
+                sink.success(candidate);
+            } else if (rejected) {
+                queueFullRejections.increment();
+                sink.error(new RateLimitExceededException(
+                    "The flight provider is saturated. Please try again later.", RETRY_AFTER));
+            }
+        });
+
+        return permit
+            .timeout(maxWait)
+            .onErrorMap(TimeoutException.class, e -> {
+                timeoutRejections.increment();
+                return new RateLimitExceededException(
+                    "Timed out waiting for the flight provider. Please try again later.", RETRY_AFTER);
+            });
+    }
+
+    private void onSample(long rttNanos, boolean dropped) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (dropped) {
+                decrease(now);
+                return;
+            }
+            shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + SHORT_RTT_WEIGHT * (rttNanos - shortRttNanos);
+            longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + LONG_RTT_WEIGHT * (rttNanos - longRttNanos);
+
+            if (shortRttNanos > longRttNanos * latencyTolerance) {
+                decrease(now);
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+        grantWaiting();
+    }
+
+    private void decrease(long now) {
+        if (lastDecreaseNanos != 0 && now - lastDecreaseNanos < shortRttNanos) {
+            return;
+        }
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastDecreaseNanos = now;
+    }
+
+    private void releaseSlot() {
+        synchronized (this) {
+            inFlight--;
+        }
+        grantWaiting();
+    }
+
+    private void grantWaiting() {
+        List<Permit> ready = new ArrayList<>();
+        synchronized (this) {
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                inFlight++;
+                Permit next = queue.pollFirst();
+                next.holdsSlot = true;
+                ready.add(next);
+            }
+        }
+        for (Permit permit : ready) {
+            permit.grant();
+        }
+    }
+
+    private void abandon(Permit permit) {
+        boolean handedOver;
+        synchronized (this) {
+            handedOver = !queue.remove(permit) && permit.holdsSlot;
+        }
+        if (handedOver) {
+            // The slot was handed over, but the caller went away before it could use it.
+            permit.release();
+        }
+    }
+
+    private synchronized double currentLimit() {
+        return limit;
+    }
+
+    private synchronized int currentInFlight() {
+        return inFlight;
+    }
+
+    private synchronized int currentQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * One concurrency slot. Reports the call's latency once and gives the slot back once.
+     */
+    public final class Permit {
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean sampled = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private boolean holdsSlot;
+
+        private Permit(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        public void onSuccess(long rttNanos) {
+            if (sampled.compareAndSet(false, true)) {
+                onSample(rttNanos, false);
+            }
+        }
+
+        public void onDropped() {
+            if (sampled.compareAndSet(false, true)) {
+                onSample(0, true);
+            }
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot();
+            }
+        }
+
+        private void grant() {
+            sink.success(this);
+        }
+    }
+}
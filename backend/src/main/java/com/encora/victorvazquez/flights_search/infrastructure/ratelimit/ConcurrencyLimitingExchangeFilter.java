@@ -0,0 +1,51 @@
+package com.encora.victorvazquez.flights_search.infrastructure.ratelimit;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds an {@link AdaptiveConcurrencyLimiter} slot for the whole Amadeus exchange, from
+ * sending the request until the response body has been read or discarded.
+ * <p>
+ * The latency fed back to the limiter is the time to the response headers, which tracks
+ * how loaded the provider is without depending on how many offers the body carries. 5xx
+ * and 429 responses, connection errors and timeouts count as drops.
+ */
+public class ConcurrencyLimitingExchangeFilter implements ExchangeFilterFunction {
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitingExchangeFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return limiter.acquire().flatMap(permit -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                .doOnNext(response -> {
+                    if (isDropped(response.statusCode())) {
+                        permit.onDropped();
+                    } else {
+                        permit.onSuccess(System.nanoTime() - start);
+                    }
+                })
+                .map(response -> response.mutate()
+                    .body(body -> body.doFinally(signal -> permit.release()))
+                    .build())
+                .doOnError(e -> {
+                    permit.onDropped();
+                    permit.release();
+                })
+                .doOnCancel(permit::release);
+        });
+    }
+
+    private static boolean isDropped(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == 429;
+    }
+}
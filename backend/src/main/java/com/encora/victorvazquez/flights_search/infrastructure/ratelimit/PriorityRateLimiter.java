@@ -0,0 +1,230 @@
+package com.encora.victorvazquez.flights_search.infrastructure.ratelimit;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusRateLimitProperties;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Token bucket in front of the Amadeus quota, with one bounded wait queue per
+ * {@link RequestPriority}.
+ * <p>
+ * A call takes a token immediately when one is available and nobody is queued; otherwise
+ * it waits in its class's queue. Whenever tokens become available they are handed out to
+ * the highest-priority queue first. A full queue, or a wait longer than
+ * {@code maxWait}, fails fast with {@link RateLimitExceededException}. When Amadeus
+ * answers 429, {@link #pauseFor(Duration)} empties the bucket until its
+ * {@code Retry-After} has passed.
+ * <p>
+ * The lock only guards a few arithmetic updates and queue operations; waiting happens on
+ * timers, never by blocking a thread.
+ */
+public class PriorityRateLimiter {
+    private final double permitsPerNano;
+    private final double burst;
+    private final Duration maxWait;
+    private final Scheduler scheduler = Schedulers.parallel();
+    private final Map<RequestPriority, Deque<Waiter>> queues = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Integer> capacities = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Timer> waitTimers = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejections = new EnumMap<>(RequestPriority.class);
+    private final Counter providerThrottles;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private Disposable scheduledDrain;
+
+    public PriorityRateLimiter(AmadeusRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.permitsPerNano = properties.getPermitsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, properties.getBurst());
+        this.maxWait = properties.getMaxWait();
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+
+        capacities.put(RequestPriority.INTERACTIVE, properties.getInteractiveQueueCapacity());
+        capacities.put(RequestPriority.AUTOCOMPLETE, properties.getAutocompleteQueueCapacity());
+        capacities.put(RequestPriority.BATCH, properties.getBatchQueueCapacity());
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            Deque<Waiter> queue = new ArrayDeque<>();
+            queues.put(priority, queue);
+            Gauge.builder("amadeus.ratelimiter.queue.depth", this, limiter -> limiter.depth(priority))
+                .description("Calls waiting for an Amadeus rate-limit token")
+                .tag("priority", tag)
+                .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("amadeus.ratelimiter.wait")
+                .description("Time spent waiting for an Amadeus rate-limit token")
+                .tag("priority", tag)
+                .register(meterRegistry));
+            rejections.put(priority, Counter.builder("amadeus.ratelimiter.rejected")
+                .description("Calls rejected because the wait queue was full or the wait too long")
+                .tag("priority", tag)
+                .register(meterRegistry));
+        }
+        this.providerThrottles = Counter.builder("amadeus.ratelimiter.provider.throttled")
+            .description("429 responses from Amadeus that paused the limiter")
+            .register(meterRegistry);
+    }
+
+    public Mono<Void> acquire(RequestPriority priority) {
+        Mono<Void> permit = Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink, priority, System.nanoTime());
+            boolean granted = false;
+            boolean rejected = false;
+            synchronized (this) {
+                long now = System.nanoTime();
+                refill(now);
+                if (now >= pausedUntilNanos && tokens >= 1 && nothingQueued()) {
+                    tokens -= 1;
+                    granted = true;
+                } else if (queues.get(priority).size() >= capacities.get(priority)) {
+                    rejected = true;
+                } else {
+                    queues.get(priority).addLast(waiter);
+                    scheduleDrain(now);
+                }
+            }
+
+            if (granted) {
+                waitTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+                sink.success();
+            } else if (rejected) {
+                rejections.get(priority).increment();
+                sink.error(new RateLimitExceededException(
+                    "Too many pending requests to the flight provider. Please try again later.", retryAfter()));
+            } else {
+                sink.onCancel(() -> remove(waiter));
+            }
+        });
+
+        return permit
+            .timeout(maxWait)
+            .onErrorMap(TimeoutException.class, e -> {
+                rejections.get(priority).increment();
+                return new RateLimitExceededException(
+                    "Timed out waiting for the flight provider rate limit. Please try again later.", retryAfter());
+            });
+    }
+
+    /**
+     * Stops handing out tokens for the given time, typically the provider's Retry-After.
+     */
+    public void pauseFor(Duration duration) {
+        providerThrottles.increment();
+        synchronized (this) {
+            long now = System.nanoTime();
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + duration.toNanos());
+            tokens = 0;
+            lastRefillNanos = now;
+            if (!nothingQueued()) {
+                scheduleDrain(now);
+            }
+        }
+    }
+
+    private void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        synchronized (this) {
+            scheduledDrain = null;
+            long now = System.nanoTime();
+            refill(now);
+            while (now >= pausedUntilNanos && tokens >= 1) {
+                Waiter next = pollHighestPriority();
+                if (next == null) {
+                    break;
+                }
+                tokens -= 1;
+                ready.add(next);
+            }
+            if (!nothingQueued()) {
+                scheduleDrain(now);
+            }
+        }
+
+        long now = System.nanoTime();
+        for (Waiter waiter : ready) {
+            waitTimers.get(waiter.priority()).record(now - waiter.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            waiter.sink().success();
+        }
+    }
+
+    private void scheduleDrain(long now) {
+        if (scheduledDrain != null) {
+            return;
+        }
+        long delay;
+        if (now < pausedUntilNanos) {
+            delay = pausedUntilNanos - now;
+        } else {
+            delay = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+        }
+        scheduledDrain = scheduler.schedule(this::drain, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private void refill(long now) {
+        if (now < pausedUntilNanos) {
+            lastRefillNanos = now;
+            return;
+        }
+        long from = Math.max(lastRefillNanos, pausedUntilNanos);
+        tokens = Math.min(burst, tokens + (now - from) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+
+    private Waiter pollHighestPriority() {
+        for (RequestPriority priority : RequestPriority.values()) {
+            Waiter waiter = queues.get(priority).pollFirst();
+            if (waiter != null) {
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private boolean nothingQueued() {
+        for (Deque<Waiter> queue : queues.values()) {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized int depth(RequestPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    private synchronized void remove(Waiter waiter) {
+        queues.get(waiter.priority()).remove(waiter);
+    }
+
+    private synchronized Duration retryAfter() {
+        long now = System.nanoTime();
+        long untilToken = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+        long nanos = Math.max(pausedUntilNanos - now, 0) + untilToken;
+        return Duration.ofSeconds(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos) + 1));
+    }
+
+    private record Waiter(MonoSink<Void> sink, RequestPriority priority, long enqueuedNanos) {}
+}
@@ -0,0 +1,73 @@
+package com.encora.victorvazquez.flights_search.infrastructure.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Makes every outbound Amadeus call take a token from the {@link PriorityRateLimiter},
+ * using the {@link RequestPriority} found in the Reactor context, and pauses the limiter
+ * when Amadeus answers 429.
+ */
+public class RateLimitingExchangeFilter implements ExchangeFilterFunction {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitingExchangeFilter.class);
+    private static final Duration MAX_RETRY_AFTER = Duration.ofMinutes(1);
+
+    private final PriorityRateLimiter rateLimiter;
+    private final Duration defaultRetryAfter;
+
+    public RateLimitingExchangeFilter(PriorityRateLimiter rateLimiter, Duration defaultRetryAfter) {
+        this.rateLimiter = rateLimiter;
+        this.defaultRetryAfter = defaultRetryAfter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> rateLimiter.acquire(RequestPriority.from(context)))
+            .then(Mono.defer(() -> next.exchange(request)))
+            .doOnNext(response -> {
+                if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    Duration retryAfter = retryAfter(response.headers().asHttpHeaders(), defaultRetryAfter);
+                    logger.warn("Amadeus throttled {} {}; pausing outbound calls for {}",
+                        request.method(), request.url().getPath(), retryAfter);
+                    rateLimiter.pauseFor(retryAfter);
+                }
+            });
+    }
+
+    /**
+     * Reads {@code Retry-After} as seconds or an HTTP date, capped at one minute. Falls back
+     * to {@code fallback} when the header is missing, unreadable or not in the future.
+     */
+    public static Duration retryAfter(HttpHeaders headers, Duration fallback) {
+        String header = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (header == null || header.isBlank()) {
+            return fallback;
+        }
+        Duration retryAfter;
+        try {
+            retryAfter = Duration.ofSeconds(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                retryAfter = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            } catch (RuntimeException ignored) {
+                return fallback;
+            }
+        }
+        if (retryAfter.isNegative() || retryAfter.isZero()) {
+            return fallback;
+        }
+        return retryAfter.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : retryAfter;
+    }
+}
@@ -0,0 +1,25 @@
+package com.encora.victorvazquez.flights_search.infrastructure.ratelimit;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Priority class of an outbound Amadeus call. It travels in the Reactor context from the
+ * code that starts a search down to the WebClient filters; calls without one are treated
+ * as interactive.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    AUTOCOMPLETE,
+    BATCH;
+
+    private static final String CONTEXT_KEY = RequestPriority.class.getName();
+
+    public static RequestPriority from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, INTERACTIVE);
+    }
+
+    public Context asContext() {
+        return Context.of(CONTEXT_KEY, this);
+    }
+}
@@ -0,0 +1,453 @@
+package com.encora.victorvazquez.flights_search.infrastructure.synthetic;
+
+import com.encora.victorvazquez.flights_search.config.FlightSyntheticOffersProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO.FlightOffer;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersStreamFrameDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.FlightOfferTimings;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.FlightOffersFrames;
+import com.encora.victorvazquez.flights_search.infrastructure.parser.IsoTimeCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates flight offers instead of asking Amadeus, for finding the backend's own
+ * limits without provider latency or quota in the way. Active under the
+ * {@code synthetic} profile; see {@link FlightSyntheticOffersProperties}.
+ * <p>
+ * Offers are a pure function of the seed, the search and the offer's position, so the
+ * same search always yields the same response and a stream can be generated lazily one
+ * offer at a time. The search's route, dates, travelers, cabin, currency, carrier
+ * filters, non-stop flag and maximum price are honoured; the {@code max} cap of 250 is
+ * not, when {@code flights.synthetic.offers} asks for more.
+ */
+public class SyntheticFlightOfferPort implements FlightOfferPort {
+    private static final int DEFAULT_OFFERS = 250;
+    private static final String DEFAULT_CURRENCY = "EUR";
+    private static final String DEFAULT_CABIN = "ECONOMY";
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final Map<String, String> CARRIERS = Map.ofEntries(
+        Map.entry("AM", "AEROMEXICO"),
+        Map.entry("Y4", "VOLARIS"),
+        Map.entry("VB", "VIVA AEROBUS"),
+        Map.entry("AA", "AMERICAN AIRLINES"),
+        Map.entry("UA", "UNITED AIRLINES"),
+        Map.entry("DL", "DELTA AIR LINES"),
+        Map.entry("IB", "IBERIA"),
+        Map.entry("AV", "AVIANCA"),
+        Map.entry("CM", "COPA AIRLINES"),
+        Map.entry("BA", "BRITISH AIRWAYS"),
+        Map.entry("AF", "AIR FRANCE"),
+        Map.entry("LH", "LUFTHANSA")
+    );
+    private static final List<String> CARRIER_CODES = CARRIERS.keySet().stream().sorted().toList();
+    private static final Map<String, String> AIRCRAFT = Map.of(
+        "7M8", "BOEING 737 MAX 8",
+        "32N", "AIRBUS A320NEO",
+        "321", "AIRBUS A321",
+        "E90", "EMBRAER 190",
+        "789", "BOEING 787-9",
+        "359", "AIRBUS A350-900"
+    );
+    private static final List<String> AIRCRAFT_CODES = AIRCRAFT.keySet().stream().sorted().toList();
+    private static final Map<String, String> CURRENCIES = Map.of(
+        "EUR", "EURO",
+        "USD", "US DOLLAR",
+        "MXN", "MEXICAN PESO"
+    );
+    private static final List<String> HUBS = List.of(
+        "MEX", "PTY", "DFW", "IAH", "ATL", "ORD", "MIA", "MAD", "BOG", "CDG", "FRA", "LHR");
+    private static final List<FlightOffer.Amenity> AMENITIES = List.of(
+        amenity("CHECKED BAG 1PC OF 23KG", "BAGGAGE", true),
+        amenity("SNACK", "MEAL", false),
+        amenity("BEVERAGE", "MEAL", false),
+        amenity("SEAT SELECTION", "BRANDED_FARES", true),
+        amenity("CHANGEABLE TICKET", "BRANDED_FARES", true),
+        amenity("PRIORITY BOARDING", "TRAVEL_SERVICES", true),
+        amenity("WIFI ON BOARD", "ENTERTAINMENT", true),
+        amenity("LOUNGE ACCESS", "TRAVEL_SERVICES", true)
+    );
+    private static final String BOOKING_CLASSES = "YBMHKLQV";
+    private static final String FARE_BASIS_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private final FlightSyntheticOffersProperties properties;
+    private final Counter generatedOffers;
+
+    public SyntheticFlightOfferPort(FlightSyntheticOffersProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.generatedOffers = Counter.builder("flights.synthetic.offers")
+            .description("Flight offers generated by the synthetic provider")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<FlightOffersProviderDTO> searchFlights(FlightOfferSearch request) {
+        return streamFlights(request).collectList().map(FlightOffersFrames::assemble);
+    }
+
+    @Override
+    public Flux<FlightOffersStreamFrameDTO> streamFlights(FlightOfferSearch request) {
+        return delayed(Flux.defer(() -> {
+            Search search = new Search(request);
+            Flux<FlightOffersStreamFrameDTO> offers = Flux.range(0, search.count)
+                .map(index -> new FlightOffersStreamFrameDTO.Offer(search.offer(index)));
+            return Flux.concat(
+                Mono.just(new FlightOffersStreamFrameDTO.Meta(
+                    new FlightOffersProviderDTO.Meta(search.count, new FlightOffersProviderDTO.Links("")))),
+                offers,
+                Mono.fromSupplier(() -> new FlightOffersStreamFrameDTO.Dictionaries(search.dictionaries()))
+            );
+        }));
+    }
+
+    /**
+     * Always empty: the bundled location index answers the searches it can, and anything
+     * it misses would not be found in generated data either.
+     */
+    @Override
+    public Flux<LocationSearchResponseDTO> searchLocations(LocationSearch locationSearch) {
+        return delayed(Flux.just(new LocationSearchResponseDTO(
+            new LocationSearchResponseDTO.Meta(0, new LocationSearchResponseDTO.Links(null, null)),
+            List.of()
+        )));
+    }
+
+    private <T> Flux<T> delayed(Flux<T> response) {
+        Duration latency = properties.getLatency();
+        long jitterNanos = properties.getLatencyJitter().toNanos();
+        if (jitterNanos > 0) {
+            latency = latency.plusNanos(ThreadLocalRandom.current().nextLong(jitterNanos + 1));
+        }
+        return latency.isZero() || latency.isNegative() ? response : response.delaySubscription(latency);
+    }
+
+    private static FlightOffer.Amenity amenity(String description, String type, boolean chargeable) {
+        return new FlightOffer.Amenity(description, chargeable, type, new FlightOffer.AmenityProvider("BrandedFare"));
+    }
+
+    private static String isoDuration(int minutes) {
+        StringBuilder text = new StringBuilder("PT");
+        if (minutes >= 60) {
+            text.append(minutes / 60).append('H');
+        }
+        if (minutes % 60 != 0 || minutes < 60) {
+            text.append(minutes % 60).append('M');
+        }
+        return text.toString();
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double cabinFactor(String cabin) {
+        return switch (cabin) {
+            case "PREMIUM_ECONOMY" -> 1.6;
+            case "BUSINESS" -> 3.5;
+            case "FIRST" -> 6.0;
+            default -> 1.0;
+        };
+    }
+
+    private static String brandedFare(String cabin) {
+        return switch (cabin) {
+            case "PREMIUM_ECONOMY" -> "COMFORT";
+            case "BUSINESS" -> "BUSINESS";
+            case "FIRST" -> "FIRST";
+            default -> "CLASSIC";
+        };
+    }
+
+    private static FlightOffer.Location location(SplittableRandom random, String iataCode, LocalDateTime at) {
+        String terminal = random.nextInt(3) == 0 ? null : String.valueOf(1 + random.nextInt(3));
+        return new FlightOffer.Location(iataCode, terminal, at, IsoTimeCodec.epochMinute(at));
+    }
+
+    private static String fareBasis(SplittableRandom random, String bookingClass) {
+        StringBuilder fareBasis = new StringBuilder(bookingClass);
+        for (int c = 0; c < 6; c++) {
+            fareBasis.append(FARE_BASIS_CHARACTERS.charAt(random.nextInt(FARE_BASIS_CHARACTERS.length())));
+        }
+        return fareBasis.toString();
+    }
+
+    private static List<String> carriers(FlightOfferSearch request) {
+        if (request.includedAirlineCodes() != null && !request.includedAirlineCodes().isEmpty()) {
+            return request.includedAirlineCodes();
+        }
+        List<String> carriers = new ArrayList<>(CARRIER_CODES);
+        if (request.excludedAirlineCodes() != null) {
+            carriers.removeAll(request.excludedAirlineCodes());
+        }
+        return carriers.isEmpty() ? CARRIER_CODES : carriers;
+    }
+
+    /**
+     * Everything about one search that does not depend on the offer, plus the codes its
+     * offers used so far, for the dictionaries frame.
+     */
+    private final class Search {
+        private final FlightOfferSearch request;
+        private final long seed;
+        private final int count;
+        private final int itineraries;
+        private final int directMinutes;
+        private final String currency;
+        private final String cabin;
+        private final List<String> carriers;
+        private final List<String> travelerTypes;
+        private final Set<String> usedLocations = new LinkedHashSet<>();
+        private final Set<String> usedCarriers = new LinkedHashSet<>();
+        private final Set<String> usedAircraft = new LinkedHashSet<>();
+
+        Search(FlightOfferSearch request) {
+            this.request = request;
+            this.seed = properties.getSeed() * GOLDEN_GAMMA + Objects.hash(
+                request.originLocationCode(), request.destinationLocationCode(),
+                request.departureDate(), request.returnDate(),
+                request.adults(), request.children(), request.infants(),
+                request.travelClass(), request.includedAirlineCodes(), request.excludedAirlineCodes(),
+                request.nonStop(), request.currencyCode(), request.maxPrice(), request.max());
+            this.count = properties.getOffers() > 0 ? properties.getOffers()
+                : request.max() > 0 ? request.max() : DEFAULT_OFFERS;
+            this.itineraries = properties.getItineraries() > 0 ? properties.getItineraries()
+                : request.returnDate() != null ? 2 : 1;
+            // Symmetric in origin and destination, so both directions take about as long.
+            String first = request.originLocationCode().compareTo(request.destinationLocationCode()) < 0
+                ? request.originLocationCode() : request.destinationLocationCode();
+            String second = first.equals(request.originLocationCode())
+                ? request.destinationLocationCode() : request.originLocationCode();
+            this.directMinutes = 55 + Math.floorMod((first + second).hashCode(), 660);
+            this.currency = request.currencyCode() != null && !request.currencyCode().isEmpty()
+                ? request.currencyCode() : DEFAULT_CURRENCY;
+            this.cabin = request.travelClass() != null && !request.travelClass().isEmpty()
+                ? request.travelClass() : DEFAULT_CABIN;
+            this.carriers = carriers(request);
+            this.travelerTypes = travelerTypes(request);
+        }
+
+        FlightOffer offer(int index) {
+            SplittableRandom random = new SplittableRandom(seed + index * GOLDEN_GAMMA);
+
+            List<FlightOffer.Itinerary> itineraryList = new ArrayList<>(itineraries);
+            List<FlightOffer.Segment> allSegments = new ArrayList<>();
+            for (int i = 0; i < itineraries; i++) {
+                FlightOffer.Itinerary itinerary = itinerary(random, i, allSegments.size());
+                itineraryList.add(itinerary);
+                allSegments.addAll(itinerary.segments());
+            }
+
+            double adultTotal = (40 + directMinutes * 0.9) * cabinFactor(cabin) * itineraries
+                * (1 + 0.15 * (allSegments.size() - itineraries)) * (0.7 + random.nextDouble() * 0.9);
+            if (request.maxPrice() != null && request.maxPrice() > 0) {
+                adultTotal = Math.min(adultTotal, request.maxPrice() * (0.5 + random.nextDouble() * 0.5));
+            }
+
+            String bookingClass = String.valueOf(BOOKING_CLASSES.charAt(random.nextInt(BOOKING_CLASSES.length())));
+            String fareBasis = fareBasis(random, bookingClass);
+            int checkedBags = "ECONOMY".equals(cabin) ? random.nextInt(2) : 2;
+
+            List<FlightOffer.TravelerPricing> travelerPricings = new ArrayList<>(travelerTypes.size());
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal base = BigDecimal.ZERO;
+            for (int t = 0; t < travelerTypes.size(); t++) {
+                String travelerType = travelerTypes.get(t);
+                double share = switch (travelerType) {
+                    case "CHILD" -> 0.75;
+                    case "HELD_INFANT" -> 0.1;
+                    default -> 1.0;
+                };
+                BigDecimal travelerTotal = money(adultTotal * share);
+                BigDecimal travelerBase = money(adultTotal * share * 0.82);
+                total = total.add(travelerTotal);
+                base = base.add(travelerBase);
+                travelerPricings.add(new FlightOffer.TravelerPricing(
+                    String.valueOf(t + 1),
+                    "STANDARD",
+                    travelerType,
+                    new FlightOffer.Price(currency, travelerTotal, travelerBase, List.of(), travelerTotal),
+                    fareDetails(allSegments, bookingClass, fareBasis, checkedBags)
+                ));
+            }
+
+            generatedOffers.increment();
+            return new FlightOffer(
+                String.valueOf(index + 1),
+                "GDS",
+                false,
+                false,
+                false,
+                request.departureDate().minusDays(1).toString(),
+                1 + random.nextInt(9),
+                itineraryList,
+                new FlightOffer.Price(currency, total, base, List.of(
+                    new FlightOffer.Fee(money(0), "SUPPLIER"),
+                    new FlightOffer.Fee(money(0), "TICKETING")
+                ), total),
+                new FlightOffer.PricingOptions(List.of("PUBLISHED"), checkedBags > 0),
+                List.of(allSegments.get(0).carrierCode()),
+                travelerPricings,
+                FlightOfferTimings.totalMinutes(itineraryList)
+            );
+        }
+
+        /**
+         * Even itineraries fly out on the departure date, odd ones back on the return date
+         * (or a week later); itineraries past the second repeat that a day later each time.
+         */
+        private FlightOffer.Itinerary itinerary(SplittableRandom random, int position, int segmentsBefore) {
+            boolean outbound = position % 2 == 0;
+            String from = outbound ? request.originLocationCode() : request.destinationLocationCode();
+            String to = outbound ? request.destinationLocationCode() : request.originLocationCode();
+            LocalDate date = (outbound ? request.departureDate()
+                : request.returnDate() != null ? request.returnDate() : request.departureDate().plusDays(7))
+                .plusDays(position / 2);
+
+            int minSegments = Math.max(1, properties.getMinSegments());
+            int maxSegments = Math.max(minSegments, properties.getMaxSegments());
+            int segmentCount = Boolean.TRUE.equals(request.nonStop()) ? 1
+                : minSegments + random.nextInt(maxSegments - minSegments + 1);
+
+            List<String> stops = new ArrayList<>(segmentCount + 1);
+            stops.add(from);
+            for (int s = 1; s < segmentCount; s++) {
+                stops.add(hub(random, stops, to));
+            }
+            stops.add(to);
+
+            String carrier = carriers.get(random.nextInt(carriers.size()));
+            String aircraft = AIRCRAFT_CODES.get(random.nextInt(AIRCRAFT_CODES.size()));
+            usedCarriers.add(carrier);
+            usedAircraft.add(aircraft);
+
+            int flyingMinutes = (int) (directMinutes * (1 + 0.15 * (segmentCount - 1)));
+            LocalDateTime departure = date.atTime(5 + random.nextInt(18), random.nextInt(12) * 5);
+            List<FlightOffer.Segment> segments = new ArrayList<>(segmentCount);
+            for (int s = 0; s < segmentCount; s++) {
+                int minutes = Math.max(35, flyingMinutes / segmentCount + random.nextInt(-20, 21) / 5 * 5);
+                LocalDateTime arrival = departure.plusMinutes(minutes);
+                usedLocations.add(stops.get(s));
+                usedLocations.add(stops.get(s + 1));
+                segments.add(new FlightOffer.Segment(
+                    location(random, stops.get(s), departure),
+                    location(random, stops.get(s + 1), arrival),
+                    carrier,
+                    String.valueOf(100 + random.nextInt(9900)),
+                    new FlightOffer.Aircraft(aircraft),
+                    new FlightOffer.Operating(carrier),
+                    isoDuration(minutes),
+                    String.valueOf(segmentsBefore + s + 1),
+                    0,
+                    false,
+                    minutes
+                ));
+                departure = arrival.plusMinutes(45 + random.nextInt(40) * 5);
+            }
+
+            int durationMinutes = (int) (segments.get(segmentCount - 1).arrival().epochMinute()
+                - segments.get(0).departure().epochMinute());
+            return new FlightOffer.Itinerary(
+                isoDuration(durationMinutes),
+                segments,
+                durationMinutes,
+                FlightOfferTimings.layoverMinutes(segments)
+            );
+        }
+
+        private String hub(SplittableRandom random, List<String> stops, String to) {
+            for (int attempt = 0; attempt < HUBS.size(); attempt++) {
+                String hub = HUBS.get(random.nextInt(HUBS.size()));
+                if (!stops.contains(hub) && !hub.equals(to)) {
+                    return hub;
+                }
+            }
+            // More stops than distinct hubs; repeat one rather than fail.
+            return HUBS.get(random.nextInt(HUBS.size()));
+        }
+
+        private List<FlightOffer.FareDetailsBySegment> fareDetails(List<FlightOffer.Segment> segments,
+                                                                   String bookingClass, String fareBasis,
+                                                                   int checkedBags) {
+            int amenityCount = Math.max(0, properties.getAmenities());
+            List<FlightOffer.Amenity> amenities = new ArrayList<>(amenityCount);
+            for (int a = 0; a < amenityCount; a++) {
+                amenities.add(AMENITIES.get(a % AMENITIES.size()));
+            }
+
+            List<FlightOffer.FareDetailsBySegment> details = new ArrayList<>(segments.size());
+            for (FlightOffer.Segment segment : segments) {
+                details.add(new FlightOffer.FareDetailsBySegment(
+                    segment.id(),
+                    cabin,
+                    fareBasis,
+                    bookingClass,
+                    brandedFare(cabin),
+                    brandedFare(cabin),
+                    new FlightOffer.IncludedCheckedBags(checkedBags, "", 0),
+                    new FlightOffer.IncludedCheckedBags(1, "", 0),
+                    amenities
+                ));
+            }
+            return details;
+        }
+
+        private FlightOffersProviderDTO.Dictionaries dictionaries() {
+            Map<String, FlightOffersProviderDTO.DictionaryLocation> locations = new LinkedHashMap<>();
+            usedLocations.forEach(code -> locations.put(code,
+                new FlightOffersProviderDTO.DictionaryLocation(code, null, null, null, null, 0, 0)));
+            Map<String, String> aircraft = new LinkedHashMap<>();
+            usedAircraft.forEach(code -> aircraft.put(code, AIRCRAFT.get(code)));
+            Map<String, String> carrierNames = new LinkedHashMap<>();
+            usedCarriers.forEach(code -> carrierNames.put(code, CARRIERS.getOrDefault(code, code)));
+            return new FlightOffersProviderDTO.Dictionaries(
+                locations,
+                aircraft,
+                Map.of(currency, CURRENCIES.getOrDefault(currency, currency)),
+                carrierNames
+            );
+        }
+
+        private List<String> travelerTypes(FlightOfferSearch request) {
+            List<String> types = new ArrayList<>();
+            for (int i = 0; i < request.adults(); i++) {
+                types.add("ADULT");
+            }
+            for (int i = 0; i < request.children(); i++) {
+                types.add("CHILD");
+            }
+            for (int i = 0; i < request.infants(); i++) {
+                types.add("HELD_INFANT");
+            }
+            int wanted = properties.getTravelerPricings();
+            if (wanted > 0) {
+                while (types.size() < wanted) {
+                    types.add("ADULT");
+                }
+                return List.copyOf(types.subList(0, wanted));
+            }
+            return types.isEmpty() ? List.of("ADULT") : types;
+        }
+    }
+}
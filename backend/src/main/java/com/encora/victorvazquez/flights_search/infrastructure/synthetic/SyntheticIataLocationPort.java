@@ -0,0 +1,71 @@
+package com.encora.victorvazquez.flights_search.infrastructure.synthetic;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationByIATAProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO.LocationDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.IataLocationPort;
+import com.encora.victorvazquez.flights_search.infrastructure.location.LocationIndexHolder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers IATA lookups from the location reference index instead of Amadeus, so the
+ * {@code synthetic} profile never reaches the provider. Codes missing from the snapshot
+ * are not found, as they would be after a 404.
+ */
+public class SyntheticIataLocationPort implements IataLocationPort {
+    private static final String AIRPORT = "AIRPORT";
+    private static final String CITY = "CITY";
+
+    private final LocationIndexHolder indexHolder;
+
+    public SyntheticIataLocationPort(LocationIndexHolder indexHolder) {
+        this.indexHolder = indexHolder;
+    }
+
+    @Override
+    public Mono<LocationByIATAProviderDTO> findAirportByIataCode(String iataCode) {
+        return find(iataCode, AIRPORT);
+    }
+
+    @Override
+    public Mono<LocationByIATAProviderDTO> findCityByIataCode(String iataCode) {
+        return find(iataCode, CITY);
+    }
+
+    private Mono<LocationByIATAProviderDTO> find(String iataCode, String subType) {
+        return Mono.fromCallable(() -> indexHolder.current().search(iataCode, subType, null).stream()
+                .filter(location -> iataCode.equalsIgnoreCase(location.iataCode()))
+                .findFirst()
+                .map(SyntheticIataLocationPort::toProviderDTO)
+                .orElse(null));
+    }
+
+    private static LocationByIATAProviderDTO toProviderDTO(LocationDTO location) {
+        return new LocationByIATAProviderDTO(
+            new LocationByIATAProviderDTO.Meta(new LocationByIATAProviderDTO.Links(
+                location.self() != null ? location.self().href() : null)),
+            new LocationByIATAProviderDTO.Data(
+                location.type(),
+                location.subType(),
+                location.name(),
+                location.detailedName(),
+                location.id(),
+                location.self() != null
+                    ? new LocationByIATAProviderDTO.Self(location.self().href(), location.self().methods())
+                    : null,
+                location.timeZoneOffset(),
+                location.iataCode(),
+                location.geoCode() != null
+                    ? new LocationByIATAProviderDTO.GeoCode(location.geoCode().latitude(), location.geoCode().longitude())
+                    : null,
+                location.address() != null
+                    ? new LocationByIATAProviderDTO.Address(location.address().cityName(), location.address().cityCode(),
+                        location.address().countryName(), location.address().countryCode(), location.address().regionCode())
+                    : null,
+                location.analytics() != null && location.analytics().travelers() != null
+                    ? new LocationByIATAProviderDTO.Analytics(
+                        new LocationByIATAProviderDTO.Travelers(location.analytics().travelers().score()))
+                    : null
+            )
+        );
+    }
+}
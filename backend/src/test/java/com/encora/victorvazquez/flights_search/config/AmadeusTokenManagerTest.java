@@ -0,0 +1,99 @@
+package com.encora.victorvazquez.flights_search.config;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class AmadeusTokenManagerTest {
+    private static final int CONCURRENT_REQUESTS = 1_000;
+    private static final Duration TOKEN_CALL_LATENCY = Duration.ofMillis(300);
+
+    private final AtomicInteger tokenCalls = new AtomicInteger();
+    private DisposableServer tokenEndpoint;
+    private AmadeusTokenManager tokenManager;
+
+    @AfterEach
+    void tearDown() {
+        if (tokenManager != null) {
+            tokenManager.shutdown();
+        }
+        if (tokenEndpoint != null) {
+            tokenEndpoint.disposeNow();
+        }
+    }
+
+    @Test
+    void concurrentRequestsWithoutATokenShareOneTokenCall() {
+        start(1799);
+
+        List<String> tokens = requestConcurrently();
+
+        assertThat(tokens).hasSize(CONCURRENT_REQUESTS).containsOnly("token-1");
+        assertThat(tokenCalls).hasValue(1);
+    }
+
+    @Test
+    void concurrentRequestsWithAnExpiredTokenShareOneRenewal() {
+        // Inside the expiry margin from the start, so every batch finds the token expired.
+        start(30);
+
+        assertThat(requestConcurrently()).containsOnly("token-1");
+        assertThat(requestConcurrently()).containsOnly("token-2");
+        assertThat(tokenCalls).hasValue(2);
+    }
+
+    @Test
+    void proactiveRenewalIsOneCallAndNeverBlocksRequests() {
+        // Renewal is due two minutes before expiry, so about a second after the first token.
+        start(121);
+        assertThat(requestConcurrently()).containsOnly("token-1");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> tokenCalls.get() == 2);
+        List<String> duringRenewal = requestConcurrently();
+        await().atMost(Duration.ofSeconds(5)).until(() -> "token-2".equals(tokenManager.getAccessToken().block()));
+
+        assertThat(duringRenewal).containsOnly("token-1");
+        assertThat(tokenCalls).hasValue(2);
+    }
+
+    private void start(int expiresInSeconds) {
+        tokenEndpoint = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(routes -> routes.post("/v1/security/oauth2/token", (request, response) -> {
+                int call = tokenCalls.incrementAndGet();
+                String body = "{\"type\":\"amadeusOAuth2Token\",\"token_type\":\"Bearer\",\"access_token\":\"token-"
+                    + call + "\",\"expires_in\":" + expiresInSeconds + ",\"state\":\"approved\"}";
+                return request.receive().then(Mono.delay(TOKEN_CALL_LATENCY))
+                    .then(response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just(body))
+                        .then());
+            }))
+            .bindNow();
+
+        AmadeusProperties properties = new AmadeusProperties();
+        properties.setKey("key");
+        properties.setSecret("secret");
+        properties.setBaseUrl("http://127.0.0.1:" + tokenEndpoint.port());
+        tokenManager = new AmadeusTokenManager(properties);
+    }
+
+    private List<String> requestConcurrently() {
+        return Flux.range(0, CONCURRENT_REQUESTS)
+            .flatMap(i -> tokenManager.getAccessToken().subscribeOn(Schedulers.parallel()), CONCURRENT_REQUESTS)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,52 @@
+package com.encora.victorvazquez.flights_search.features.flight.service;
+
+import com.encora.victorvazquez.flights_search.config.FlightBatchProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightBatchResultDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightBatchServiceTest {
+    private static final FlightOfferSearch GOOD = search("MEX", "JFK");
+    private static final FlightOfferSearch FAILING = search("MEX", "XXX");
+
+    private final FlightOfferPort flightOfferPort = mock(FlightOfferPort.class);
+    private final FlightBatchService service = new FlightBatchService(flightOfferPort, new FlightBatchProperties());
+
+    @Test
+    void failingSearchBecomesAnErrorRowWithItsCodeAndMessage() {
+        FlightOffersProviderDTO offers = mock(FlightOffersProviderDTO.class);
+        when(flightOfferPort.searchFlights(GOOD)).thenReturn(Mono.just(offers));
+        when(flightOfferPort.searchFlights(FAILING)).thenReturn(Mono.error(new BusinessException(
+            "Error in Amadeus API: 400 BAD_REQUEST - Invalid destination", "API_ERROR")));
+
+        List<FlightBatchResultDTO> results = service.searchBatch(List.of(GOOD, FAILING))
+            .sort(Comparator.comparingInt(FlightBatchResultDTO::index))
+            .collectList()
+            .block();
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).status()).isEqualTo(FlightBatchResultDTO.Status.OK);
+        assertThat(results.get(0).result()).isSameAs(offers);
+        assertThat(results.get(1).status()).isEqualTo(FlightBatchResultDTO.Status.ERROR);
+        assertThat(results.get(1).code()).isEqualTo("API_ERROR");
+        assertThat(results.get(1).message()).isEqualTo("Error in Amadeus API: 400 BAD_REQUEST - Invalid destination");
+        assertThat(results.get(1).result()).isNull();
+    }
+
+    private static FlightOfferSearch search(String origin, String destination) {
+        return new FlightOfferSearch(origin, destination,
+            LocalDate.now().plusDays(30), null, 1, 0, 0, null, List.of(), List.of(), null, "USD", null, 20);
+    }
+}
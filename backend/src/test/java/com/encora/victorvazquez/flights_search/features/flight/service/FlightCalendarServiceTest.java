@@ -0,0 +1,50 @@
+package com.encora.victorvazquez.flights_search.features.flight.service;
+
+import com.encora.victorvazquez.flights_search.config.FlightCalendarProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightCalendarCellDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightCalendarServiceTest {
+    private static final LocalDate DEPARTURE = LocalDate.now().plusDays(60);
+
+    private final FlightOfferPort flightOfferPort = mock(FlightOfferPort.class);
+    private final FlightCalendarProperties properties = new FlightCalendarProperties();
+    private final FlightCalendarService service = new FlightCalendarService(flightOfferPort, properties);
+
+    FlightCalendarServiceTest() {
+        when(flightOfferPort.searchFlights(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void windowsAreCappedAtTheConfiguredMaximum() {
+        List<FlightCalendarCellDTO> cells = service.searchCalendar(search(DEPARTURE, DEPARTURE.plusDays(7)), 10, 10)
+            .collectList().block();
+
+        assertThat(cells).hasSize(7 * 7);
+        assertThat(cells).extracting(FlightCalendarCellDTO::departureDate)
+            .allMatch(date -> !date.isBefore(DEPARTURE.minusDays(3)) && !date.isAfter(DEPARTURE.plusDays(3)));
+    }
+
+    @Test
+    void raisingTheMaximumWidensTheWindow() {
+        properties.setMaxWindowDays(5);
+
+        assertThat(service.searchCalendar(search(DEPARTURE, null), 5, 0).collectList().block()).hasSize(11);
+    }
+
+    private static FlightOfferSearch search(LocalDate departure, LocalDate returnDate) {
+        return new FlightOfferSearch("MEX", "JFK", departure, returnDate, 1, 0, 0, null, List.of(), List.of(),
+            null, "USD", null, 20);
+    }
+}
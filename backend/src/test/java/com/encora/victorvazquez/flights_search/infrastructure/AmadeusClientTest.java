@@ -0,0 +1,71 @@
+package com.encora.victorvazquez.flights_search.infrastructure;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusHedgingProperties;
+import com.encora.victorvazquez.flights_search.config.AmadeusRateLimitProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.infrastructure.concurrency.RequestHedger;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.RateLimitExceededException;
+import com.encora.victorvazquez.flights_search.infrastructure.metrics.SearchStageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AmadeusClientTest {
+    private static final FlightOfferSearch SEARCH = new FlightOfferSearch("MEX", "JFK",
+        LocalDate.now().plusDays(30), null, 1, 0, 0, null, List.of(), List.of(), null, "USD", null, 20);
+
+    private final AmadeusClient client = throttledClient("7");
+
+    @Test
+    void throttledFlightSearchIsARateLimitErrorWithTheProvidersRetryAfter() {
+        assertThatThrownBy(() -> client.searchFlights(SEARCH).block())
+            .isInstanceOfSatisfying(RateLimitExceededException.class,
+                e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(7)));
+    }
+
+    @Test
+    void throttledFlightStreamIsARateLimitError() {
+        assertThatThrownBy(() -> client.streamFlights(SEARCH).blockLast())
+            .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void throttledLocationSearchIsARateLimitErrorWithTheProvidersRetryAfter() {
+        LocationSearch search = new LocationSearch("AIRPORT", "MEX", null, 10, 0, null, null);
+
+        assertThatThrownBy(() -> client.searchLocations(search).blockLast())
+            .isInstanceOfSatisfying(RateLimitExceededException.class,
+                e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(7)));
+    }
+
+    @Test
+    void unreadableRetryAfterFallsBackToTheConfiguredDefault() {
+        assertThatThrownBy(() -> throttledClient("soon").searchFlights(SEARCH).block())
+            .isInstanceOfSatisfying(RateLimitExceededException.class,
+                e -> assertThat(e.getRetryAfter())
+                    .isEqualTo(new AmadeusRateLimitProperties().getDefaultRetryAfter()));
+    }
+
+    private static AmadeusClient throttledClient(String retryAfter) {
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .build()))
+            .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new AmadeusClient(webClient, new RequestHedger(new AmadeusHedgingProperties(), meterRegistry),
+            new SearchStageMetrics(meterRegistry), new AmadeusRateLimitProperties());
+    }
+}
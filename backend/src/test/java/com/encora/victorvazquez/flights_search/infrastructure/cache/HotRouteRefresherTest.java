@@ -0,0 +1,116 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusRateLimitProperties;
+import com.encora.victorvazquez.flights_search.config.FlightHotRoutesProperties;
+import com.encora.victorvazquez.flights_search.config.FlightSearchCacheProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HotRouteRefresherTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FlightHotRoutesProperties properties = new FlightHotRoutesProperties();
+    private final AmadeusRateLimitProperties rateLimitProperties = new AmadeusRateLimitProperties();
+    private final CachingFlightOfferPort cachingPort = mock(CachingFlightOfferPort.class);
+
+    @BeforeEach
+    void setUp() {
+        // Five refreshes per tick: half of ten permits a second, ticking once a second.
+        rateLimitProperties.setPermitsPerSecond(10);
+        properties.setBudgetShare(0.5);
+        properties.setTickInterval(Duration.ofSeconds(1));
+        properties.setDecayInterval(Duration.ZERO);
+        properties.setMinHits(1);
+
+        when(cachingPort.cachedAgeMillis(any())).thenReturn(-1L);
+        when(cachingPort.refresh(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void refreshesStayWithinTheBudgetShare() {
+        HotRouteRefresher refresher = start();
+        for (int day = 1; day <= 20; day++) {
+            refresher.recordRequest(search("MEX", "JFK", day));
+        }
+
+        refresher.tick();
+        verify(cachingPort, times(5)).refresh(any());
+        assertThat(refreshes("over_budget")).isEqualTo(15);
+
+        refresher.tick();
+        verify(cachingPort, times(10)).refresh(any());
+    }
+
+    @Test
+    void routesBelowTheMinimumHitsAreNotRefreshed() {
+        properties.setMinHits(3);
+        HotRouteRefresher refresher = start();
+        FlightOfferSearch popular = search("MEX", "JFK", 1);
+        FlightOfferSearch occasional = search("MEX", "CUN", 1);
+        FlightOfferSearch calendarOnly = search("MEX", "LAX", 1);
+        for (int i = 0; i < 3; i++) {
+            refresher.recordRequest(popular);
+        }
+        refresher.recordRequest(occasional);
+        refresher.recordRequest(occasional);
+        // Twenty calendar cells at the default weight add up to two searches.
+        for (int i = 0; i < 20; i++) {
+            refresher.recordFanOutRequest(calendarOnly);
+        }
+
+        refresher.tick();
+
+        verify(cachingPort, times(1)).refresh(popular);
+        verify(cachingPort, never()).refresh(occasional);
+        verify(cachingPort, never()).refresh(calendarOnly);
+    }
+
+    @Test
+    void routesWhoseCountDecaysToNothingAreDropped() {
+        properties.setDecayInterval(Duration.ofMillis(1));
+        HotRouteRefresher refresher = new HotRouteRefresher(
+            properties, new FlightSearchCacheProperties(), rateLimitProperties, meterRegistry);
+        refresher.recordRequest(search("MEX", "JFK", 1));
+        assertThat(tracked()).isEqualTo(1);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            refresher.tick();
+            return tracked() == 0;
+        });
+    }
+
+    private HotRouteRefresher start() {
+        HotRouteRefresher refresher = new HotRouteRefresher(
+            properties, new FlightSearchCacheProperties(), rateLimitProperties, meterRegistry);
+        refresher.attach(cachingPort);
+        return refresher;
+    }
+
+    private double refreshes(String result) {
+        return meterRegistry.get("flights.hotroutes.refreshes").tag("result", result).counter().count();
+    }
+
+    private double tracked() {
+        return meterRegistry.get("flights.hotroutes.tracked").gauge().value();
+    }
+
+    private static FlightOfferSearch search(String origin, String destination, int daysAhead) {
+        return new FlightOfferSearch(origin, destination, LocalDate.now().plusDays(daysAhead), null,
+            1, 0, 0, null, List.of(), List.of(), null, "USD", null, 10);
+    }
+}
@@ -0,0 +1,99 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache;
+
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotEntry;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SoftTtlCacheTest {
+    private static final Duration SOFT_TTL = Duration.ofMinutes(1);
+    private static final Duration HARD_TTL = Duration.ofMinutes(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SoftTtlCache<String, String> cache =
+        new SoftTtlCache<>("test", 1_000, value -> 1, SOFT_TTL, HARD_TTL, meterRegistry);
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    @Test
+    void freshEntryIsServedWithoutARefresh() {
+        cache.put("MEX-JFK", "offers");
+
+        SoftTtlCache.Entry<String> entry = cache.get("MEX-JFK", null, refresher(Mono.just("newer")));
+
+        assertThat(entry.value()).isEqualTo("offers");
+        assertThat(refreshes).hasValue(0);
+        assertThat(served("fresh")).isEqualTo(1);
+    }
+
+    @Test
+    void staleEntryIsServedWhileOneRefreshReplacesIt() {
+        putAged("MEX-JFK", "offers", SOFT_TTL.plusSeconds(1));
+        Sinks.One<String> refreshed = Sinks.one();
+
+        assertThat(cache.get("MEX-JFK", null, refresher(refreshed.asMono())).value()).isEqualTo("offers");
+        assertThat(cache.get("MEX-JFK", null, refresher(refreshed.asMono())).value()).isEqualTo("offers");
+        assertThat(refreshes).hasValue(1);
+        assertThat(served("stale")).isEqualTo(2);
+
+        refreshed.tryEmitValue("newer");
+        assertThat(cache.get("MEX-JFK", null, refresher(Mono.just("newest"))).value()).isEqualTo("newer");
+        assertThat(cache.ageMillis("MEX-JFK")).isLessThan(SOFT_TTL.toMillis());
+    }
+
+    @Test
+    void backgroundRefreshRunsAtBatchPriority() {
+        putAged("MEX-JFK", "offers", SOFT_TTL.plusSeconds(1));
+        AtomicReference<RequestPriority> priority = new AtomicReference<>();
+
+        cache.get("MEX-JFK", null, () -> Mono.deferContextual(context -> {
+            priority.set(RequestPriority.from(context));
+            return Mono.just("newer");
+        }));
+
+        assertThat(priority).hasValue(RequestPriority.BATCH);
+    }
+
+    @Test
+    void entryPastTheHardTtlIsGone() {
+        int restored = cache.restore(List.of(
+            new CacheSnapshotEntry<>("MEX-JFK", "offers", System.currentTimeMillis() - HARD_TTL.plusSeconds(1).toMillis())));
+
+        assertThat(restored).isZero();
+        assertThat(cache.get("MEX-JFK", null, refresher(Mono.just("newer")))).isNull();
+        assertThat(cache.ageMillis("MEX-JFK")).isEqualTo(-1);
+    }
+
+    @Test
+    void entryOlderThanTheCallersMaxAgeIsAMiss() {
+        putAged("MEX-JFK", "offers", Duration.ofSeconds(30));
+
+        assertThat(cache.get("MEX-JFK", Duration.ofSeconds(10), refresher(Mono.just("newer")))).isNull();
+        assertThat(cache.get("MEX-JFK", Duration.ofSeconds(60), refresher(Mono.just("newer")))).isNotNull();
+        assertThat(refreshes).hasValue(0);
+    }
+
+    private void putAged(String key, String value, Duration age) {
+        cache.restore(List.of(new CacheSnapshotEntry<>(key, value, System.currentTimeMillis() - age.toMillis())));
+    }
+
+    private Supplier<Mono<String>> refresher(Mono<String> result) {
+        return () -> {
+            refreshes.incrementAndGet();
+            return result;
+        };
+    }
+
+    private double served(String result) {
+        return meterRegistry.get("flights.cache.served").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,101 @@
+package com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot;
+
+import com.encora.victorvazquez.flights_search.config.FlightCacheSnapshotProperties;
+import com.encora.victorvazquez.flights_search.config.FlightSearchCacheProperties;
+import com.encora.victorvazquez.flights_search.config.FlightSyntheticOffersProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.CachingFlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.synthetic.SyntheticFlightOfferPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheSnapshotServiceTest {
+    private static final FlightOfferSearch SEARCH = new FlightOfferSearch("MEX", "JFK",
+        LocalDate.now().plusDays(30), null, 1, 0, 0, null, List.of(), List.of(), null, "USD", null, 20);
+
+    @TempDir
+    Path directory;
+
+    private final FlightSearchCacheProperties cacheProperties = new FlightSearchCacheProperties();
+    private final FlightCacheSnapshotProperties snapshotProperties = new FlightCacheSnapshotProperties();
+    private FlightOffersProviderDTO cached;
+
+    @BeforeEach
+    void saveOneSearch() {
+        snapshotProperties.setLocation(directory.resolve("caches.snapshot"));
+        snapshotProperties.setInterval(Duration.ZERO);
+
+        CachingFlightOfferPort port = port();
+        cached = port.searchFlights(SEARCH).block();
+        CacheSnapshotService service = new CacheSnapshotService(snapshotProperties, new SimpleMeterRegistry());
+        service.register(port);
+        service.save();
+    }
+
+    @Test
+    void restartRestoresCachedSearchesWithTheirAge() {
+        CachingFlightOfferPort restarted = restore();
+
+        assertThat(restarted.cachedAgeMillis(SEARCH)).isBetween(0L, cacheProperties.getSoftTtl().toMillis());
+        assertThat(restarted.searchFlights(SEARCH).block().data()).isEqualTo(cached.data());
+    }
+
+    @Test
+    void entriesPastTheHardTtlAreDroppedOnRestore() throws InterruptedException {
+        Thread.sleep(20);
+        cacheProperties.setTtl(Duration.ofMillis(10));
+        cacheProperties.setSoftTtl(Duration.ofMillis(10));
+
+        assertThat(restore().cachedAgeMillis(SEARCH)).isEqualTo(-1);
+    }
+
+    @Test
+    void corruptSnapshotIsRejectedByItsChecksum() throws IOException {
+        Path location = snapshotProperties.getLocation();
+        byte[] bytes = Files.readAllBytes(location);
+        bytes[bytes.length - 10] ^= 0x5A;
+        Files.write(location, bytes);
+
+        assertThatThrownBy(() -> CacheSnapshotFile.read(location, Long.MAX_VALUE, input -> input.readAllBytes()))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("checksum");
+        assertThat(restore().cachedAgeMillis(SEARCH)).isEqualTo(-1);
+    }
+
+    @Test
+    void truncatedSnapshotStartsCold() throws IOException {
+        Path location = snapshotProperties.getLocation();
+        byte[] bytes = Files.readAllBytes(location);
+        Files.write(location, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThat(restore().cachedAgeMillis(SEARCH)).isEqualTo(-1);
+    }
+
+    private CachingFlightOfferPort restore() {
+        CachingFlightOfferPort port = port();
+        CacheSnapshotService service = new CacheSnapshotService(snapshotProperties, new SimpleMeterRegistry());
+        service.register(port);
+        service.afterSingletonsInstantiated();
+        return port;
+    }
+
+    private CachingFlightOfferPort port() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new CachingFlightOfferPort(
+            new SyntheticFlightOfferPort(new FlightSyntheticOffersProperties(), meterRegistry), cacheProperties, meterRegistry);
+    }
+}
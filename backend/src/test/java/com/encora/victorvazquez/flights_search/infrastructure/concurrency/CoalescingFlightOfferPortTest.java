@@ -0,0 +1,51 @@
+package com.encora.victorvazquez.flights_search.infrastructure.concurrency;
+
+import com.encora.victorvazquez.flights_search.config.FlightSearchCoalescingProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CoalescingFlightOfferPortTest {
+    private static final FlightOfferSearch SEARCH = new FlightOfferSearch("MEX", "JFK",
+        LocalDate.now().plusDays(30), null, 1, 0, 0, null, List.of(), List.of(), null, "USD", null, 20);
+
+    private final FlightOfferPort delegate = mock(FlightOfferPort.class);
+    private final Sinks.One<FlightOffersProviderDTO> response = Sinks.one();
+    private CoalescingFlightOfferPort port;
+
+    @BeforeEach
+    void setUp() {
+        when(delegate.searchFlights(any())).thenReturn(response.asMono());
+        port = new CoalescingFlightOfferPort(delegate, new FlightSearchCoalescingProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void identicalSearchesOfTheSamePriorityShareOneCall() {
+        port.searchFlights(SEARCH).subscribe();
+        port.searchFlights(SEARCH).subscribe();
+
+        verify(delegate, times(1)).searchFlights(any());
+    }
+
+    @Test
+    void interactiveSearchDoesNotJoinABackgroundRefresh() {
+        port.searchFlights(SEARCH).contextWrite(RequestPriority.BATCH.asContext()).subscribe();
+        port.searchFlights(SEARCH).subscribe();
+
+        verify(delegate, times(2)).searchFlights(any());
+    }
+}
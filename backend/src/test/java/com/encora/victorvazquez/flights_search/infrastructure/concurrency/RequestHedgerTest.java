@@ -0,0 +1,122 @@
+package com.encora.victorvazquez.flights_search.infrastructure.concurrency;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusHedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestHedgerTest {
+    private static final Duration FAST = Duration.ofMillis(30);
+    private static final Duration SLOW = Duration.ofMillis(600);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        AmadeusHedgingProperties properties = new AmadeusHedgingProperties();
+        properties.setEnabled(true);
+        properties.setMinDelay(Duration.ofMillis(10));
+        properties.setMinSamples(1);
+        properties.setSampleWindow(1);
+        // Every call earns half a hedge and at most one is saved up.
+        properties.setBudgetRatio(0.5);
+        properties.setBudgetBurst(1);
+        hedger = new RequestHedger(properties, meterRegistry);
+
+        // One timed call sets the hedge delay to about FAST.
+        assertThat(hedger.hedge(provider(List.of(FAST))).block()).isEqualTo("call-0");
+    }
+
+    @Test
+    void slowCallIsHedgedAndTheFasterAnswerWins() {
+        String result = hedger.hedge(provider(List.of(SLOW, FAST))).block();
+
+        assertThat(result).isEqualTo("call-2");
+        assertThat(hedges("sent")).isEqualTo(1);
+        assertThat(hedges("won")).isEqualTo(1);
+    }
+
+    @Test
+    void hedgesStopWhenTheBudgetIsSpent() {
+        hedger.hedge(provider(List.of(SLOW, FAST))).block();
+        hedger.hedge(provider(List.of(SLOW, FAST))).block();
+
+        assertThat(calls).hasValue(4);
+        assertThat(hedges("sent")).isEqualTo(1);
+        assertThat(hedges("over_budget")).isEqualTo(1);
+    }
+
+    @Test
+    void primaryFailureWaitsForTheHedgeInFlight() {
+        Supplier<Mono<String>> primaryFailsLate = () -> Mono.deferContextual(context -> {
+            if (calls.getAndIncrement() == 1) {
+                RequestHedger.requestSent(context);
+                return Mono.delay(Duration.ofMillis(150)).then(Mono.error(new IllegalStateException("primary failed")));
+            }
+            return respond(context, Duration.ofMillis(300), "hedge");
+        });
+
+        assertThat(hedger.hedge(primaryFailsLate).block()).isEqualTo("hedge");
+    }
+
+    @Test
+    void primaryFailureWinsWhenNoHedgeWasSent() {
+        Supplier<Mono<String>> failsFast = () -> Mono.deferContextual(context -> {
+            calls.incrementAndGet();
+            RequestHedger.requestSent(context);
+            return Mono.error(new IllegalStateException("primary failed"));
+        });
+
+        assertThatThrownBy(() -> hedger.hedge(failsFast).block()).hasMessage("primary failed");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void timeQueuedBeforeTheRequestIsSentDoesNotTriggerAHedge() {
+        Supplier<Mono<String>> queuedThenFast = () -> Mono.delay(SLOW)
+            .then(Mono.deferContextual(context -> {
+                calls.incrementAndGet();
+                return respond(context, Duration.ofMillis(5), "queued");
+            }));
+
+        assertThat(hedger.hedge(queuedThenFast).block()).isEqualTo("queued");
+        assertThat(calls).hasValue(2);
+        assertThat(hedges("sent")).isZero();
+    }
+
+    /**
+     * A provider whose n-th call takes the n-th latency, or the last one, and answers with
+     * the call's number counted across the whole test.
+     */
+    private Supplier<Mono<String>> provider(List<Duration> latencies) {
+        int first = calls.get();
+        return () -> Mono.deferContextual(context -> {
+            int call = calls.getAndIncrement();
+            Duration latency = latencies.get(Math.min(call - first, latencies.size() - 1));
+            return respond(context, latency, "call-" + call);
+        });
+    }
+
+    private static Mono<String> respond(ContextView context, Duration latency, String value) {
+        RequestHedger.requestSent(context);
+        return Mono.delay(latency)
+            .doOnNext(tick -> RequestHedger.responseStarted(context, 200))
+            .thenReturn(value);
+    }
+
+    private double hedges(String result) {
+        return meterRegistry.get("amadeus.hedging.hedges").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.encora.victorvazquez.flights_search.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 10, meterRegistry);
+
+    @Test
+    void callersOfTheSameKeyShareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+        List<String> received = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            singleFlight.execute("MEX-JFK", () -> {
+                calls.incrementAndGet();
+                return response.asMono();
+            }).subscribe(received::add);
+        }
+        response.tryEmitValue("offers");
+
+        assertThat(calls).hasValue(1);
+        assertThat(received).containsExactly("offers", "offers", "offers", "offers", "offers");
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void callStaysUpWhileAnyCallerIsListening() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Sinks.One<String> response = Sinks.one();
+        List<String> received = new ArrayList<>();
+
+        Disposable first = singleFlight.execute("MEX-JFK", () -> response.asMono().doOnCancel(() -> cancelled.set(true)))
+            .subscribe();
+        singleFlight.execute("MEX-JFK", response::asMono).subscribe(received::add);
+        first.dispose();
+        response.tryEmitValue("offers");
+
+        assertThat(cancelled).isFalse();
+        assertThat(received).containsExactly("offers");
+    }
+
+    @Test
+    void callIsCancelledWhenTheLastCallerLeaves() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Sinks.One<String> response = Sinks.one();
+
+        Disposable first = singleFlight.execute("MEX-JFK", () -> response.asMono().doOnCancel(() -> cancelled.set(true)))
+            .subscribe();
+        Disposable second = singleFlight.execute("MEX-JFK", response::asMono).subscribe();
+        first.dispose();
+        second.dispose();
+
+        assertThat(cancelled).isTrue();
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(meterRegistry.get("flights.singleflight.calls").tag("result", "abandoned").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void callerAfterAnAbandonedCallStartsAFreshOne() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> abandoned = Sinks.one();
+        singleFlight.execute("MEX-JFK", () -> {
+            calls.incrementAndGet();
+            return abandoned.asMono();
+        }).subscribe().dispose();
+
+        List<String> received = new ArrayList<>();
+        singleFlight.execute("MEX-JFK", () -> {
+            calls.incrementAndGet();
+            return Mono.just("fresh");
+        }).subscribe(received::add);
+
+        assertThat(calls).hasValue(2);
+        assertThat(received).containsExactly("fresh");
+    }
+
+    @Test
+    void fullFlightOverflowsIntoANewCall() {
+        SingleFlight<String, String> small = new SingleFlight<>("small", 2, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+
+        for (int i = 0; i < 3; i++) {
+            small.execute("MEX-JFK", () -> {
+                calls.incrementAndGet();
+                return response.asMono();
+            }).subscribe();
+        }
+
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("flights.singleflight.calls").tags("name", "small", "result", "overflow")
+            .counter().count()).isEqualTo(1);
+    }
+}
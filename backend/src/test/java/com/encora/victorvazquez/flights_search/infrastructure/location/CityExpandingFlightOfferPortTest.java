@@ -0,0 +1,168 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.config.FlightCityExpansionProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO.FlightOffer;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import com.encora.victorvazquez.flights_search.infrastructure.concurrency.FanOutSearch;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.encora.victorvazquez.flights_search.infrastructure.location.LocationIndexTest.location;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CityExpandingFlightOfferPortTest {
+    private static final LocalDateTime MORNING = LocalDate.now().plusDays(30).atTime(8, 0);
+
+    private final FlightOfferPort delegate = mock(FlightOfferPort.class);
+    private final LocationIndexHolder indexHolder = mock(LocationIndexHolder.class);
+    private final FlightCityExpansionProperties properties = new FlightCityExpansionProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CityExpandingFlightOfferPort port =
+        new CityExpandingFlightOfferPort(delegate, indexHolder, properties, meterRegistry);
+
+    private final Map<String, Mono<FlightOffersProviderDTO>> answers = new HashMap<>();
+    private final List<String> searched = new ArrayList<>();
+
+    CityExpandingFlightOfferPortTest() {
+        when(indexHolder.current()).thenReturn(LocationIndex.build(List.of(
+            location("AIRPORT", "LHR", "HEATHROW", "LONDON", "LON", "GB", 95),
+            location("AIRPORT", "LGW", "GATWICK", "LONDON", "LON", "GB", 55),
+            location("AIRPORT", "CDG", "CHARLES DE GAULLE", "PARIS", "PAR", "FR", 90),
+            location("AIRPORT", "ORY", "ORLY", "PARIS", "PAR", "FR", 45))));
+        when(delegate.searchFlights(any())).thenAnswer(invocation -> {
+            FlightOfferSearch pair = invocation.getArgument(0);
+            String route = pair.originLocationCode() + "-" + pair.destinationLocationCode();
+            searched.add(route);
+            return answers.getOrDefault(route, Mono.empty());
+        });
+        properties.setDeadline(Duration.ofMillis(300));
+    }
+
+    @Test
+    void cityCodesAreExpandedIntoEveryAirportPairAndMergedByPrice() {
+        answers.put("LHR-CDG", Mono.just(response(null, offer("BA", "304", "210.00"))));
+        answers.put("LHR-ORY", Mono.just(response(null, offer("AF", "1081", "150.00"))));
+        answers.put("LGW-CDG", Mono.just(response(null, offer("U2", "8401", "90.00"))));
+        answers.put("LGW-ORY", Mono.just(response(null)));
+
+        FlightOffersProviderDTO merged = port.searchFlights(search("LON", "PAR")).block();
+
+        assertThat(searched).containsExactlyInAnyOrder("LHR-CDG", "LHR-ORY", "LGW-CDG", "LGW-ORY");
+        assertThat(merged.data()).extracting(offer -> offer.price().grandTotal())
+            .containsExactly(new BigDecimal("90.00"), new BigDecimal("150.00"), new BigDecimal("210.00"));
+        assertThat(merged.data()).extracting(FlightOffer::id).containsExactly("1", "2", "3");
+        assertThat(merged.meta().count()).isEqualTo(3);
+        assertThat(searches("complete")).isEqualTo(1);
+    }
+
+    @Test
+    void sameItineraryFromTwoPairsIsKeptOnceAtItsCheapestPrice() {
+        answers.put("LHR-CDG", Mono.just(response(null, offer("BA", "304", "210.00"), offer("AF", "1381", "180.00"))));
+        answers.put("LGW-CDG", Mono.just(response(null, offer("BA", "304", "195.00"))));
+
+        FlightOffersProviderDTO merged = port.searchFlights(search("LON", "PAR")).block();
+
+        assertThat(merged.data()).extracting(offer -> offer.itineraries().get(0).segments().get(0).number())
+            .containsExactly("1381", "304");
+        assertThat(merged.data().get(1).price().grandTotal()).isEqualByComparingTo("195.00");
+    }
+
+    @Test
+    void pairsStillRunningAtTheDeadlineAreDroppedAndTheRestReturned() {
+        answers.put("LHR-CDG", Mono.just(response(null, offer("BA", "304", "210.00"))));
+        answers.put("LHR-ORY", Mono.never());
+        answers.put("LGW-CDG", Mono.never());
+        answers.put("LGW-ORY", Mono.just(response(null, offer("U2", "8421", "70.00"))));
+
+        FlightOffersProviderDTO merged = port.searchFlights(search("LON", "PAR")).block(Duration.ofSeconds(5));
+
+        assertThat(merged.data()).extracting(offer -> offer.itineraries().get(0).segments().get(0).number())
+            .containsExactly("8421", "304");
+        assertThat(searches("partial")).isEqualTo(1);
+    }
+
+    @Test
+    void noPairAnsweringByTheDeadlineIsATimeout() {
+        answers.put("LHR-CDG", Mono.never());
+        answers.put("LHR-ORY", Mono.never());
+        answers.put("LGW-CDG", Mono.never());
+        answers.put("LGW-ORY", Mono.never());
+
+        assertThatThrownBy(() -> port.searchFlights(search("LON", "PAR")).block(Duration.ofSeconds(5)))
+            .isInstanceOfSatisfying(BusinessException.class, e -> assertThat(e.getCode()).isEqualTo("TIMEOUT_ERROR"));
+    }
+
+    @Test
+    void pairsThatAllFailSurfaceTheFirstFailure() {
+        BusinessException failure = new BusinessException("Error in Amadeus API", "API_ERROR");
+        answers.put("LHR-CDG", Mono.error(failure));
+        answers.put("LHR-ORY", Mono.error(failure));
+        answers.put("LGW-CDG", Mono.error(failure));
+        answers.put("LGW-ORY", Mono.error(failure));
+
+        assertThatThrownBy(() -> port.searchFlights(search("LON", "PAR")).block()).isSameAs(failure);
+    }
+
+    @Test
+    void mergedDataAgeIsThatOfTheOldestAnswer() {
+        answers.put("LHR-CDG", Mono.just(response(0L, offer("BA", "304", "210.00"))));
+        answers.put("LHR-ORY", Mono.just(response(420L, offer("AF", "1081", "150.00"))));
+        answers.put("LGW-CDG", Mono.just(response(null, offer("U2", "8401", "90.00"))));
+
+        assertThat(port.searchFlights(search("LON", "PAR")).block().meta().dataAgeSeconds()).isEqualTo(420L);
+    }
+
+    @Test
+    void airportCodesAndFanOutSearchesAreNotExpanded() {
+        port.searchFlights(search("LHR", "CDG")).block();
+        port.searchFlights(search("LON", "PAR")).contextWrite(FanOutSearch.asContext()).block();
+
+        assertThat(searched).containsExactly("LHR-CDG", "LON-PAR");
+        verify(delegate, times(2)).searchFlights(any());
+    }
+
+    private double searches(String result) {
+        return meterRegistry.get("flights.city.expansion.searches").tag("result", result).counter().count();
+    }
+
+    private static FlightOfferSearch search(String origin, String destination) {
+        return new FlightOfferSearch(origin, destination, MORNING.toLocalDate(), null, 1, 0, 0, null,
+            List.of(), List.of(), null, "EUR", null, 20);
+    }
+
+    private static FlightOffersProviderDTO response(Long dataAgeSeconds, FlightOffer... offers) {
+        return new FlightOffersProviderDTO(
+            new FlightOffersProviderDTO.Meta(offers.length, new FlightOffersProviderDTO.Links(""), dataAgeSeconds),
+            List.of(offers),
+            new FlightOffersProviderDTO.Dictionaries(Map.of(), Map.of(), Map.of(), Map.of()));
+    }
+
+    private static FlightOffer offer(String carrier, String number, String price) {
+        FlightOffer.Segment segment = new FlightOffer.Segment(
+            new FlightOffer.Location("LHR", null, MORNING, 0), new FlightOffer.Location("CDG", null, MORNING.plusMinutes(75), 0),
+            carrier, number, null, null, "PT1H15M", "1", 0, false, 75);
+        return new FlightOffer("1", "GDS", false, false, true, null, 9,
+            List.of(new FlightOffer.Itinerary("PT1H15M", List.of(segment), 75, 0)),
+            new FlightOffer.Price("EUR", new BigDecimal(price), new BigDecimal(price), List.of(), new BigDecimal(price)),
+            null, List.of(carrier), List.of(), 75);
+    }
+}
@@ -0,0 +1,44 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.config.FlightIataLookupProperties;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationByIATAProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.IataLocationPort;
+import com.encora.victorvazquez.flights_search.infrastructure.cache.snapshot.CacheSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IataLocationLookupTest {
+    private final IataLocationPort iataLocationPort = mock(IataLocationPort.class);
+    private final IataLocationLookup lookup = new IataLocationLookup(iataLocationPort, new FlightIataLookupProperties(),
+        mock(CacheSnapshotService.class), new SimpleMeterRegistry());
+
+    @Test
+    void airportWinsEvenWhenTheCityAnswersFirst() {
+        when(iataLocationPort.findAirportByIataCode("NYC"))
+            .thenReturn(Mono.delay(Duration.ofMillis(100)).thenReturn(location("AIRPORT")));
+        when(iataLocationPort.findCityByIataCode("NYC")).thenReturn(Mono.just(location("CITY")));
+
+        assertThat(lookup.lookup("nyc").block().data().subType()).isEqualTo("AIRPORT");
+    }
+
+    @Test
+    void cityIsUsedOnceTheAirportProbeComesBackEmpty() {
+        when(iataLocationPort.findAirportByIataCode("NYC"))
+            .thenReturn(Mono.delay(Duration.ofMillis(100)).then(Mono.empty()));
+        when(iataLocationPort.findCityByIataCode("NYC")).thenReturn(Mono.just(location("CITY")));
+
+        assertThat(lookup.lookup("NYC").block().data().subType()).isEqualTo("CITY");
+    }
+
+    private static LocationByIATAProviderDTO location(String subType) {
+        return new LocationByIATAProviderDTO(null, new LocationByIATAProviderDTO.Data(
+            "location", subType, "NEW YORK", null, null, null, null, "NYC", null, null, null));
+    }
+}
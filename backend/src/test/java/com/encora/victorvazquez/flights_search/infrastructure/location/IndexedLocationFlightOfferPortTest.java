@@ -0,0 +1,81 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.features.flight.domain.Locations.LocationSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO.LocationDTO;
+import com.encora.victorvazquez.flights_search.features.flight.port.out.FlightOfferPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static com.encora.victorvazquez.flights_search.infrastructure.location.LocationIndexTest.location;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndexedLocationFlightOfferPortTest {
+    private final FlightOfferPort delegate = mock(FlightOfferPort.class);
+    private final LocationIndexHolder indexHolder = mock(LocationIndexHolder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IndexedLocationFlightOfferPort port =
+        new IndexedLocationFlightOfferPort(delegate, indexHolder, meterRegistry);
+
+    IndexedLocationFlightOfferPortTest() {
+        when(indexHolder.current()).thenReturn(LocationIndex.build(List.of(
+            location("AIRPORT", "JFK", "JOHN F KENNEDY INTL", "NEW YORK", "NYC", "US", 100),
+            location("AIRPORT", "LGA", "LAGUARDIA", "NEW YORK", "NYC", "US", 55),
+            location("CITY", "NYC", "NEW YORK", "NEW YORK", "NYC", "US", 100))));
+    }
+
+    @Test
+    void anyIndexMatchIsAnsweredLocallyEvenWhenThePageIsShort() {
+        LocationSearchResponseDTO response = port.searchLocations(search("new york", 10, 0)).blockLast();
+
+        assertThat(response.meta().count()).isEqualTo(3);
+        assertThat(response.data()).extracting(LocationDTO::iataCode).containsExactly("JFK", "NYC", "LGA");
+        verify(delegate, never()).searchLocations(any());
+        assertThat(lookups("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void pagesAreCutFromTheRankedMatches() {
+        assertThat(port.searchLocations(search("new york", 1, 1)).blockLast().data())
+            .extracting(LocationDTO::iataCode).containsExactly("NYC");
+        assertThat(port.searchLocations(search("new york", 10, 5)).blockLast().data()).isEmpty();
+        verify(delegate, never()).searchLocations(any());
+    }
+
+    @Test
+    void unknownKeywordGoesToTheProvider() {
+        LocationSearchResponseDTO fromProvider = new LocationSearchResponseDTO(
+            new LocationSearchResponseDTO.Meta(0, null), List.of());
+        LocationSearch search = search("timbuktu", 10, 0);
+        when(delegate.searchLocations(search)).thenReturn(Flux.just(fromProvider));
+
+        assertThat(port.searchLocations(search).blockLast()).isSameAs(fromProvider);
+        assertThat(lookups("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void filtersThatRuleOutEveryMatchGoToTheProvider() {
+        LocationSearch search = new LocationSearch("AIRPORT", "new york", "CA", 10, 0, null, null);
+        when(delegate.searchLocations(search)).thenReturn(Flux.empty());
+
+        port.searchLocations(search).blockLast();
+
+        verify(delegate).searchLocations(search);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("flights.locations.index.lookups").tag("result", result).counter().count();
+    }
+
+    private static LocationSearch search(String keyword, int limit, int offset) {
+        return new LocationSearch(null, keyword, null, limit, offset, null, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.encora.victorvazquez.flights_search.infrastructure.location;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO.LocationDTO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationIndexTest {
+    private final LocationIndex index = LocationIndex.build(List.of(
+        location("AIRPORT", "LGA", "LAGUARDIA", "NEW YORK", "NYC", "US", 55),
+        location("AIRPORT", "JFK", "JOHN F KENNEDY INTL", "NEW YORK", "NYC", "US", 100),
+        location("CITY", "NYC", "NEW YORK", "NEW YORK", "NYC", "US", 100),
+        location("AIRPORT", "EWR", "NEWARK LIBERTY INTL", "NEWARK", "EWR", "US", 60),
+        location("AIRPORT", "SJO", "JUAN SANTAMARIA INTL", "SAN JOSE", "SJO", "CR", 30),
+        location("AIRPORT", "SJC", "NORMAN Y MINETA SAN JOSE INTL", "SAN JOSE", "SJC", "US", 15),
+        location("AIRPORT", "MEX", "BENITO JUÁREZ INTL", "MEXICO CITY", "MEX", "MX", 80)));
+
+    @Test
+    void matchesAreRankedByTravelerScoreThenName() {
+        assertThat(index.search("new", null, null))
+            .extracting(LocationDTO::iataCode)
+            .containsExactly("JFK", "NYC", "EWR", "LGA");
+    }
+
+    @Test
+    void keywordMatchesCodesNamesWordsAndCities() {
+        assertThat(index.search("jfk", null, null)).extracting(LocationDTO::iataCode).containsExactly("JFK");
+        assertThat(index.search("kenn", null, null)).extracting(LocationDTO::iataCode).containsExactly("JFK");
+        assertThat(index.search("laguardia", null, null)).extracting(LocationDTO::iataCode).containsExactly("LGA");
+        assertThat(index.search("  new-york ", null, null)).extracting(LocationDTO::iataCode)
+            .containsExactly("JFK", "NYC", "LGA");
+    }
+
+    @Test
+    void accentsAndCaseAreIgnored() {
+        assertThat(index.search("Juárez", null, null)).extracting(LocationDTO::iataCode).containsExactly("MEX");
+        assertThat(index.search("juarez", null, null)).extracting(LocationDTO::iataCode).containsExactly("MEX");
+    }
+
+    @Test
+    void subTypeAndCountryNarrowTheMatches() {
+        assertThat(index.search("new york", "CITY", null)).extracting(LocationDTO::iataCode).containsExactly("NYC");
+        assertThat(index.search("new york", "airport", null)).extracting(LocationDTO::iataCode).containsExactly("JFK", "LGA");
+        assertThat(index.search("san jose", null, "us")).extracting(LocationDTO::iataCode).containsExactly("SJC");
+    }
+
+    @Test
+    void unknownOrBlankKeywordsMatchNothing() {
+        assertThat(index.search("zzz", null, null)).isEmpty();
+        assertThat(index.search(" - ", null, null)).isEmpty();
+        assertThat(LocationIndex.empty().search("new", null, null)).isEmpty();
+    }
+
+    @Test
+    void airportsAreGroupedByTheirCityCode() {
+        assertThat(index.airportsInCity("nyc")).extracting(LocationDTO::iataCode).containsExactly("JFK", "LGA");
+        assertThat(index.airportsInCity("LON")).isEmpty();
+        assertThat(index.isAirport("jfk")).isTrue();
+        assertThat(index.isAirport("NYC")).isFalse();
+    }
+
+    @Test
+    void bundledSnapshotCoversMultiAirportCities() throws IOException {
+        LocationIndex bundled;
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("locations/locations.json")) {
+            LocationSearchResponseDTO snapshot = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readValue(input, LocationSearchResponseDTO.class);
+            bundled = LocationIndex.build(snapshot.data());
+        }
+
+        assertThat(bundled.size()).isGreaterThan(500);
+        assertThat(bundled.airportsInCity("LON")).extracting(LocationDTO::iataCode)
+            .containsExactly("LHR", "LGW", "STN", "LTN", "LCY");
+        assertThat(bundled.search("san diego", "AIRPORT", null)).extracting(LocationDTO::iataCode).containsExactly("SAN");
+    }
+
+    static LocationDTO location(String subType, String iataCode, String name, String cityName, String cityCode,
+                                String countryCode, int score) {
+        return new LocationDTO((subType.equals("CITY") ? "C" : "A") + iataCode, null, "location", subType, name,
+            null, null, iataCode, null,
+            new LocationSearchResponseDTO.Address(cityName, cityCode, null, countryCode, null),
+            null, new LocationSearchResponseDTO.Analytics(new LocationSearchResponseDTO.Travelers(score)),
+            0, null, null, null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.encora.victorvazquez.flights_search.infrastructure.metrics;
+
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StageTimingExchangeFilterTest {
+    private static final String ENDPOINT = "/v2/shopping/flight-offers";
+    private static final String BODY = "{\"meta\":{\"count\":0},\"data\":[]}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StageTimingExchangeFilter filter = new StageTimingExchangeFilter(new SearchStageMetrics(meterRegistry));
+    private final ClientRequest request =
+        ClientRequest.create(HttpMethod.GET, URI.create("http://localhost" + ENDPOINT + "?originLocationCode=MEX")).build();
+
+    @Test
+    void exchangeIsSplitIntoAcquireFirstByteAndBodySize() {
+        ClientResponse response = filter.filter(request, r -> Mono.deferContextual(context -> {
+            StageTimingExchangeFilter.requestSent(context);
+            StageTimingExchangeFilter.responseStarted(context);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).body(BODY).build());
+        })).block();
+        response.bodyToMono(String.class).block();
+
+        assertThat(timerCount("flights.stage.connection.acquire", "200")).isEqualTo(1);
+        assertThat(timerCount("flights.stage.first.byte", "200")).isEqualTo(1);
+        assertThat(meterRegistry.get("flights.stage.body.size").tags("endpoint", ENDPOINT, "outcome", "200")
+            .summary().totalAmount()).isEqualTo(BODY.length());
+    }
+
+    @Test
+    void callThatNeverConnectedIsAllConnectionAcquire() {
+        assertThatThrownBy(() -> filter.filter(request, r -> Mono.error(new ConnectException("refused"))).block())
+            .hasCauseInstanceOf(ConnectException.class);
+
+        assertThat(timerCount("flights.stage.connection.acquire", "UNEXPECTED_ERROR")).isEqualTo(1);
+        assertThat(meterRegistry.find("flights.stage.first.byte").timer()).isNull();
+    }
+
+    @Test
+    void outcomesStayLowCardinality() {
+        assertThat(SearchStageMetrics.outcome(null)).isEqualTo(SearchStageMetrics.OK);
+        assertThat(SearchStageMetrics.outcome(
+            WebClientResponseException.create(429, "Too Many Requests", null, null, null))).isEqualTo("429");
+        assertThat(SearchStageMetrics.outcome(new BusinessException("Error processing response", "PARSE_ERROR")))
+            .isEqualTo("PARSE_ERROR");
+        assertThat(SearchStageMetrics.outcome(new BusinessException("Something went wrong for MEX-JFK")))
+            .isEqualTo("BUSINESS_ERROR");
+        assertThat(SearchStageMetrics.outcome(new TimeoutException())).isEqualTo("TIMEOUT_ERROR");
+    }
+
+    @Test
+    void endpointDropsTheQueryString() {
+        assertThat(SearchStageMetrics.endpoint(request)).isEqualTo(ENDPOINT);
+    }
+
+    private long timerCount(String name, String outcome) {
+        return meterRegistry.get(name).tags("endpoint", ENDPOINT, "outcome", outcome).timer().count();
+    }
+}
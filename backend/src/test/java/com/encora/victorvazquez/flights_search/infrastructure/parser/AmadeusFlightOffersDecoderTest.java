@@ -0,0 +1,161 @@
+package com.encora.victorvazquez.flights_search.infrastructure.parser;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AmadeusFlightOffersDecoderTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AmadeusFlightOffersDecoder decoder = new AmadeusFlightOffersDecoder(objectMapper);
+    private final byte[] fixture = fixture("fixtures/flight-offers-10-one-way.json");
+
+    @Test
+    void tokensSplitAcrossBuffersDecodeLikeOneBuffer() {
+        FlightOffersProviderDTO whole = decode(fixture, fixture.length);
+
+        assertThat(whole.meta().count()).isEqualTo(10);
+        assertThat(whole.data()).hasSize(10);
+        assertThat(whole.dictionaries().carriers()).isNotEmpty();
+        for (int chunkSize : new int[] {1, 3, 7, 64, 1000}) {
+            assertThat(decode(fixture, chunkSize)).as("chunks of %d bytes", chunkSize).isEqualTo(whole);
+        }
+    }
+
+    @Test
+    void offerWithoutAnIdIsAnInvalidResponse() {
+        assertFailsWith("INVALID_RESPONSE", offer -> offer.remove("id"));
+    }
+
+    @Test
+    void priceWithoutACurrencyIsAnInvalidResponse() {
+        assertFailsWith("INVALID_RESPONSE", offer -> ((ObjectNode) offer.get("price")).remove("currency"));
+    }
+
+    @Test
+    void segmentWithoutACarrierIsAnInvalidResponse() {
+        assertFailsWith("INVALID_RESPONSE", offer -> firstSegment(offer).remove("carrierCode"));
+    }
+
+    @Test
+    void itinerariesThatAreNotAnArrayAreAnInvalidResponse() {
+        assertFailsWith("INVALID_RESPONSE", offer -> offer.putObject("itineraries"));
+    }
+
+    @Test
+    void unreadableDepartureTimeIsAnInvalidDate() {
+        assertFailsWith("INVALID_DATE", offer -> ((ObjectNode) firstSegment(offer).get("departure"))
+            .put("at", "2026-12-14 14:45"));
+    }
+
+    @Test
+    void pricingOptionsWithoutTheBagFlagAreAParseError() {
+        assertFailsWith("PARSE_ERROR", offer -> ((ObjectNode) offer.get("pricingOptions")).remove("includedCheckedBagsOnly"));
+    }
+
+    @Test
+    void truncatedBodyIsAParseError() {
+        assertThatThrownBy(() -> decode(Arrays.copyOf(fixture, fixture.length / 2), 512))
+            .isInstanceOfSatisfying(BusinessException.class, e -> assertThat(e.getCode()).isEqualTo("PARSE_ERROR"));
+    }
+
+    @Test
+    void malformedTravelerPricingIsSkippedAndItsOfferKept() throws IOException {
+        ObjectNode root = (ObjectNode) objectMapper.readTree(fixture);
+        ObjectNode offer = (ObjectNode) root.withArray("data").get(0);
+        ArrayNode pricings = offer.withArray("travelerPricings");
+        ObjectNode broken = pricings.insertObject(0);
+        broken.put("travelerId", "9");
+        broken.putObject("price").putArray("fees").addObject().put("amount", "1.00");
+
+        FlightOffersProviderDTO response = decode(objectMapper.writeValueAsBytes(root), 100);
+
+        assertThat(response.data()).hasSize(10);
+        assertThat(response.data().get(0).travelerPricings())
+            .singleElement()
+            .satisfies(pricing -> assertThat(pricing.travelerId()).isEqualTo("1"));
+    }
+
+    @Test
+    void responseWithNoOffersIsEmpty() {
+        byte[] body = """
+            {"meta":{"count":0,"links":{"self":"https://test.api.amadeus.com/v2/shopping/flight-offers"}},"data":[]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+        FlightOffersProviderDTO response = decode(body, body.length);
+
+        assertThat(response.meta().count()).isZero();
+        assertThat(response.data()).isEmpty();
+        assertThat(response.dictionaries().locations()).isEmpty();
+    }
+
+    @Test
+    void emptyBodyIsAParseError() {
+        assertThatThrownBy(() -> decoder.decode(Flux.empty()).block())
+            .isInstanceOfSatisfying(BusinessException.class, e -> assertThat(e.getCode()).isEqualTo("PARSE_ERROR"));
+    }
+
+    @Test
+    void errorsBodyIsAParseError() {
+        byte[] body = """
+            {"errors":[{"status":400,"code":477,"title":"INVALID FORMAT","detail":"departureDate is in the past"}]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> decode(body, body.length))
+            .isInstanceOfSatisfying(BusinessException.class, e -> {
+                assertThat(e.getCode()).isEqualTo("PARSE_ERROR");
+                assertThat(e.getMessage()).contains("no meta");
+            });
+    }
+
+    private void assertFailsWith(String code, Consumer<ObjectNode> breakFirstOffer) {
+        byte[] body;
+        try {
+            ObjectNode root = (ObjectNode) objectMapper.readTree(fixture);
+            breakFirstOffer.accept((ObjectNode) root.withArray("data").get(0));
+            body = objectMapper.writeValueAsBytes(root);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        assertThatThrownBy(() -> decode(body, 256))
+            .isInstanceOfSatisfying(BusinessException.class, e -> assertThat(e.getCode()).isEqualTo(code));
+    }
+
+    private static ObjectNode firstSegment(ObjectNode offer) {
+        return (ObjectNode) offer.get("itineraries").get(0).get("segments").get(0);
+    }
+
+    private FlightOffersProviderDTO decode(byte[] body, int chunkSize) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                Arrays.copyOfRange(body, offset, Math.min(body.length, offset + chunkSize))));
+        }
+        return decoder.decode(Flux.fromIterable(buffers)).block();
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream input = AmadeusFlightOffersDecoderTest.class.getClassLoader().getResourceAsStream(name)) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.encora.victorvazquez.flights_search.infrastructure.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsoTimeCodecTest {
+
+    @Test
+    void durationsAreReadIntoWholeMinutes() {
+        assertThat(IsoTimeCodec.parseDurationMinutes("PT2H35M")).isEqualTo(155);
+        assertThat(IsoTimeCodec.parseDurationMinutes("PT45M")).isEqualTo(45);
+        assertThat(IsoTimeCodec.parseDurationMinutes("PT3H")).isEqualTo(180);
+        assertThat(IsoTimeCodec.parseDurationMinutes("P1DT2H")).isEqualTo(26 * 60);
+        assertThat(IsoTimeCodec.parseDurationMinutes("P1D")).isEqualTo(24 * 60);
+    }
+
+    @Test
+    void secondsAreAcceptedAndDropped() {
+        assertThat(IsoTimeCodec.parseDurationMinutes("PT1H5M59S")).isEqualTo(65);
+        assertThat(IsoTimeCodec.parseDurationMinutes("PT30S")).isZero();
+    }
+
+    @Test
+    void malformedDurationsAreRejected() {
+        for (String text : new String[] {"", "P", "PT", "P1H", "P1M", "PT1D", "PT2H35", "2H35M", "PTH", "PT1X", "P1DT"}) {
+            assertThatThrownBy(() -> IsoTimeCodec.parseDurationMinutes(text))
+                .as("%s", text)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void missingOrMalformedDurationsAreUnknown() {
+        assertThat(IsoTimeCodec.durationMinutesOrUnknown(null)).isEqualTo(IsoTimeCodec.UNKNOWN_MINUTES);
+        assertThat(IsoTimeCodec.durationMinutesOrUnknown("")).isEqualTo(IsoTimeCodec.UNKNOWN_MINUTES);
+        assertThat(IsoTimeCodec.durationMinutesOrUnknown("PT")).isEqualTo(IsoTimeCodec.UNKNOWN_MINUTES);
+        assertThat(IsoTimeCodec.durationMinutesOrUnknown("P1H")).isEqualTo(IsoTimeCodec.UNKNOWN_MINUTES);
+        assertThat(IsoTimeCodec.durationMinutesOrUnknown("PT45M")).isEqualTo(45);
+    }
+
+    @Test
+    void dateTimesWithAndWithoutSecondsParseLikeLocalDateTime() {
+        for (String text : new String[] {"2025-07-01T10:30", "2025-07-01T10:30:00", "2025-12-31T23:59:59", "2025-07-01T10:30:15.250"}) {
+            assertThat(IsoTimeCodec.parseLocalDateTime(text)).as(text)
+                .isEqualTo(LocalDateTime.parse(text).withNano(0));
+        }
+    }
+
+    @Test
+    void malformedDateTimesAreRejected() {
+        for (String text : new String[] {"2025-07-01", "2025-07-01 10:30", "2025/07/01T10:30", "2025-07-01T10:3", "2025-07-01T10:30:0",
+            "2025-07-01T10:30:00.", "2025-07-01T10:30:00Z", "2025-07-0aT10:30"}) {
+            assertThatThrownBy(() -> IsoTimeCodec.parseLocalDateTime(text))
+                .as("%s", text)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void leapDaysAreOnlyValidInLeapYears() {
+        assertThat(IsoTimeCodec.parseLocalDateTime("2024-02-29T08:00")).isEqualTo(LocalDateTime.of(2024, 2, 29, 8, 0));
+        assertThat(IsoTimeCodec.parseLocalDateTime("2000-02-29T08:00")).isEqualTo(LocalDateTime.of(2000, 2, 29, 8, 0));
+        assertThatThrownBy(() -> IsoTimeCodec.parseLocalDateTime("2025-02-29T08:00")).isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> IsoTimeCodec.parseLocalDateTime("2100-02-29T08:00")).isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> IsoTimeCodec.parseLocalDateTime("2025-07-01T24:00")).isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    void epochMinuteMatchesTheJavaTimeEpochSecond() {
+        LocalDateTime[] samples = {
+            LocalDateTime.of(1970, 1, 1, 0, 0),
+            LocalDateTime.of(1969, 12, 31, 23, 59),
+            LocalDateTime.of(2000, 2, 29, 12, 0),
+            LocalDateTime.of(2024, 2, 29, 23, 59),
+            LocalDateTime.of(2024, 3, 1, 0, 0),
+            LocalDateTime.of(2025, 12, 31, 23, 59),
+            LocalDateTime.of(2100, 3, 1, 6, 15),
+            LocalDateTime.of(1600, 1, 1, 0, 0)
+        };
+        for (LocalDateTime sample : samples) {
+            assertThat(IsoTimeCodec.epochMinute(sample)).as(sample.toString())
+                .isEqualTo(sample.toEpochSecond(ZoneOffset.UTC) / 60);
+        }
+    }
+
+    @Test
+    void epochMinuteDifferencesSpanDayAndLeapDayBoundaries() {
+        long beforeLeapDay = IsoTimeCodec.epochMinute(LocalDateTime.of(2024, 2, 28, 22, 30));
+        long afterLeapDay = IsoTimeCodec.epochMinute(LocalDateTime.of(2024, 3, 1, 1, 15));
+
+        assertThat(afterLeapDay - beforeLeapDay).isEqualTo(24 * 60 + 2 * 60 + 45);
+    }
+}
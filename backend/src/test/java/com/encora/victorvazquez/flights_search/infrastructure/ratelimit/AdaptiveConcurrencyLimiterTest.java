@@ -0,0 +1,146 @@
+package com.encora.victorvazquez.flights_search.infrastructure.ratelimit;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long STEADY_RTT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AmadeusConcurrencyLimitProperties properties = new AmadeusConcurrencyLimitProperties();
+
+    @Test
+    void limitGrowsWhileCallsAreFastAndTheLimitIsInUse() {
+        properties.setInitialLimit(4);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        for (int round = 0; round < 3; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 4);
+            permits.forEach(permit -> permit.onSuccess(STEADY_RTT));
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+
+        assertThat(limit()).isGreaterThan(6);
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostOfItIsIdle() {
+        properties.setInitialLimit(10);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 20; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+            permit.onSuccess(STEADY_RTT);
+            permit.release();
+        }
+
+        assertThat(limit()).isEqualTo(10);
+    }
+
+    @Test
+    void dropMultipliesTheLimitByTheBackoffRatio() {
+        properties.setInitialLimit(10);
+        properties.setBackoffRatio(0.5);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+        permit.onDropped();
+        permit.release();
+
+        assertThat(limit()).isEqualTo(5);
+    }
+
+    @Test
+    void latencySpikeBacksOffOnceAndNeverBelowTheFloor() {
+        properties.setInitialLimit(10);
+        properties.setMinLimit(4);
+        properties.setBackoffRatio(0.5);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+            permit.onSuccess(STEADY_RTT);
+            permit.release();
+        }
+
+        // Slow answers arriving together count as one congestion signal.
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 10);
+        permits.forEach(permit -> permit.onSuccess(STEADY_RTT * 10));
+        assertThat(limit()).isEqualTo(5);
+
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        for (int i = 0; i < 3; i++) {
+            try {
+                // Longer than the short round trip, so each drop is a new signal.
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(STEADY_RTT * 15));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+            permit.onDropped();
+            permit.release();
+        }
+        assertThat(limit()).isEqualTo(4);
+    }
+
+    @Test
+    void cancelledWaiterLeavesTheQueue() {
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire().block();
+
+        Disposable waiting = limiter.acquire().subscribe();
+        assertThat(gauge("amadeus.concurrency.queue.depth")).isEqualTo(1);
+        waiting.dispose();
+        held.release();
+
+        assertThat(gauge("amadeus.concurrency.queue.depth")).isZero();
+        assertThat(gauge("amadeus.concurrency.in.flight")).isZero();
+    }
+
+    @Test
+    void cancelledExchangeGivesItsSlotBack() {
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        ConcurrencyLimitingExchangeFilter filter = new ConcurrencyLimitingExchangeFilter(limiter);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/v2/shopping/flight-offers"))
+            .build();
+
+        Disposable exchange = filter.filter(request, r -> Mono.never()).subscribe();
+        assertThat(gauge("amadeus.concurrency.in.flight")).isEqualTo(1);
+        exchange.dispose();
+
+        assertThat(gauge("amadeus.concurrency.in.flight")).isZero();
+        assertThat(limiter.acquire().block(Duration.ofMillis(100))).isNotNull();
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire().block());
+        }
+        return permits;
+    }
+
+    private double limit() {
+        return gauge("amadeus.concurrency.limit");
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
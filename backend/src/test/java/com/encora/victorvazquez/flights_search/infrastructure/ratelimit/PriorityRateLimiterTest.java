@@ -0,0 +1,78 @@
+package com.encora.victorvazquez.flights_search.infrastructure.ratelimit;
+
+import com.encora.victorvazquez.flights_search.config.AmadeusRateLimitProperties;
+import com.encora.victorvazquez.flights_search.infrastructure.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class PriorityRateLimiterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AmadeusRateLimitProperties properties = new AmadeusRateLimitProperties();
+
+    @Test
+    void queuedCallsAreGrantedHighestPriorityFirst() {
+        properties.setPermitsPerSecond(20);
+        properties.setBurst(1);
+        PriorityRateLimiter limiter = new PriorityRateLimiter(properties, meterRegistry);
+        limiter.acquire(RequestPriority.INTERACTIVE).block();
+
+        List<RequestPriority> granted = new CopyOnWriteArrayList<>();
+        for (RequestPriority priority : List.of(RequestPriority.BATCH, RequestPriority.BATCH,
+                RequestPriority.AUTOCOMPLETE, RequestPriority.INTERACTIVE)) {
+            limiter.acquire(priority).subscribe(null, null, () -> granted.add(priority));
+        }
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> granted.size() == 4);
+        assertThat(granted).containsExactly(RequestPriority.INTERACTIVE, RequestPriority.AUTOCOMPLETE,
+            RequestPriority.BATCH, RequestPriority.BATCH);
+    }
+
+    @Test
+    void fullQueueIsRejectedRightAway() {
+        properties.setPermitsPerSecond(1);
+        properties.setBurst(1);
+        properties.setInteractiveQueueCapacity(1);
+        PriorityRateLimiter limiter = new PriorityRateLimiter(properties, meterRegistry);
+        limiter.acquire(RequestPriority.INTERACTIVE).block();
+        limiter.acquire(RequestPriority.INTERACTIVE).subscribe();
+
+        assertThatThrownBy(() -> limiter.acquire(RequestPriority.INTERACTIVE).block(Duration.ofMillis(100)))
+            .isInstanceOf(RateLimitExceededException.class);
+        assertThat(meterRegistry.get("amadeus.ratelimiter.rejected").tag("priority", "interactive").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void waitLongerThanMaxWaitIsRejected() {
+        properties.setPermitsPerSecond(0.1);
+        properties.setBurst(1);
+        properties.setMaxWait(Duration.ofMillis(100));
+        PriorityRateLimiter limiter = new PriorityRateLimiter(properties, meterRegistry);
+        limiter.acquire(RequestPriority.BATCH).block();
+
+        assertThatThrownBy(() -> limiter.acquire(RequestPriority.BATCH).block(Duration.ofSeconds(1)))
+            .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void pauseHoldsEveryTokenBackUntilItEnds() {
+        properties.setPermitsPerSecond(100);
+        properties.setBurst(10);
+        PriorityRateLimiter limiter = new PriorityRateLimiter(properties, meterRegistry);
+
+        limiter.pauseFor(Duration.ofMillis(300));
+        long start = System.nanoTime();
+        limiter.acquire(RequestPriority.INTERACTIVE).block(Duration.ofSeconds(2));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(250));
+        assertThat(meterRegistry.get("amadeus.ratelimiter.provider.throttled").counter().count()).isEqualTo(1);
+    }
+}
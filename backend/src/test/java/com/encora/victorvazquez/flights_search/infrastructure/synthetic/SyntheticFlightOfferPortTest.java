@@ -0,0 +1,52 @@
+package com.encora.victorvazquez.flights_search.infrastructure.synthetic;
+
+import com.encora.victorvazquez.flights_search.config.FlightSyntheticOffersProperties;
+import com.encora.victorvazquez.flights_search.features.flight.domain.FlightOffers.FlightOfferSearch;
+import com.encora.victorvazquez.flights_search.features.flight.dto.FlightOffers.FlightOffersProviderDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticFlightOfferPortTest {
+    private static final FlightOfferSearch SEARCH = new FlightOfferSearch("MEX", "JFK",
+        LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 8), 2, 1, 0, null, List.of(), List.of(), null, "USD", null, 25);
+
+    @Test
+    void sameSeedAndSearchGiveTheSameResponse() {
+        FlightOffersProviderDTO first = port(42).searchFlights(SEARCH).block();
+        FlightOffersProviderDTO second = port(42).searchFlights(SEARCH).block();
+
+        assertThat(first.data()).hasSize(25);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void anotherSeedGivesOtherOffers() {
+        FlightOffersProviderDTO first = port(42).searchFlights(SEARCH).block();
+        FlightOffersProviderDTO other = port(7).searchFlights(SEARCH).block();
+
+        assertThat(other.data()).hasSameSizeAs(first.data()).isNotEqualTo(first.data());
+    }
+
+    @Test
+    void offersFollowTheSearchedRouteAndCurrency() {
+        FlightOffersProviderDTO response = port(42).searchFlights(SEARCH).block();
+
+        assertThat(response.data()).allSatisfy(offer -> {
+            assertThat(offer.itineraries()).hasSize(2);
+            assertThat(offer.itineraries().get(0).segments().get(0).departure().iataCode()).isEqualTo("MEX");
+            assertThat(offer.itineraries().get(1).segments().get(0).departure().iataCode()).isEqualTo("JFK");
+            assertThat(offer.price().currency()).isEqualTo("USD");
+        });
+    }
+
+    private static SyntheticFlightOfferPort port(long seed) {
+        FlightSyntheticOffersProperties properties = new FlightSyntheticOffersProperties();
+        properties.setSeed(seed);
+        return new SyntheticFlightOfferPort(properties, new SimpleMeterRegistry());
+    }
+}
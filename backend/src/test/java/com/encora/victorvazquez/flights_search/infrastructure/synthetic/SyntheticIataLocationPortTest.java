@@ -0,0 +1,52 @@
+package com.encora.victorvazquez.flights_search.infrastructure.synthetic;
+
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationByIATAProviderDTO;
+import com.encora.victorvazquez.flights_search.features.flight.dto.Locations.LocationSearchResponseDTO;
+import com.encora.victorvazquez.flights_search.infrastructure.location.LocationIndex;
+import com.encora.victorvazquez.flights_search.infrastructure.location.LocationIndexHolder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SyntheticIataLocationPortTest {
+    private final LocationIndexHolder indexHolder = mock(LocationIndexHolder.class);
+    private final SyntheticIataLocationPort port = new SyntheticIataLocationPort(indexHolder);
+
+    SyntheticIataLocationPortTest() {
+        when(indexHolder.current()).thenReturn(LocationIndex.build(List.of(
+            location("AIRPORT", "JFK", "JOHN F KENNEDY INTL", "NYC"),
+            location("AIRPORT", "NYA", "NYAGAN", "NYA"),
+            location("CITY", "NYC", "NEW YORK", "NYC"))));
+    }
+
+    @Test
+    void codesAreAnsweredFromTheReferenceIndex() {
+        LocationByIATAProviderDTO airport = port.findAirportByIataCode("JFK").block();
+        LocationByIATAProviderDTO city = port.findCityByIataCode("NYC").block();
+
+        assertThat(airport.data().name()).isEqualTo("JOHN F KENNEDY INTL");
+        assertThat(airport.data().address().cityCode()).isEqualTo("NYC");
+        assertThat(airport.data().geoCode().latitude()).isEqualTo(40.64);
+        assertThat(city.data().subType()).isEqualTo("CITY");
+    }
+
+    @Test
+    void onlyAnExactCodeOfTheRightKindMatches() {
+        assertThat(port.findAirportByIataCode("NYC").blockOptional()).isEmpty();
+        assertThat(port.findCityByIataCode("JFK").blockOptional()).isEmpty();
+        assertThat(port.findAirportByIataCode("NY").blockOptional()).isEmpty();
+        assertThat(port.findAirportByIataCode("XXX").blockOptional()).isEmpty();
+    }
+
+    private static LocationSearchResponseDTO.LocationDTO location(String subType, String iataCode, String name,
+                                                                  String cityCode) {
+        return new LocationSearchResponseDTO.LocationDTO(iataCode, null, "location", subType, name, null, null, iataCode,
+            new LocationSearchResponseDTO.GeoCode(40.64, -73.78),
+            new LocationSearchResponseDTO.Address(name, cityCode, "UNITED STATES OF AMERICA", "US", "NAMER"),
+            null, null, 0, null, null, null);
+    }
+}
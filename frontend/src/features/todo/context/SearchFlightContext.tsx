@@ -4,9 +4,16 @@ import {
   FlightOfferSearchRequest, 
   FlightOffersResponse, 
   Dictionaries,
+  FlightOffersSortKey,
+  FlightOffersSortDirection,
   searchFlights as searchFlightsService 
 } from "../services/flightSearchService";
 
+type SortConfig = {
+  key: FlightOffersSortKey;
+  direction: FlightOffersSortDirection;
+} | null;
+
 interface SearchFlightContextType {
   searchParams: FlightOfferSearchRequest;
   setSearchParams: (params: FlightOfferSearchRequest) => void;
@@ -30,6 +37,9 @@ interface SearchFlightContextType {
   itemsPerPage: number;
   totalPages: number;
   setPage: (page: number) => void;
+
+  sortConfig: SortConfig;
+  setSort: (key: FlightOffersSortKey) => void;
   
   searchFlights: (request: FlightOfferSearchRequest) => Promise<void>;
   getPaginatedFlightOffers: () => FlightOffer[];
@@ -66,15 +76,24 @@ export const SearchFlightProvider = ({ children }: { children: React.ReactNode }
   const [currentPage, setCurrentPage] = useState(0);
   const itemsPerPage = 15;
 
-  const totalPages = Math.max(1, Math.ceil(flightOffers.data.length / itemsPerPage));
+  const [sortConfig, setSortConfig] = useState<SortConfig>(null);
+
+  const totalPages = flightOffers.page?.totalPages
+    ?? Math.max(1, Math.ceil(flightOffers.data.length / itemsPerPage));
 
-  const searchFlights = async (request: FlightOfferSearchRequest) => {
+  // Sorting and paging happen server-side; the backend keeps the full result set cached.
+  const fetchFlights = async (request: FlightOfferSearchRequest, sort: SortConfig, page: number) => {
     try {
       setIsLoading(true);
       setError(null);
       setSelectedFlight(null);
       
-      const response = await searchFlightsService(request);
+      const response = await searchFlightsService(request, {
+        sort: sort?.key,
+        direction: sort?.direction,
+        page,
+        size: itemsPerPage,
+      });
       
       if (response && response.meta && Array.isArray(response.data)) {
         setFlightOffers(response);
@@ -88,7 +107,7 @@ export const SearchFlightProvider = ({ children }: { children: React.ReactNode }
       }
       
       setSearchParams(request);
-      setCurrentPage(0);
+      setCurrentPage(page);
     } catch (error) {
       console.error("Error searching flights:", error);
       setError(error instanceof Error ? error.message : "Error searching flights. Please try again.");
@@ -100,18 +119,24 @@ export const SearchFlightProvider = ({ children }: { children: React.ReactNode }
     }
   };
 
-  const getPaginatedFlightOffers = (): FlightOffer[] => {
-    const start = currentPage * itemsPerPage;
-    const end = start + itemsPerPage;
-    return flightOffers.data.slice(start, end);
-  };
+  const searchFlights = (request: FlightOfferSearchRequest) => fetchFlights(request, sortConfig, 0);
+
+  const getPaginatedFlightOffers = (): FlightOffer[] => flightOffers.data;
 
   const setPage = (page: number) => {
     if (page >= 0 && page < totalPages) {
-      setCurrentPage(page);
+      fetchFlights(searchParams, sortConfig, page);
     }
   };
 
+  const setSort = (key: FlightOffersSortKey) => {
+    const next: SortConfig = sortConfig && sortConfig.key === key
+      ? { key, direction: sortConfig.direction === "asc" ? "desc" : "asc" }
+      : { key, direction: "asc" };
+    setSortConfig(next);
+    fetchFlights(searchParams, next, 0);
+  };
+
   return (
     <SearchFlightContext.Provider
       value={{
@@ -132,6 +157,9 @@ export const SearchFlightProvider = ({ children }: { children: React.ReactNode }
         itemsPerPage,
         totalPages,
         setPage,
+
+        sortConfig,
+        setSort,
         
         searchFlights,
         getPaginatedFlightOffers,
@@ -55,6 +55,7 @@ export interface FlightOfferSearchRequest {
   nonStop?: boolean;
   currencyCode?: 'USD' | 'MXN' | 'EUR';
   maxPrice?: number;
+  maxAge?: number;
 }
 
 export interface LocationSearchRequest {
@@ -65,18 +66,40 @@ export interface LocationSearchRequest {
   pageOffset?: number;
   sort?: string;
   view?: 'LIGHT' | 'FULL';
+  maxAge?: number;
 }
 
 // Response types
+export type FlightOffersSortKey = 'price' | 'duration' | 'departure';
+export type FlightOffersSortDirection = 'asc' | 'desc';
+
+export interface FlightOffersPageRequest {
+  sort?: FlightOffersSortKey;
+  direction?: FlightOffersSortDirection;
+  page?: number;
+  size?: number;
+}
+
+export interface FlightOffersPage {
+  number: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
+  sort: FlightOffersSortKey | null;
+  direction: FlightOffersSortDirection | null;
+}
+
 export interface FlightOffersResponse {
   meta: {
     count: number;
     links: {
       self: string;
     };
+    dataAgeSeconds?: number | null;
   };
   data: FlightOffer[];
   dictionaries?: Dictionaries;
+  page?: FlightOffersPage;
 }
 
 export interface Dictionaries {
@@ -205,6 +228,7 @@ export interface LocationSearchResponse {
       href: string;
       methods: string[];
     };
+    dataAgeSeconds?: number | null;
   };
   data: LocationDTO[];
 }
@@ -248,19 +272,23 @@ export interface LocationDTO {
 }
 
 // Service functions
-export const searchFlights = async (request: FlightOfferSearchRequest): Promise<FlightOffersResponse> => {
+export const searchFlights = async (
+  request: FlightOfferSearchRequest,
+  pageRequest: FlightOffersPageRequest = {}
+): Promise<FlightOffersResponse> => {
   const queryParams = new URLSearchParams();
   
-  const DEFAULT_MAX_RESULTS = 15;
+  // Ask for as many offers as Amadeus returns; the backend sorts and pages the full set,
+  // and the UI pages through it with the `page` block of the response.
+  const PROVIDER_MAX_RESULTS = 250;
   
-  Object.entries(request).forEach(([key, value]) => {
+  Object.entries({ ...request, ...pageRequest }).forEach(([key, value]) => {
     if (value !== undefined) {
       queryParams.append(key, value.toString());
     }
   });
   
-  // Always append max parameter with default value
-  queryParams.append('max', DEFAULT_MAX_RESULTS.toString());
+  queryParams.append('max', PROVIDER_MAX_RESULTS.toString());
 
   const response = await get<FlightOffersResponse>(`/api/flights?${queryParams.toString()}`);
   
@@ -1,4 +1,4 @@
-import React, { useMemo, useState } from "react";
+import React from "react";
 import { useSearchFlight } from "@/features/todo/context/SearchFlightContext";
 import FlightOfferItem from "@/features/todo/components/FlightOfferItem";
 import FlightOfferModal from "@/features/todo/components/FlightOfferModal";
@@ -15,65 +15,12 @@ const FlightOffersList = () => {
     isLoading,
     error,
     selectedFlight,
-    setSelectedFlight
+    setSelectedFlight,
+    sortConfig,
+    setSort
   } = useSearchFlight();
 
-  type SortKey = "price" | "duration";
-  type SortDirection = "asc" | "desc";
-
-  const [sortConfig, setSortConfig] = useState<{
-    key: SortKey;
-    direction: SortDirection;
-  } | null>(null);
-
-  const parseDuration = (duration: string) => {
-    const hourMatch = duration.match(/(\d+)H/);
-    const minuteMatch = duration.match(/(\d+)M/);
-    const hours = hourMatch ? parseInt(hourMatch[1]) : 0;
-    const minutes = minuteMatch ? parseInt(minuteMatch[1]) : 0;
-    return hours * 60 + minutes;
-  };
-
-  const sortedFlightOffers = useMemo(() => {
-    if (!flightOffers?.data) return [] as FlightOffer[];
-
-    const offers = [...flightOffers.data];
-
-    if (sortConfig) {
-      offers.sort((a, b) => {
-        let aValue: number = 0;
-        let bValue: number = 0;
-
-        if (sortConfig.key === "price") {
-          aValue = parseFloat(a.price.total);
-          bValue = parseFloat(b.price.total);
-        } else if (sortConfig.key === "duration") {
-          const totalDuration = (offer: FlightOffer) => {
-            return offer.itineraries.reduce((sum, itinerary) => sum + parseDuration(itinerary.duration), 0);
-          };
-          aValue = totalDuration(a);
-          bValue = totalDuration(b);
-        }
-
-        if (aValue < bValue) return sortConfig.direction === "asc" ? -1 : 1;
-        if (aValue > bValue) return sortConfig.direction === "asc" ? 1 : -1;
-        return 0;
-      });
-    }
-
-    return offers;
-  }, [flightOffers?.data, sortConfig]);
-
-  const handleSort = (key: SortKey) => {
-    setSortConfig((prev) => {
-      if (prev && prev.key === key) {
-        // Same key → toggle direction
-        const newDirection: SortDirection = prev.direction === "asc" ? "desc" : "asc";
-        return { key, direction: newDirection };
-      }
-      return { key, direction: "asc" };
-    });
-  };
+  const sortedFlightOffers: FlightOffer[] = flightOffers?.data ?? [];
 
   const handleFlightSelect = (flight: FlightOffer) => {
     setSelectedFlight(flight);
@@ -113,7 +60,7 @@ const FlightOffersList = () => {
         <Button
           variant="ghost"
           className={cn("flex items-center gap-1", sortConfig?.key === "price" && "text-primary")}
-          onClick={() => handleSort("price")}
+          onClick={() => setSort("price")}
           size="sm"
         >
           Precio
@@ -124,7 +71,7 @@ const FlightOffersList = () => {
         <Button
           variant="ghost"
           className={cn("flex items-center gap-1", sortConfig?.key === "duration" && "text-primary")}
-          onClick={() => handleSort("duration")}
+          onClick={() => setSort("duration")}
           size="sm"
         >
           Duración